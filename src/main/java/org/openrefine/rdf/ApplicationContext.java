@@ -64,6 +64,10 @@ public class ApplicationContext {
         this.vocabularySearcher = vocabularySearcher;
     }
 
+    public File getWorkingDir() {
+        return this.fileWorkingDir;
+    }
+
     public NamespaceManager getNSManager() {
         return nsManager;
     }
@@ -7,9 +7,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.openrefine.rdf.model.Node;
 import org.openrefine.rdf.model.ResourceNode;
+import org.openrefine.rdf.model.TransformPlan;
 import org.openrefine.rdf.model.Util;
 import org.openrefine.rdf.model.vocab.Vocabulary;
 import org.openrefine.rdf.model.vocab.VocabularyList;
@@ -70,6 +73,28 @@ public class RDFTransform implements OverlayModel {
 
     static private ApplicationContext theGlobalContext;
 
+    // Transform Version Stamps (see getVersionStamp())...
+    static private final AtomicLong alVersions = new AtomicLong(0);
+
+    // The projects' published transforms by project id (see getRDFTransform())...
+    static private final Map<Long, Published> mapPublished = new ConcurrentHashMap<Long, Published>();
+
+    /*
+     * Class Published
+     *
+     *  A transform published for a project.  The project is held to ignore a transform published for an
+     *  earlier instance of the project (a project reloaded after being unloaded).
+     */
+    static private class Published {
+        private final Project theProject;
+        private final RDFTransform theTransform;
+
+        private Published(Project theProject, RDFTransform theTransform) {
+            this.theProject = theProject;
+            this.theTransform = theTransform;
+        }
+    }
+
     /****************************************************************************************************
      ****************************************************************************************************
      *
@@ -86,7 +111,22 @@ public class RDFTransform implements OverlayModel {
         return RDFTransform.theGlobalContext;
     }
 
+    /*
+     * Method getRDFTransform()
+     *
+     *      Get the project's transform, creating a default transform when the project has none.
+     *      The project's overlay models are a plain map, so they are only read and written under the
+     *      project's lock.  An unlocked reader gets the transform published for the project (see
+     *      setRDFTransform()): the concurrent map publishes the completely built transform.  Without a
+     *      published transform (a new or loaded project), the overlay models are read under the lock and
+     *      the transform is published.  Readers needing a consistent view use the transform's plan (see
+     *      getPlan()) and check its version stamp (see getVersionStamp()).
+     */
     static public RDFTransform getRDFTransform(Project theProject) {
+        Published thePublished = RDFTransform.mapPublished.get(theProject.id);
+        if ( thePublished != null && thePublished.theProject == theProject ) {
+            return thePublished.theTransform;
+        }
         synchronized(theProject) {
             // Get the project's existing RDFTransform, if it exists...
             RDFTransform theTransform = (RDFTransform) theProject.overlayModels.get(RDFTransform.EXTENSION);
@@ -97,10 +137,30 @@ public class RDFTransform implements OverlayModel {
                 theProject.overlayModels.put(RDFTransform.EXTENSION, theTransform);
                 theProject.getMetadata().updateModified();
             }
+            RDFTransform.mapPublished.put( theProject.id, new Published(theProject, theTransform) );
             return theTransform;
         }
     }
 
+    /*
+     * Method setRDFTransform()
+     *
+     *      Replace (or, when null, remove) the project's transform in the project's overlay models and
+     *      publish it for unlocked readers (see getRDFTransform()).
+     */
+    static public void setRDFTransform(Project theProject, RDFTransform theTransform) {
+        synchronized(theProject) {
+            if (theTransform == null) {
+                theProject.overlayModels.remove(RDFTransform.EXTENSION);
+                RDFTransform.mapPublished.remove(theProject.id);
+            }
+            else {
+                theProject.overlayModels.put(RDFTransform.EXTENSION, theTransform);
+                RDFTransform.mapPublished.put( theProject.id, new Published(theProject, theTransform) );
+            }
+        }
+    }
+
     static public RDFTransform load(Project theProject, JsonNode jnodeTransform) {
         if ( Util.isDebugMode() ) RDFTransform.logger.info("DEBUG: load(): Reconstructing...");
         return RDFTransform.reconstruct(theProject, jnodeTransform);
@@ -328,6 +388,23 @@ public class RDFTransform implements OverlayModel {
     @JsonIgnore
     private List<ResourceNode> theRootNodes;
 
+    /*
+     * Compiled Plan
+     *
+     *  The immutable execution plan compiled from the Base IRI, Namespaces, and Root Nodes.
+     *  It is shared by all exports and previews and is dropped whenever the transform changes.
+     */
+    @JsonIgnore
+    private volatile TransformPlan thePlan = null;
+
+    /*
+     * Version Stamp
+     *
+     *  A stamp, unique over all transforms, that changes whenever the transform changes.
+     */
+    @JsonIgnore
+    private volatile long lVersion = RDFTransform.alVersions.incrementAndGet();
+
     /****************************************************************************************************
      ****************************************************************************************************
      *
@@ -444,6 +521,7 @@ public class RDFTransform implements OverlayModel {
         if ( Util.isVerbose(2) || Util.isDebugMode() ) RDFTransform.logger.info("Setting BaseIRI from ParsedIRI...");
         if (Util.isDebugMode()) RDFTransform.logger.info("DEBUG: BaseIRI set to:" + iriBase.toString());
         this.theBaseIRI = iriBase;
+        this.invalidatePlan();
     }
 
     @JsonProperty(Util.gstrBaseIRI)
@@ -518,6 +596,7 @@ public class RDFTransform implements OverlayModel {
             this.theBaseIRI = Util.buildIRI( RDFTransform.theGlobalContext.getDefaultBaseIRI() );
             if ( Util.isDebugMode() ) RDFTransform.logger.info("DEBUG: BaseIRI set to default.");
         }
+        this.invalidatePlan();
     }
 
     @JsonIgnore
@@ -548,6 +627,7 @@ public class RDFTransform implements OverlayModel {
     @JsonIgnore
     public void setNamespaces(VocabularyList listNamespaces) {
         this.theNamespaces = listNamespaces;
+        this.invalidatePlan();
     }
 
     @JsonProperty(Util.gstrNamespaces)
@@ -584,6 +664,7 @@ public class RDFTransform implements OverlayModel {
                             getPredefinedVocabularies().clone();
             }
         }
+        this.invalidatePlan();
     }
 
     @JsonIgnore
@@ -592,11 +673,14 @@ public class RDFTransform implements OverlayModel {
             this.theNamespaces = new VocabularyList();
         }
         this.theNamespaces.add( new Vocabulary(strPrefix, strNamespace) );
+        this.invalidatePlan();
     }
 
     @JsonIgnore
     public boolean removeNamespace(String strPrefix) {
-        return this.theNamespaces.removeByPrefix(strPrefix);
+        boolean bRemoved = this.theNamespaces.removeByPrefix(strPrefix);
+        this.invalidatePlan();
+        return bRemoved;
     }
 
     @JsonIgnore
@@ -641,6 +725,7 @@ public class RDFTransform implements OverlayModel {
     public void setRoots(List<ResourceNode> listRootNodes) {
         if ( Util.isVerbose(2) || Util.isDebugMode() ) RDFTransform.logger.info("Setting root nodes...");
         this.theRootNodes = listRootNodes;
+        this.invalidatePlan();
     }
 
     @JsonProperty(Util.gstrSubjectMappings)
@@ -677,6 +762,46 @@ public class RDFTransform implements OverlayModel {
             }
             this.theRootNodes = listRootNodes;
         }
+        this.invalidatePlan();
+    }
+
+    /*
+     * Method getPlan()
+     *
+     *      Get the compiled execution plan for this transform.  The plan is compiled on first use
+     *      after any change to the transform and is then shared by all processes.
+     */
+    @JsonIgnore
+    public TransformPlan getPlan() {
+        TransformPlan thePlanCurrent = this.thePlan;
+        if (thePlanCurrent == null) {
+            synchronized(this) {
+                thePlanCurrent = this.thePlan;
+                if (thePlanCurrent == null) {
+                    if ( Util.isVerbose(3) || Util.isDebugMode() ) RDFTransform.logger.info("Compiling plan...");
+                    thePlanCurrent = new TransformPlan(this.theBaseIRI, this.theNamespaces, this.theRootNodes);
+                    this.thePlan = thePlanCurrent;
+                }
+            }
+        }
+        return thePlanCurrent;
+    }
+
+    /*
+     * Method getVersionStamp()
+     *
+     *      Get the transform's version stamp.  As the stamp is unique over all transforms, a reader
+     *      holding a stamp detects both a changed transform and a replaced transform (undo / redo).
+     */
+    @JsonIgnore
+    public long getVersionStamp() {
+        return this.lVersion;
+    }
+
+    @JsonIgnore
+    private void invalidatePlan() {
+        this.thePlan = null;
+        this.lVersion = RDFTransform.alVersions.incrementAndGet();
     }
 
     @Override
@@ -703,6 +828,7 @@ public class RDFTransform implements OverlayModel {
         catch (IOException ex) {
             RDFTransform.logger.error("ERROR: Unable to delete index for project " + theProject.id, ex);
         }*/
+        RDFTransform.mapPublished.remove(theProject.id);
         if ( Util.isVerbose(2) || Util.isDebugMode() ) RDFTransform.logger.info("Disposed overlay");
     }
 
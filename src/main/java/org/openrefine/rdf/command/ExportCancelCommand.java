@@ -0,0 +1,52 @@
+package org.openrefine.rdf.command;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.operation.RDFExportProcess;
+
+import com.google.refine.model.Project;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Class ExportCancelCommand
+ *
+ *  Cancel the project's active exports (downloads and background jobs), or only the one given by the
+ *  "id" parameter (see ExportProgressGetCommand).  A canceled export stops at its next row or record.
+ */
+public class ExportCancelCommand extends RDFTransformCommand {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:ExportCancelCmd");
+
+    public ExportCancelCommand() {
+        super();
+    }
+
+    @Override
+    public void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if ( ! this.hasValidCSRFToken(request) ) {
+            ExportCancelCommand.respondCSRFError(response);
+            return;
+        }
+        try {
+            Project theProject = this.getProject(request);
+            String strID = request.getParameter("id");
+            long lID = ( strID == null || strID.isEmpty() ) ? 0 : Long.parseLong(strID);
+            int iCanceled = RDFExportProcess.cancelTracked(theProject.id, lID);
+            if ( Util.isVerbose(2) || Util.isDebugMode() ) ExportCancelCommand.logger.info("Canceled exports: " + iCanceled);
+        }
+        catch (Exception ex) {
+            this.processException(ex, true, false, ExportCancelCommand.logger);
+            ExportCancelCommand.respondJSON(response, CodeResponse.error);
+            return;
+        }
+
+        ExportCancelCommand.respondJSON(response, CodeResponse.ok);
+    }
+}
@@ -0,0 +1,71 @@
+package org.openrefine.rdf.command;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.openrefine.rdf.model.exporter.RDFExportJob;
+
+import com.google.refine.model.Project;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.apache.jena.riot.RDFFormat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Class ExportJobGetCommand
+ *
+ *  Download the output of a finished background export.  The "format" parameter is the file extension
+ *  given to start the export.  Until the export is complete, an error response holding the statements
+ *  and bytes written so far is returned instead.
+ */
+public class ExportJobGetCommand extends RDFTransformCommand {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:ExportJobGetCmd");
+
+    public ExportJobGetCommand() {
+        super();
+    }
+
+    @Override
+    public void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        try {
+            Project theProject = this.getProject(request);
+            String strFormat = request.getParameter("format");
+            RDFFormat theFormat = RDFExportJob.getFormat(strFormat);
+            if (theFormat == null) {
+                ExportJobGetCommand.respondJSON(response, new CodeResponse("Unknown export job format: " + strFormat, true));
+                return;
+            }
+
+            File fileOutput = RDFExportJob.getOutputFile(theProject, strFormat);
+            JsonNode theCheckpoint = RDFExportJob.readCheckpoint( RDFExportJob.getCheckpointFile(theProject, strFormat) );
+            if ( ! RDFExportJob.isComplete(theCheckpoint) || ! fileOutput.exists() ) {
+                String strMessage = "Export not complete";
+                if (theCheckpoint != null) {
+                    strMessage += ": " + theCheckpoint.path("statements").asLong() + " statements, " +
+                                    theCheckpoint.path("offset").asLong() + " bytes";
+                }
+                ExportJobGetCommand.respondJSON(response, new CodeResponse(strMessage, true));
+                return;
+            }
+
+            response.setContentType( theFormat.getLang().getContentType().getContentTypeStr() );
+            response.setHeader("Content-Disposition", "attachment; filename=\"" + fileOutput.getName() + "\"");
+            response.setContentLengthLong( fileOutput.length() );
+            Files.copy( fileOutput.toPath(), response.getOutputStream() );
+            response.getOutputStream().flush();
+        }
+        catch (Exception ex) {
+            this.processException(ex, true, false, ExportJobGetCommand.logger);
+            ExportJobGetCommand.respondJSON(response, CodeResponse.error);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.openrefine.rdf.command;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.exporter.RDFExportJob;
+
+import com.google.refine.browsing.EngineConfig;
+import com.google.refine.model.Project;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Class ExportJobStartCommand
+ *
+ *  Start (or resume) a background export of the project to a file in the RDF Transform cache directory.
+ *  The "format" parameter is the file extension: "nt" (N-Triples) or "nq" (N-Quads).  The facets given
+ *  by the "engine" parameter select the exported rows or records.  The job runs on its own thread and is
+ *  listed in the project's active exports (see ExportProgressGetCommand).  See RDFExportJob.
+ */
+public class ExportJobStartCommand extends RDFTransformCommand {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:ExportJobStartCmd");
+
+    public ExportJobStartCommand() {
+        super();
+    }
+
+    @Override
+    public void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if ( ! this.hasValidCSRFToken(request) ) {
+            ExportJobStartCommand.respondCSRFError(response);
+            return;
+        }
+        try {
+            Project theProject = this.getProject(request);
+            String strFormat = request.getParameter("format");
+            if ( RDFExportJob.getFormat(strFormat) == null ) {
+                ExportJobStartCommand.respondJSON(response, new CodeResponse("Unknown export job format: " + strFormat, true));
+                return;
+            }
+            EngineConfig theEngineConfig = ExportJobStartCommand.getEngineConfig(request);
+
+            RDFExportJob theJob = new RDFExportJob(theProject, theEngineConfig, strFormat);
+            if ( ! theJob.start() ) {
+                ExportJobStartCommand.respondJSON(response, new CodeResponse("Export job already running: " + strFormat, true));
+                return;
+            }
+            if ( Util.isVerbose(2) || Util.isDebugMode() ) ExportJobStartCommand.logger.info("Started background export: " + strFormat);
+        }
+        catch (Exception ex) {
+            this.processException(ex, true, false, ExportJobStartCommand.logger);
+            ExportJobStartCommand.respondJSON(response, CodeResponse.error);
+            return;
+        }
+
+        ExportJobStartCommand.respondJSON(response, CodeResponse.ok);
+    }
+}
@@ -0,0 +1,44 @@
+package org.openrefine.rdf.command;
+
+import java.io.IOException;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.openrefine.rdf.model.operation.RDFExportProcess;
+
+import com.google.refine.model.Project;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Class ExportProgressGetCommand
+ *
+ *  Get the progress of the project's active exports, downloads and background jobs, as
+ *  { "exports" : [...] }.  Each export holds its id, description, status, progress, rows or records
+ *  visited, statements, bytes, and rate.  See RDFExportProcess.
+ */
+public class ExportProgressGetCommand extends RDFTransformCommand {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:ExportProgressGetCmd");
+
+    public ExportProgressGetCommand() {
+        super();
+    }
+
+    @Override
+    public void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        try {
+            Project theProject = this.getProject(request);
+            ExportProgressGetCommand.respondJSON( response,
+                Map.of( "exports", RDFExportProcess.getTracked(theProject.id) ) );
+        }
+        catch (Exception ex) {
+            this.processException(ex, true, false, ExportProgressGetCommand.logger);
+            ExportProgressGetCommand.respondJSON(response, CodeResponse.error);
+        }
+    }
+}
@@ -18,7 +18,11 @@ import com.google.refine.operations.OperationRegistry;
 
 import org.openrefine.rdf.ApplicationContext;
 import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.exporter.ParallelCompressOutputStream;
+import org.openrefine.rdf.model.exporter.RDFCompressedExporter;
 import org.openrefine.rdf.model.exporter.RDFPrettyExporter;
+import org.openrefine.rdf.model.exporter.RDFSortedExporter;
+import org.openrefine.rdf.model.exporter.RDFSplitExporter;
 import org.openrefine.rdf.model.exporter.RDFStreamExporter;
 import org.openrefine.rdf.model.expr.RDFTransformBinder;
 import org.openrefine.rdf.model.expr.functions.ToIRIString;
@@ -131,6 +135,10 @@ public class InitializationCommand extends Command {
         RefineServlet.registerCommand( this.theModule, "save-baseIRI",            new SaveBaseIRICommand() );
         RefineServlet.registerCommand( this.theModule, "validate-iri",            new ValidateIRICommand() );
         RefineServlet.registerCommand( this.theModule, "convert-to-iri",          new ToIRICommand() );
+        RefineServlet.registerCommand( this.theModule, "start-export-job",        new ExportJobStartCommand() );
+        RefineServlet.registerCommand( this.theModule, "get-export-job",          new ExportJobGetCommand() );
+        RefineServlet.registerCommand( this.theModule, "get-export-progress",     new ExportProgressGetCommand() );
+        RefineServlet.registerCommand( this.theModule, "cancel-export",           new ExportCancelCommand() );
         // Vocabs commands
         RefineServlet.registerCommand( this.theModule, "get-default-namespaces",  new NamespacesGetDefaultCommand() );
         RefineServlet.registerCommand( this.theModule, "save-namespaces",         new NamespacesSaveCommand() );
@@ -203,6 +211,15 @@ public class InitializationCommand extends Command {
         strExp = "RDF/JSON" + strType;
         ExporterRegistry.registerExporter( strExp, new RDFPrettyExporter(RDFFormat.RDFJSON, strExp) );
 
+        //
+        // SORTED PRINTERS: (Disk Sorted) Grouped like Pretty, scales like Stream
+        //
+        strType = " (Sorted)";
+        strExp = "Turtle" + strType;
+        ExporterRegistry.registerExporter( strExp, new RDFSortedExporter(RDFFormat.TURTLE, strExp) );
+        strExp = "TriG" + strType;
+        ExporterRegistry.registerExporter( strExp, new RDFSortedExporter(RDFFormat.TRIG, strExp) );
+
         //
         // BLOCKS PRINTERS: per Subject (Stream)
         //
@@ -237,6 +254,41 @@ public class InitializationCommand extends Command {
         strExp = "RDFNull (Test)"; // ...the bit bucket
         ExporterRegistry.registerExporter( strExp, new RDFStreamExporter(RDFFormat.RDFNULL, strExp) );
 
+        //
+        // SPLIT PRINTERS: (Stream) ZIP bundle of part files
+        //
+        strType = " (Split)";
+        strExp = "NTriples" + strType;
+        ExporterRegistry.registerExporter( strExp, new RDFSplitExporter(RDFFormat.NTRIPLES_UTF8, strExp, "nt") );
+        strExp = "NQuads" + strType;
+        ExporterRegistry.registerExporter( strExp, new RDFSplitExporter(RDFFormat.NQUADS_UTF8, strExp, "nq") );
+        strExp = "Turtle" + strType;
+        ExporterRegistry.registerExporter( strExp, new RDFSplitExporter(RDFFormat.TURTLE_BLOCKS, strExp, "ttl") );
+        strExp = "TriG" + strType;
+        ExporterRegistry.registerExporter( strExp, new RDFSplitExporter(RDFFormat.TRIG_BLOCKS, strExp, "trig") );
+
+        //
+        // COMPRESSED PRINTERS: (Parallel Block Compression) per Codec
+        //
+        for ( ParallelCompressOutputStream.Codec theCodec : ParallelCompressOutputStream.Codec.values() ) {
+            strType = ", " + theCodec.getLabel() + ")";
+            strExp = "NTriples (Flat" + strType;
+            ExporterRegistry.registerExporter( strExp, new RDFCompressedExporter(
+                new RDFStreamExporter(RDFFormat.NTRIPLES_UTF8, strExp), theCodec, strExp) );
+            strExp = "NQuads (Flat" + strType;
+            ExporterRegistry.registerExporter( strExp, new RDFCompressedExporter(
+                new RDFStreamExporter(RDFFormat.NQUADS_UTF8, strExp), theCodec, strExp) );
+            strExp = "Turtle (Blocks" + strType;
+            ExporterRegistry.registerExporter( strExp, new RDFCompressedExporter(
+                new RDFStreamExporter(RDFFormat.TURTLE_BLOCKS, strExp), theCodec, strExp) );
+            strExp = "Turtle (Sorted" + strType;
+            ExporterRegistry.registerExporter( strExp, new RDFCompressedExporter(
+                new RDFSortedExporter(RDFFormat.TURTLE, strExp), theCodec, strExp) );
+            strExp = "Turtle (Pretty" + strType;
+            ExporterRegistry.registerExporter( strExp, new RDFCompressedExporter(
+                new RDFPrettyExporter(RDFFormat.TURTLE_PRETTY, strExp), theCodec, strExp) );
+        }
+
         //
         // BINARY PRINTERS: (Stream)
         //
@@ -2,6 +2,8 @@ package org.openrefine.rdf.command;
 
 import java.io.IOException;
 import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Properties;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -9,11 +11,16 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.openrefine.rdf.model.Util;
 
+import com.google.refine.browsing.Engine;
+import com.google.refine.browsing.EngineConfig;
+import com.google.refine.browsing.RowVisitor;
 import com.google.refine.commands.expr.PreviewExpressionCommand;
 import com.google.refine.expr.EvalError;
+import com.google.refine.expr.Evaluable;
 import com.google.refine.expr.ExpressionUtils;
 import com.google.refine.expr.ParsingException;
 import com.google.refine.model.Project;
+import com.google.refine.model.Row;
 import com.google.refine.util.ParsingUtilities;
 
 import org.apache.jena.iri.IRI;
@@ -36,6 +43,7 @@ public class PreviewRDFTExpressionCommand extends PreviewExpressionCommand {
     private String strPrefix = ""; // No Prefix, Base IRI == ":", all others are "ccc:"
     private String strColumnName = null;
     private IRI baseIRI = null;
+    private long lFilteredRows = 0;
 
     private JsonGenerator theWriter = null;
 
@@ -82,6 +90,7 @@ public class PreviewRDFTExpressionCommand extends PreviewExpressionCommand {
                 PreviewRDFTExpressionCommand.respondJSON(response, crErr);
                 return;
             }
+            this.lFilteredRows = PreviewRDFTExpressionCommand.countFilteredRows(request, this.theProject);
             // ...end Parameters
 
             //
@@ -125,6 +134,10 @@ public class PreviewRDFTExpressionCommand extends PreviewExpressionCommand {
         StringBuffer strbuffTempAbs = new StringBuffer();
         String strResult;
         String strResultAbs;
+        Evaluable theEvaluable = null; // ...parsed (and timed) on first use
+        Properties theBindings = null;
+        int iCellIndex = -1;
+        Timing theTiming = new Timing(iRows);
 
         //
         // Write the results...
@@ -148,7 +161,18 @@ public class PreviewRDFTExpressionCommand extends PreviewExpressionCommand {
                     // NOTE: Expression evaluation will fail all the time because...typing!
                     //       It's constantly updating the preview as we type, so failure on
                     //       incomplete expressions!
-                    results = Util.evaluateExpression(this.theProject, this.strExpression, this.strColumnName, iRowIndex);
+                    if (theEvaluable == null) {
+                        long lStart = System.nanoTime();
+                        theEvaluable = Util.parseEvaluable(this.strExpression);
+                        theTiming.parsed(System.nanoTime() - lStart);
+                        theBindings = ExpressionUtils.createBindings(this.theProject);
+                        iCellIndex = Util.getCellIndex(this.theProject, this.strColumnName);
+                    }
+                    long lStart = System.nanoTime();
+                    results =
+                        Util.evaluateExpression( this.theProject, theBindings, theEvaluable,
+                                                    this.strColumnName, iCellIndex, iRowIndex );
+                    theTiming.evaluated(System.nanoTime() - lStart, results);
                 }
                 else
                     break;
@@ -280,6 +304,8 @@ public class PreviewRDFTExpressionCommand extends PreviewExpressionCommand {
             }
         }
 
+        theTiming.write(this.theWriter, this.lFilteredRows);
+
         String strCode = "error";
         if (bGood) {
             strCode = "ok";
@@ -299,6 +325,10 @@ public class PreviewRDFTExpressionCommand extends PreviewExpressionCommand {
         StringBuffer strbuffTemp = new StringBuffer();
         String strResult;
         boolean bGood = true;
+        Evaluable theEvaluable = null; // ...parsed (and timed) on first use
+        Properties theBindings = null;
+        int iCellIndex = -1;
+        Timing theTiming = new Timing(iRows);
 
         //
         // Write the results...
@@ -320,7 +350,18 @@ public class PreviewRDFTExpressionCommand extends PreviewExpressionCommand {
                     // NOTE: Expression evaluation will fail all the time because...typing!
                     //       It's constantly updating the preview as we type, so failure on
                     //       incomplete expressions!
-                    results = Util.evaluateExpression(this.theProject, this.strExpression, this.strColumnName, iRowIndex);
+                    if (theEvaluable == null) {
+                        long lStart = System.nanoTime();
+                        theEvaluable = Util.parseEvaluable(this.strExpression);
+                        theTiming.parsed(System.nanoTime() - lStart);
+                        theBindings = ExpressionUtils.createBindings(this.theProject);
+                        iCellIndex = Util.getCellIndex(this.theProject, this.strColumnName);
+                    }
+                    long lStart = System.nanoTime();
+                    results =
+                        Util.evaluateExpression( this.theProject, theBindings, theEvaluable,
+                                                    this.strColumnName, iCellIndex, iRowIndex );
+                    theTiming.evaluated(System.nanoTime() - lStart, results);
                 }
                 else
                     break;
@@ -407,6 +448,8 @@ public class PreviewRDFTExpressionCommand extends PreviewExpressionCommand {
             bGood = false; // ...no good anymore
         }
 
+        theTiming.write(this.theWriter, this.lFilteredRows);
+
         String strCode = "error";
         if (bGood) {
             strCode = "ok";
@@ -414,4 +457,112 @@ public class PreviewRDFTExpressionCommand extends PreviewExpressionCommand {
         this.theWriter.writeStringField("code", strCode);
         this.theWriter.writeEndObject();
     }
+
+    /*
+     * Method countFilteredRows()
+     *
+     *      Count the project's rows selected by the request's facets (engine), used to project the
+     *      expression's evaluation time over an export.  The dialog counts once: it sends the count
+     *      from its first preview ("filteredRows") with later previews.  Without an engine or an
+     *      active facet, all rows are selected and no rows are scanned.
+     */
+    static private long countFilteredRows(HttpServletRequest request, Project theProject)
+            throws Exception {
+        String strFilteredRows = request.getParameter("filteredRows");
+        if ( strFilteredRows != null ) {
+            try {
+                long lFilteredRows = Long.parseLong(strFilteredRows);
+                if (lFilteredRows >= 0) {
+                    return lFilteredRows;
+                }
+            }
+            catch (NumberFormatException ex) {
+                // Count again...continue...
+            }
+        }
+        String strEngine = request.getParameter("engine");
+        if ( strEngine == null || EngineConfig.reconstruct(strEngine).getFacetConfigs().isEmpty() ) {
+            return theProject.rows.size();
+        }
+        Engine theEngine = PreviewRDFTExpressionCommand.getEngine(request, theProject);
+        final long[] alCount = { 0 };
+        theEngine.getAllFilteredRows().accept(theProject,
+            new RowVisitor() {
+                @Override
+                public void start(Project theProject) {
+                }
+
+                @Override
+                public boolean visit(Project theProject, int iRowIndex, Row theRow) {
+                    alCount[0]++;
+                    return false;
+                }
+
+                @Override
+                public void end(Project theProject) {
+                }
+            } );
+        return alCount[0];
+    }
+
+    /*
+     * Class Timing
+     *
+     *  The expression's cost on the previewed rows: the parse time, the mean and 99th percentile
+     *  evaluation time per row, the error rate, and the evaluation time projected over the filtered
+     *  rows.  Written to the response as:
+     *      "timing" : { "parseMs", "evaluations", "meanUs", "p99Us", "errors", "errorRate",
+     *                   "filteredRows", "projectedMs" }
+     */
+    private static class Timing {
+        private final long[] alEvaluations;
+        private int iEvaluations = 0;
+        private int iErrors = 0;
+        private long lParse = -1;
+
+        private Timing(int iRows) {
+            this.alEvaluations = new long[iRows];
+        }
+
+        private void parsed(long lNanos) {
+            this.lParse = lNanos;
+        }
+
+        private void evaluated(long lNanos, Object results) {
+            this.alEvaluations[this.iEvaluations++] = lNanos;
+            if ( ExpressionUtils.isError(results) ) {
+                this.iErrors++;
+            }
+        }
+
+        private void write(JsonGenerator theWriter, long lFilteredRows)
+                throws IOException {
+            if (this.lParse < 0) { // ...nothing evaluated
+                return;
+            }
+            double dMean = 0;
+            double dP99 = 0;
+            if (this.iEvaluations > 0) {
+                long[] alSorted = Arrays.copyOf(this.alEvaluations, this.iEvaluations);
+                Arrays.sort(alSorted);
+                long lTotal = 0;
+                for (long lNanos : alSorted) {
+                    lTotal += lNanos;
+                }
+                dMean = (double) lTotal / this.iEvaluations;
+                dP99 = alSorted[ (int) Math.ceil(0.99 * this.iEvaluations) - 1 ];
+            }
+            theWriter.writeObjectFieldStart("timing");
+            theWriter.writeNumberField("parseMs", this.lParse / 1.0e6);
+            theWriter.writeNumberField("evaluations", this.iEvaluations);
+            theWriter.writeNumberField("meanUs", dMean / 1.0e3);
+            theWriter.writeNumberField("p99Us", dP99 / 1.0e3);
+            theWriter.writeNumberField("errors", this.iErrors);
+            theWriter.writeNumberField("errorRate",
+                ( this.iEvaluations == 0 ? 0.0 : (double) this.iErrors / this.iEvaluations ) );
+            theWriter.writeNumberField("filteredRows", lFilteredRows);
+            theWriter.writeNumberField("projectedMs", dMean * lFilteredRows / 1.0e6);
+            theWriter.writeEndObject();
+        }
+    }
 }
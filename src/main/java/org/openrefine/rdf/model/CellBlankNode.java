@@ -6,9 +6,9 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.openrefine.rdf.model.expr.functions.ToIRIString;
+import org.openrefine.rdf.model.utils.RecordModel;
 
 import com.google.refine.expr.ExpressionUtils;
-import com.google.refine.expr.ParsingException;
 
 import org.apache.jena.rdf.model.AnonId;
 import org.apache.jena.rdf.model.impl.ResourceImpl;
@@ -30,6 +30,7 @@ public class CellBlankNode extends ResourceNode implements CellNode {
     static private final String strNODETYPE = "cell-as-blank";
 
     private final String strColumnName;
+    private final String strIRIColumnName; // ...the column name as an IRI string, or null
 
     @JsonCreator
     public CellBlankNode(String strColumnName, String strExp, boolean bIsIndex, Util.NodeType eNodeType)
@@ -39,6 +40,9 @@ public class CellBlankNode extends ResourceNode implements CellNode {
         this.strExpression    = ( strExp == null ? Util.gstrCodeValue : strExp );
         this.bIsIndex = bIsIndex;
         this.eNodeType = eNodeType;
+        // Convert the column name for the blank node IDs once...
+        this.strIRIColumnName =
+            ( bIsIndex || strColumnName == null ? null : ToIRIString.toIRIString(strColumnName) );
     }
 
     static String getNODETYPE() {
@@ -69,31 +73,44 @@ public class CellBlankNode extends ResourceNode implements CellNode {
         return this.strExpression;
     }
 
+    /*
+     *  Method createRecordResources() creates the object list for triple statements
+     *  from this node on Records
+     *
+     *  The record's rows are evaluated as a batch (see TransformContext.createRecordNodes()).
+     */
     @Override
-    protected void createRowResources() {
+    protected List<RDFNode> createRecordResources(TransformContext theContext, RecordModel theRec) {
+        if (Util.isDebugMode()) CellBlankNode.logger.info("DEBUG: createRecordResources...");
+
+        return theContext.createRecordNodes( this.strExpression, this.strColumnName, theRec,
+            (Object results, int iRowIndex) -> this.createResultResources(theContext, results, iRowIndex) );
+    }
+
+    @Override
+    protected List<RDFNode> createRowResources(TransformContext theContext, RecordModel theRec) {
         if (Util.isDebugMode()) CellBlankNode.logger.info("DEBUG: createRowResources...");
 
-        this.listNodes = null;
-        Object results = null;
-        try {
-            // NOTE: Currently, the expression just results in a "true" (some non-empty string is evaluated)
-            //      or "false" (a null or empty string is evaluated).
-            //      When "true", a BNode is automatically generated.
-            results =
-                Util.evaluateExpression( this.theProject, this.strExpression, this.strColumnName, this.theRec.row() );
-        }
-        catch (ParsingException ex) {
-            // An cell might result in a ParsingException when evaluating an IRI expression.
-            // Eat the exception...
-            return;
-        }
+        // NOTE: Currently, the expression just results in a "true" (some non-empty string is evaluated)
+        //      or "false" (a null or empty string is evaluated).
+        //      When "true", a BNode is automatically generated.
+        Object results =
+            theContext.evaluate( this.strExpression, this.strColumnName, theRec.row() );
+
+        return this.createResultResources(theContext, results, theRec.row());
+    }
 
+    /*
+     *  Method createResultResources() creates the object list for triple statements
+     *  from this node's expression results on a row
+     */
+    private List<RDFNode> createResultResources(TransformContext theContext, Object results, int iRowIndex) {
         // Results cannot be classed...
         if ( results == null || ExpressionUtils.isError(results) || ! ExpressionUtils.isNonBlankData(results) ) {
-            return;
+            return null;
         }
 
-        this.listNodes = new ArrayList<RDFNode>();
+        List<RDFNode> listNodes = new ArrayList<RDFNode>();
 
         // Results are an array...
         if ( results.getClass().isArray() ) {
@@ -101,20 +118,21 @@ public class CellBlankNode extends ResourceNode implements CellNode {
 
             List<Object> listResult = Arrays.asList(results);
             for (Object objResult : listResult) {
-                this.normalizeBNodeResource(objResult);
+                this.normalizeBNodeResource(listNodes, objResult, iRowIndex);
             }
         }
         // Results are singular...
         else {
-            this.normalizeBNodeResource(results);
+            this.normalizeBNodeResource(listNodes, results, iRowIndex);
         }
 
-        if ( this.listNodes.isEmpty() ) {
-            this.listNodes = null;
+        if ( listNodes.isEmpty() ) {
+            listNodes = null;
         }
+        return listNodes;
     }
 
-    private void normalizeBNodeResource(Object objResult) {
+    private void normalizeBNodeResource(List<RDFNode> listNodes, Object objResult, int iRowIndex) {
         String strResult = Util.toSpaceStrippedString(objResult);
         // NOTE: The prefix "_:" is auto-added by createBNode()
         // TODO: Use strResult or just "true" or "false"?  Currently, "true" or "false".
@@ -128,9 +146,8 @@ public class CellBlankNode extends ResourceNode implements CellNode {
             }
             // Otherwise, it's a column-based Blank Node...
             else {
-                String strIRIColumnName = ToIRIString.toIRIString(this.strColumnName);
                 // If the ColumnName does not produce a good IRI string...
-                if (strIRIColumnName == null) {
+                if (this.strIRIColumnName == null) {
                     // ...produce a regular blank node...
                     bnode = new ResourceImpl( new AnonId() );
                 }
@@ -138,13 +155,13 @@ public class CellBlankNode extends ResourceNode implements CellNode {
                 else {
                     // Since we are processing by row (even in record mode for columns),
                     // the row number is set and we can use it with the ColumnName
-                    String strIndex = Integer.toString( this.theRec.row() );
-                    bnode = new ResourceImpl( new AnonId( strIRIColumnName + "_" + strIndex ) );
+                    String strIndex = Integer.toString(iRowIndex);
+                    bnode = new ResourceImpl( new AnonId( this.strIRIColumnName + "_" + strIndex ) );
                 }
             }
 
             if (bnode != null) {
-                this.listNodes.add(bnode);
+                listNodes.add(bnode);
             }
         }
     }
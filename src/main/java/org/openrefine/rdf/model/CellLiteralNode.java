@@ -5,8 +5,9 @@ import java.util.Arrays;
 import java.util.List;
 import java.io.IOException;
 
+import org.openrefine.rdf.model.utils.RecordModel;
+
 import com.google.refine.expr.ExpressionUtils;
-import com.google.refine.expr.ParsingException;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonGenerationException;
@@ -85,32 +86,45 @@ public class CellLiteralNode extends LiteralNode implements CellNode {
         return this.strExpression;
     }
 
+    /*
+     *  Method createRecordLiterals() creates the object list for triple statements
+     *  from this node on Records
+     *
+     *  The record's rows are evaluated as a batch (see TransformContext.createRecordNodes()).
+     */
+    @Override
+    protected List<RDFNode> createRecordLiterals(TransformContext theContext, RecordModel theRec) {
+        if (Util.isDebugMode()) CellLiteralNode.logger.info("DEBUG: createRecordLiterals...");
+
+        return theContext.createRecordNodes( this.strExpression, this.strColumnName, theRec,
+            (Object results, int iRowIndex) -> this.createResultLiterals(theContext, results, iRowIndex) );
+    }
+
     /*
      *  Method createRowLiterals() creates the object list for triple statements
      *  from this node on Rows
      */
     @Override
-    protected void createRowLiterals() {
+    protected List<RDFNode> createRowLiterals(TransformContext theContext, RecordModel theRec) {
         if (Util.isDebugMode()) CellLiteralNode.logger.info("DEBUG: createRowLiterals...");
 
-        this.listNodes = null;
-        Object results = null;
-        try {
-            results =
-                Util.evaluateExpression( this.theProject, this.strExpression, this.strColumnName, this.theRec.row() );
-        }
-        catch (ParsingException ex) {
-            // An cell might result in a ParsingException when evaluating an IRI expression.
-            // Eat the exception...
-            return;
-        }
+        Object results =
+            theContext.evaluate( this.strExpression, this.strColumnName, theRec.row() );
+
+        return this.createResultLiterals(theContext, results, theRec.row());
+    }
 
+    /*
+     *  Method createResultLiterals() creates the object list for triple statements
+     *  from this node's expression results on a row
+     */
+    private List<RDFNode> createResultLiterals(TransformContext theContext, Object results, int iRowIndex) {
         // Results cannot be classed...
         if ( results == null || ExpressionUtils.isError(results) || ! ExpressionUtils.isNonBlankData(results) ) {
-            return;
+            return null;
         }
 
-        this.listNodes = new ArrayList<RDFNode>();
+        List<RDFNode> listNodes = new ArrayList<RDFNode>();
 
         // Results are an array...
         if ( results.getClass().isArray() ) {
@@ -118,17 +132,18 @@ public class CellLiteralNode extends LiteralNode implements CellNode {
 
             List<Object> listResult = Arrays.asList(results);
             for (Object obj : listResult) {
-                this.normalizeLiteral(obj);
+                this.normalizeLiteral(theContext, listNodes, obj);
             }
         }
         // Results are singular...
         else {
-            this.normalizeLiteral(results);
+            this.normalizeLiteral(theContext, listNodes, results);
         }
 
-        if ( this.listNodes.isEmpty() ) {
-            this.listNodes = null;
+        if ( listNodes.isEmpty() ) {
+            listNodes = null;
         }
+        return listNodes;
     }
 
     @Override
@@ -1,10 +1,12 @@
 package org.openrefine.rdf.model;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.io.IOException;
 
+import org.openrefine.rdf.model.utils.RecordModel;
+
 import com.google.refine.expr.ExpressionUtils;
-import com.google.refine.expr.ParsingException;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonGenerationException;
@@ -72,52 +74,66 @@ public class CellResourceNode extends ResourceNode implements CellNode {
         return this.strExpression;
     }
 
+    /*
+     *  Method createRecordResources() creates the object list for triple statements
+     *  from this node on Records
+     *
+     *  The record's rows are evaluated as a batch (see TransformContext.createRecordNodes()).
+     */
+    @Override
+    protected List<RDFNode> createRecordResources(TransformContext theContext, RecordModel theRec) {
+        if (Util.isDebugMode()) CellResourceNode.logger.info("DEBUG: createRecordResources...");
+
+        return theContext.createRecordNodes( this.strExpression, this.strColumnName, theRec,
+            (Object results, int iRowIndex) -> this.createResultResources(theContext, results, iRowIndex) );
+    }
+
     @Override
-    protected void createRowResources() {
+    protected List<RDFNode> createRowResources(TransformContext theContext, RecordModel theRec) {
         if (Util.isDebugMode()) CellResourceNode.logger.info("DEBUG: createRowResources...");
 
-        this.listNodes = null;
-        Object results = null;
-        try {
-            results =
-                Util.evaluateExpression( this.theProject, this.strExpression, this.strColumnName, this.theRec.row() );
-        }
-        catch (ParsingException ex) {
-            // An cell might result in a ParsingException when evaluating an IRI expression.
-            // Eat the exception...
-            return;
-        }
+        Object results =
+            theContext.evaluate( this.strExpression, this.strColumnName, theRec.row() );
+
+        return this.createResultResources(theContext, results, theRec.row());
+    }
 
+    /*
+     *  Method createResultResources() creates the object list for triple statements
+     *  from this node's expression results on a row
+     */
+    private List<RDFNode> createResultResources(TransformContext theContext, Object results, int iRowIndex) {
         // Results cannot be classed...
         if ( results == null || ExpressionUtils.isError(results) || ! ExpressionUtils.isNonBlankData(results) ) {
-            return;
+            return null;
         }
 
-        this.listNodes = new ArrayList<RDFNode>();
+        List<RDFNode> listNodes = new ArrayList<RDFNode>();
 
         // Results are an array...
         if ( results.getClass().isArray() ) {
             if (Util.isDebugMode()) CellResourceNode.logger.info("DEBUG: Result is Array...");
-            this.processResultsAsArray(this.strPrefix, results);
+            this.processResultsAsArray(theContext, listNodes, this.strPrefix, results);
         }
         // Results are singular...
         else {
             if (Util.isDebugMode()) CellResourceNode.logger.info("DEBUG: Result is Singular...");
             if ( results.toString().isEmpty() ) {
-                return;
+                return null;
             }
             var bDone = false;
             if (this.strPrefix == null) {
-                bDone = this.processResultsAsSingle(results);
+                bDone = this.processResultsAsSingle(theContext, listNodes, results);
             }
             if ( ! bDone ) {
-                this.normalizeResource(this.strPrefix, results);
+                this.normalizeResource(theContext, listNodes, this.strPrefix, results);
             }
         }
 
-        if ( this.listNodes.isEmpty() ) {
-            this.listNodes = null;
+        if ( listNodes.isEmpty() ) {
+            listNodes = null;
         }
+        return listNodes;
     }
 
     @Override
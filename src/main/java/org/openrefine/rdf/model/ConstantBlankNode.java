@@ -1,8 +1,11 @@
 package org.openrefine.rdf.model;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
 
-import java.io.IOException;
+import org.openrefine.rdf.model.utils.RecordModel;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -21,8 +24,10 @@ public class ConstantBlankNode extends ResourceNode implements ConstantNode {
     static private final String strNODETYPE = "blank";
     static private final String strNotLast = "[\\.]+";
     static private final String strNotFirst = "[-\\.\\u00B7\\u0300\\u036F\\u203F\\u2040]+";
+    static private final Pattern patNotFirst = Pattern.compile("^" + ConstantBlankNode.strNotFirst);
+    static private final Pattern patNotLast = Pattern.compile(ConstantBlankNode.strNotLast + "$");
 
-    private RDFNode bnode;
+    private final RDFNode bnode;
     private final String strConstant;
 
     @JsonCreator
@@ -30,7 +35,8 @@ public class ConstantBlankNode extends ResourceNode implements ConstantNode {
         // NOTE: A Constant Blank Node is a singular blank node base on the supplied constant value.
         this.strConstant = strConstant;
         this.eNodeType = Util.NodeType.CONSTANT;
-        this.bnode = null; // ...create the One and Only Constant BNode later
+        // Create the One and Only Constant BNode now so the node holds no evaluation state...
+        this.bnode = this.createBNodeResource();
     }
 
     static String getNODETYPE() {
@@ -52,76 +58,73 @@ public class ConstantBlankNode extends ResourceNode implements ConstantNode {
     }
 
     @Override
-    protected void createResources() {
+    protected List<RDFNode> createResources(TransformContext theContext, RecordModel theRec) {
         // For a Constant Blank Node, we only need one constant blank node resource per record,
         // so process as a row...
-        this.createRowResources();
+        return this.createRowResources(theContext, theRec);
     }
 
     @Override
-    protected void createRecordResources() {
+    protected List<RDFNode> createRecordResources(TransformContext theContext, RecordModel theRec) {
         // NOT USED!  Just in case, process as a row...
-        this.createRowResources();
+        return this.createRowResources(theContext, theRec);
     }
 
     @Override
-    protected void createRowResources() {
+    protected List<RDFNode> createRowResources(TransformContext theContext, RecordModel theRec) {
         if ( Util.isDebugMode() ) ConstantBlankNode.logger.info("DEBUG: createRowResources...");
 
-        this.listNodes = new ArrayList<RDFNode>();
-        this.normalizeBNodeResource();
+        List<RDFNode> listNodes = new ArrayList<RDFNode>();
+        listNodes.add(this.bnode);
+        return listNodes;
     }
 
-    private void normalizeBNodeResource() {
-        // If the One and Only Constant BNode has NOT been constructed...
-        if (this.bnode == null) {
+    private RDFNode createBNodeResource() {
+        //
+        // Construct the One and Only Constant BNode...once...
+        //
+        RDFNode bnode = null;
+
+        // When there is nothing to evaluate...
+        if ( strConstant == null || strConstant.isEmpty() ) {
+            // ...produce a generic blank node...
+            ConstantBlankNode.logger.warn("WARNING: The ConstantBlankNode constant is empty! Creating generic BNode.");
+            bnode = new ResourceImpl( new AnonId() );
+        }
+        else {
             //
-            // Construct the One and Only Constant BNode...once...
+            // Validate the supplied constant value as a BNode ID based on Turtle limits...
             //
+            String strBNodeValue = Util.toSpaceStrippedString(strConstant);
+            String strBNodeValueBegin;
+            do {
+                strBNodeValueBegin = strBNodeValue;
+                while ( strBNodeValue.startsWith(ResourceNode.strBNodePrefix) ) {
+                    strBNodeValue = strBNodeValue.substring(2);
+                }
+                // Not First...
+                strBNodeValue = ConstantBlankNode.patNotFirst.matcher(strBNodeValue).replaceFirst("");
+                // Not Last...
+                strBNodeValue = ConstantBlankNode.patNotLast.matcher(strBNodeValue).replaceFirst("");
+                // On no change, break...
+                if ( strBNodeValueBegin.equals(strBNodeValue) )
+                    break;
+                // Otherwise, something was removed so recheck...
+            } while (true);
 
             // When there is nothing to evaluate...
-            if ( strConstant == null || strConstant.isEmpty() ) {
-                // ...produce a generic blank node...
-                ConstantBlankNode.logger.warn("WARNING: The ConstantBlankNode constant is empty! Creating generic BNode.");
-                this.bnode = new ResourceImpl( new AnonId() );
+            if ( strBNodeValue == null || strBNodeValue.isEmpty() ) {
+                ConstantBlankNode.logger.error("ERROR: The ConstantBlankNode constant evaluates to nothing! Creating generic BNode.");
+                bnode = new ResourceImpl( new AnonId() );
             }
             else {
-                //
-                // Validate the supplied constant value as a BNode ID based on Turtle limits...
-                //
-                String strBNodeValue = Util.toSpaceStrippedString(strConstant);
-                String strBNodeValueBegin;
-                do {
-                    strBNodeValueBegin = strBNodeValue;
-                    while ( strBNodeValue.startsWith(ResourceNode.strBNodePrefix) ) {
-                        strBNodeValue = strBNodeValue.substring(2);
-                    }
-                    // Not First...
-                    strBNodeValue = strBNodeValue.replaceFirst("^" + ConstantBlankNode.strNotFirst, "");
-                    // Not Last...
-                    strBNodeValue = strBNodeValue.replaceFirst(ConstantBlankNode.strNotLast + "$", "");
-                    // On no change, break...
-                    if ( strBNodeValueBegin.equals(strBNodeValue) )
-                        break;
-                    // Otherwise, something was removed so recheck...
-                } while (true);
-
-                // When there is nothing to evaluate...
-                if ( strBNodeValue == null || strBNodeValue.isEmpty() ) {
-                    ConstantBlankNode.logger.error("ERROR: The ConstantBlankNode constant evaluates to nothing! Creating generic BNode.");
-                    this.bnode = new ResourceImpl( new AnonId() );
-                }
-                else {
-                    if ( Util.isDebugMode() ) ConstantBlankNode.logger.info("DEBUG:  Pre-Create: " + strBNodeValue);
-                    // NOTE: The prefix "_:" is auto-added by createBNode()
-                    this.bnode = new ResourceImpl( new AnonId(strBNodeValue) );
-                    if ( Util.isDebugMode() ) ConstantBlankNode.logger.info("DEBUG: Post-Create: " + this.bnode.toString());
-                }
+                if ( Util.isDebugMode() ) ConstantBlankNode.logger.info("DEBUG:  Pre-Create: " + strBNodeValue);
+                // NOTE: The prefix "_:" is auto-added by createBNode()
+                bnode = new ResourceImpl( new AnonId(strBNodeValue) );
+                if ( Util.isDebugMode() ) ConstantBlankNode.logger.info("DEBUG: Post-Create: " + bnode.toString());
             }
         }
-        // Otherwise, reuse as needed.
-
-        this.listNodes.add(bnode);
+        return bnode;
     }
 
     @Override
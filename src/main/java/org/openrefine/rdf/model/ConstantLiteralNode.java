@@ -2,6 +2,9 @@ package org.openrefine.rdf.model;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
+
+import org.openrefine.rdf.model.utils.RecordModel;
 
 import org.apache.jena.rdf.model.RDFNode;
 
@@ -59,10 +62,10 @@ public class ConstantLiteralNode extends LiteralNode implements ConstantNode {
     }
 
     @Override
-    protected void createRecordLiterals() {
+    protected List<RDFNode> createRecordLiterals(TransformContext theContext, RecordModel theRec) {
         // For a Constant Literal Node, we only need one constant literal per record,
         // so process as a row...
-        this.createRowLiterals();
+        return this.createRowLiterals(theContext, theRec);
     }
 
     /*
@@ -70,18 +73,17 @@ public class ConstantLiteralNode extends LiteralNode implements ConstantNode {
      *  from this node on a Row.
      */
     @Override
-    protected void createRowLiterals() {
+    protected List<RDFNode> createRowLiterals(TransformContext theContext, RecordModel theRec) {
         if (Util.isDebugMode()) ConstantLiteralNode.logger.info("DEBUG: createRowLiterals...");
 
-        this.listNodes = null;
-
         // If there is no value to work with...
         if ( this.strConstant == null || this.strConstant.isEmpty() ) {
-            return;
+            return null;
         }
 
-        this.listNodes = new ArrayList<RDFNode>();
-        this.normalizeLiteral(this.strConstant);
+        List<RDFNode> listNodes = new ArrayList<RDFNode>();
+        this.normalizeLiteral(theContext, listNodes, this.strConstant);
+        return listNodes;
     }
 
     @Override
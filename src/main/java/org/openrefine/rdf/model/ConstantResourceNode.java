@@ -2,7 +2,12 @@ package org.openrefine.rdf.model;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
+import org.openrefine.rdf.model.utils.RecordModel;
+
+import org.apache.jena.iri.IRI;
 import org.apache.jena.rdf.model.RDFNode;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -51,45 +56,59 @@ public class ConstantResourceNode extends ResourceNode implements ConstantNode {
     }
 
     @Override
-    protected void createResources() {
+    protected List<RDFNode> createResources(TransformContext theContext, RecordModel theRec) {
         // For a Constant Resource Node, we only need one constant resource per record,
         // so process as a row...
-        this.createRowResources();
+        return this.createRowResources(theContext, theRec);
     }
 
     @Override
-    protected void createRecordResources() {
+    protected List<RDFNode> createRecordResources(TransformContext theContext, RecordModel theRec) {
         // NOT USED!
-        this.listNodes = null;
+        return null;
     }
 
     @Override
-    protected void createRowResources() {
-        this.listNodes = null;
+    protected List<RDFNode> createRowResources(TransformContext theContext, RecordModel theRec) {
+        // The resource is a constant resolved when the plan was compiled...
+        return theContext.getPlan().getConstantResources(this, theContext);
+    }
 
+    /*
+     *  Method resolveResources() for the Constant Resource Node's IRI
+     *
+     *    Resolve the constant IRI to its resource, or null when it has no or a bad IRI.  Called by the
+     *    plan when compiled (see TransformPlan.getConstantResources()).
+     */
+    List<RDFNode> resolveResources(TransformContext theContext) {
         // If there is no value to work with...
         if ( this.strConstant == null || this.strConstant.isEmpty() ) {
-            return;
+            return null;
         }
 
-        this.listNodes = new ArrayList<RDFNode>();
+        List<RDFNode> listNodes = new ArrayList<RDFNode>();
         var bDone = false;
         if (this.strPrefix == null) {
-            bDone = this.processResultsAsSingle(this.strConstant);
+            bDone = this.processResultsAsSingle(theContext, listNodes, this.strConstant);
         }
         if ( ! bDone ) {
-            this.normalizeResource(this.strPrefix, this.strConstant);
+            this.normalizeResource(theContext, listNodes, this.strPrefix, this.strConstant);
         }
 
-        if ( this.listNodes.isEmpty() ) {
-            this.listNodes = null;
+        if ( listNodes.isEmpty() ) {
+            return null;
         }
+        return Collections.unmodifiableList(listNodes);
     }
 
     /*
      *  Method normalizeResourceAsString() for Resource Node to IRI
      */
     public String normalizeResourceAsString() {
+        return this.normalizeResourceAsString(null);
+    }
+
+    public String normalizeResourceAsString(IRI baseIRI) {
         String strIRI = "";
         if ( this.strConstant == null || this.strConstant.isEmpty() ) {
             return strIRI;
@@ -110,7 +129,7 @@ public class ConstantResourceNode extends ResourceNode implements ConstantNode {
         }
 
         try {
-            Util.resolveIRI(this.baseIRI, strIRI);
+            Util.resolveIRI(baseIRI, strIRI);
         }
         catch (Exception ex) {
             // An IRIParsingException from Util.resolveIRI() means a bad IRI.
@@ -4,6 +4,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.openrefine.rdf.model.utils.RecordModel;
+
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -43,86 +45,80 @@ abstract public class LiteralNode extends Node {
      *  from this node on Rows / Records.
      */
     @Override
-    protected List<RDFNode> createObjects(ResourceNode nodeProperty) {
+    protected List<RDFNode> createObjects(TransformContext theContext, RecordModel theParentRec) {
         if (Util.isDebugMode()) LiteralNode.logger.info("DEBUG: createObjects...");
 
-        this.setObjectParameters(nodeProperty);
-
         // TODO: Create process for Sub-Records
 
-        this.listNodes = null;
+        RecordModel theRec = new RecordModel();
 
         //
         // Record Mode...
         //
-        if ( nodeProperty.theRec.isRecordMode() ) { // ...property is Record based,
+        if ( theParentRec.isRecordMode() ) { // ...property is Record based,
             // ...set to Row Mode and process on current row as set by rowNext()...
-            this.theRec.setMode(nodeProperty, true);
+            theRec.setMode(theParentRec, true);
         }
         //
         // Row Mode...
         //
         else {
             // ...process on current row as set by rowNext()...
-            this.theRec.setMode(nodeProperty);
+            theRec.setMode(theParentRec);
         }
 
-        this.createStatementsWorker();
-        this.theRec.clear();
-
         // Return the collected resources from the statement processing as Objects
         // to the given Property...
-        return this.listNodes;
+        return this.createStatementsWorker(theContext, theRec);
     }
 
     /*
      *  Method createStatementsWorker() for Literal Node types
      *
-     *  Return: void
+     *  Return: List<RDFNode>
      *
-     *  Stores the Literal as generic Values since these are "object" elements in
+     *  Returns the Literal as generic Values since these are "object" elements in
      *    ( source, predicate, object ) triples and need to be compatible with resources.
      */
-    private void createStatementsWorker() {
+    private List<RDFNode> createStatementsWorker(TransformContext theContext, RecordModel theRec) {
         if (Util.isDebugMode()) logger.info("DEBUG: createStatementsWorker...");
 
         //
         // Transition from Record to Row processing...
         //
-        if ( this.theRec.isRecordPerRow() ) {
+        if ( theRec.isRecordPerRow() ) {
             List<RDFNode> listLiteralsAll = new ArrayList<RDFNode>();
-            while ( this.theRec.rowNext() ) {
-                this.createRowLiterals(); // ...Row only
-                if ( ! ( this.listNodes == null || this.listNodes.isEmpty() ) ) {
-                    listLiteralsAll.addAll(this.listNodes);
+            while ( theRec.rowNext() ) {
+                List<RDFNode> listNodes = this.createRowLiterals(theContext, theRec); // ...Row only
+                if ( ! ( listNodes == null || listNodes.isEmpty() ) ) {
+                    listLiteralsAll.addAll(listNodes);
                 }
             }
             if ( listLiteralsAll.isEmpty() ) {
                 listLiteralsAll = null;
             }
-            this.listNodes = listLiteralsAll;
+            return listLiteralsAll;
         }
 
         //
         // Standard Record or Row processing...
         //
-        else {
-            this.createLiterals(); // ...Record or Row
-            if ( this.listNodes == null || this.listNodes.isEmpty() ) {
-                this.listNodes = null;
-            }
+        List<RDFNode> listNodes = this.createLiterals(theContext, theRec); // ...Record or Row
+        if ( listNodes == null || listNodes.isEmpty() ) {
+            return null;
         }
+        return listNodes;
     }
 
     /*
      *  Method createLiterals() for Literal Node types
      *
-     *  Return: void
+     *  Return: List<RDFNode>
      * 
-     *  Stores the Literals as generic Values since these are "object" elements in
+     *  Returns the Literals as generic Values since these are "object" elements in
      *    ( source, predicate, object ) triples and need to be compatible with resources.
      */
-    protected void createLiterals() {
+    protected List<RDFNode> createLiterals(TransformContext theContext, RecordModel theRec) {
         if (Util.isDebugMode()) logger.info("DEBUG: createLiterals...");
 
         // TODO: Create process for Sub-Records
@@ -130,53 +126,50 @@ abstract public class LiteralNode extends Node {
         //
         // Record Mode
         //
-        if ( this.theRec.isRecordMode() ) {
+        if ( theRec.isRecordMode() ) {
             // If a column node, the node should iterate all records in the Record group...
             if ( ! this.bIsIndex ) {
-                this.createRecordLiterals();
+                return this.createRecordLiterals(theContext, theRec);
             }
             // Otherwise, we only need to get a single "Record Number" literal for the Record group...
-            else {
-                this.theRec.rowNext(); // ...set index for first (or any) row in the Record
-                this.createRowLiterals(); // ...get the one resource
-                this.theRec.rowReset(); // ...reset for any other row run on the Record
-            }
+            theRec.rowNext(); // ...set index for first (or any) row in the Record
+            List<RDFNode> listNodes = this.createRowLiterals(theContext, theRec); // ...get the one resource
+            theRec.rowReset(); // ...reset for any other row run on the Record
+            return listNodes;
         }
         //
         // Row Mode
         //
-        else {
-            this.createRowLiterals();
-        }
+        return this.createRowLiterals(theContext, theRec);
     }
 
     /*
      *  Method createRecordLiterals() creates the object list for triple statements
      *  from this node on Records
      */
-    protected void createRecordLiterals() {
+    protected List<RDFNode> createRecordLiterals(TransformContext theContext, RecordModel theRec) {
         if (Util.isDebugMode()) LiteralNode.logger.info("DEBUG: createRecordLiterals...");
 
         List<RDFNode> listLiterals = new ArrayList<RDFNode>();
-        while ( this.theRec.rowNext() ) {
-            this.createRowLiterals();
-            if ( this.listNodes != null ) {
-                listLiterals.addAll(this.listNodes);
+        while ( theRec.rowNext() ) {
+            List<RDFNode> listNodes = this.createRowLiterals(theContext, theRec);
+            if ( listNodes != null ) {
+                listLiterals.addAll(listNodes);
             }
         }
         if ( listLiterals.isEmpty() ) {
             listLiterals = null;
         }
 
-        this.listNodes = listLiterals;
+        return listLiterals;
     }
 
-    abstract protected void createRowLiterals();
+    abstract protected List<RDFNode> createRowLiterals(TransformContext theContext, RecordModel theRec);
 
     /*
      *  Method normalizeLiteral() for Literal Node to Literal string
      */
-    protected void normalizeLiteral(Object obj) {
+    protected void normalizeLiteral(TransformContext theContext, List<RDFNode> listNodes, Object obj) {
         String strResult = obj.toString();
         if ( strResult == null || strResult.isEmpty() ) {
             return;
@@ -193,17 +186,13 @@ abstract public class LiteralNode extends Node {
 
         // If there is a datatype...
         if (this.nodeDatatype != null) {
-            String strDatatype = this.nodeDatatype.normalizeResourceAsString();
-            String strExpandedDatatype = this.expandPrefixedIRI(strDatatype);
-            if ( strExpandedDatatype != null) {
-                strDatatype = strExpandedDatatype;
-            }
-            RDFDatatype theDatatype = TypeMapper.getInstance().getSafeTypeByName(strDatatype);
+            // The datatype is a constant resolved when the plan was compiled...
+            RDFDatatype theDatatype = theContext.getPlan().getDatatype(this.nodeDatatype, theContext);
             try {
                 literal = new LiteralImpl( NodeFactory.createLiteral(strResult, theDatatype), null );
             }
             catch (DatatypeFormatException ex) {
-                LiteralNode.logger.info("ERROR: normalizeLiteral: Datatype not valid: " + strResult + " ^^ " + strDatatype);
+                LiteralNode.logger.info("ERROR: normalizeLiteral: Datatype not valid: " + strResult + " ^^ " + theDatatype.getURI());
             }
         }
         // Else, if there is a language...
@@ -218,8 +207,23 @@ abstract public class LiteralNode extends Node {
 
         // If there is a valid literal...
         if (literal != null) {
-            this.listNodes.add(literal);
+            listNodes.add(literal);
+        }
+    }
+
+    /*
+     *  Method resolveDatatype() for a Literal Node's datatype
+     *
+     *    Resolve the datatype IRI, expanding a prefixed IRI, to its datatype.  Called by the plan when
+     *    compiled (see TransformPlan.getDatatype()).
+     */
+    static RDFDatatype resolveDatatype(TransformContext theContext, ConstantResourceNode nodeDatatype) {
+        String strDatatype = nodeDatatype.normalizeResourceAsString( theContext.getBaseIRI() );
+        String strExpandedDatatype = theContext.expandPrefix(strDatatype);
+        if ( strExpandedDatatype != null) {
+            strDatatype = strExpandedDatatype;
         }
+        return TypeMapper.getInstance().getSafeTypeByName(strDatatype);
     }
 
     abstract protected void writeNode(JsonGenerator writer)
@@ -4,14 +4,13 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 
-import com.google.refine.model.Project;
-
 import org.openrefine.rdf.RDFTransform;
 import org.openrefine.rdf.model.utils.RecordModel;
 import org.openrefine.rdf.model.vocab.VocabularyList;
 
+import com.google.refine.expr.MetaParser;
+
 import org.apache.jena.iri.IRI;
-import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.RDFNode;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -189,6 +188,13 @@ abstract public class Node {
                 strExpCode = jnodeExp.get(Util.gstrCode).asText().strip();
             }
         }
+        // For another language, prefix the code with its language (as MetaParser expects)...
+        //      NOTE: The nodes write the prefixed code as GREL, which reconstructs the same.
+        if ( strExpCode != null && ! strExpLang.equals(Util.gstrGREL) &&
+             MetaParser.getLanguagePrefixes().contains(strExpLang) &&
+             Util.getExpressionLanguage(strExpCode).equals(Util.gstrGREL) ) {
+            strExpCode = strExpLang + ":" + strExpCode;
+        }
 
         //
         // Process Subject into a Node...
@@ -325,17 +331,11 @@ abstract public class Node {
         return lnodeLiteral;
     }
 
-    @JsonIgnore
-    protected IRI baseIRI = null;
-
-    @JsonIgnore
-    protected Model theModel = null;
-
-    @JsonIgnore
-    protected Project theProject = null;
-
-    @JsonIgnore
-    public RecordModel theRec = null;
+    //
+    // NOTE: A Node holds only its transform definition.  All evaluation state is held by the
+    //      TransformContext and RecordModel passed along the node tree, so a node tree may be
+    //      evaluated by multiple threads at once.
+    //
 
     @JsonIgnore
     protected String strExpression;
@@ -343,15 +343,11 @@ abstract public class Node {
     @JsonIgnore
     protected boolean bIsIndex = false;
 
-    @JsonIgnore
-    protected List<RDFNode> listNodes = null;
-
     @JsonIgnore
     protected Util.NodeType eNodeType = null;
 
     @JsonIgnore
     public Node() {
-        theRec = new RecordModel(this);
     }
 
     @JsonIgnore
@@ -360,11 +356,6 @@ abstract public class Node {
     @JsonProperty("nodeType")
     abstract public String getNodeType();
 
-    @JsonIgnore
-    public Project getProject() {
-        return theProject;
-    }
-
     @JsonProperty("isIndex")
     public boolean isIndexNode() {
         return this.bIsIndex;
@@ -374,18 +365,18 @@ abstract public class Node {
         return eNodeType;
     }
 
-    protected String expandPrefixedIRI(String strObjectIRI) {
-        if (this.theModel == null) {
+    protected String expandPrefixedIRI(TransformContext theContext, String strObjectIRI) {
+        if (theContext == null) {
             return null;
         }
-        return this.theModel.expandPrefix(strObjectIRI);
+        return theContext.expandPrefix(strObjectIRI);
 
         // String strExpanded = strObjectIRI;
         // int iIndex = strObjectIRI.indexOf(':'); // ...get index of first ':'...
         // if (iIndex >= 0) { // ...a ':' exists...
         //     if ( ! strObjectIRI.contains("://") ) { // ...if not already expanded...
         //         String strPrefix = strObjectIRI.substring(0, iIndex); // ...including blank ("") prefix...
-        //         String strNamespace = this.theModel.getNsPrefixURI(strPrefix);
+        //         String strNamespace = theContext.getNsPrefixURI(strPrefix);
         //         if (strNamespace != null) {
         //              // Get the string just beyond the first ':'...
         //             strExpanded = strNamespace + strObjectIRI.substring(iIndex+1);
@@ -395,25 +386,13 @@ abstract public class Node {
         // return strExpanded;
     }
 
-    /*
-     *  Method setObjectParameters()
-     *
-     *  Copy the parameters from the given Property resource to this Node object.
-     *
-     */
-    @JsonIgnore
-    protected void setObjectParameters(ResourceNode nodeProperty) {
-        this.baseIRI = nodeProperty.baseIRI;
-        this.theModel = nodeProperty.theModel;
-        this.theProject = nodeProperty.theProject;
-    }
-
     /*
      *  Method createObjects()
      *
-     *    Creates the object list for triple statements from this node.
+     *    Creates the object list for triple statements from this node on the current row
+     *    or record of the given Property's resource (the parent's RecordModel).
      */
-    abstract protected List<RDFNode> createObjects(ResourceNode nodeProperty);
+    abstract protected List<RDFNode> createObjects(TransformContext theContext, RecordModel theParentRec);
 
     abstract public void write(JsonGenerator writer, boolean isRoot)
             throws JsonGenerationException, IOException;
@@ -0,0 +1,255 @@
+package org.openrefine.rdf.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.refine.expr.Evaluable;
+import com.google.refine.expr.ParsingException;
+
+/*
+ * Class NodeExpression
+ *
+ *  The compiled form of a node's expression held by a TransformContext.  The expression is classified
+ *  when compiled: the identity expression ("value") and its string form ("value.toString()") are read
+ *  from the cell directly, without parsing, binding, or evaluation.  Other expressions are parsed once
+ *  (see Util.getEvaluable()) and evaluated with the context's bindings.  An expression that does not
+ *  parse is compiled as invalid: it is reported once when the plan is compiled (see TransformPlan) and its
+ *  node produces nothing, without raising a parsing error per cell.
+ *
+ *  When the expression memo is enabled (see Util.getExportMemo()), a pure expression's results are kept in
+ *  a bounded, least recently used memo keyed by the cell value, so repeated values (codes, categories) are
+ *  evaluated once.  An expression is pure when its result depends only on the cell value: see isPure().
+ *  As an expression is held by a single context (thread), the memo is not synchronized.
+ */
+final class NodeExpression {
+    static private final String strGRELPrefix = Util.gstrGREL + ":";
+    static private final String strCodeToString = Util.gstrCodeValue + ".toString()";
+
+    // Identifiers referring to more than the cell value (the row, record, other cells, other projects)
+    // or to non-deterministic functions...
+    static private final Set<String> setImpure =
+        Set.of( "row", "rowIndex", "record", "cells", "cell", "columnName", "project",
+                "cross", "facetCount", "now", "random" );
+
+    // The memo's "no result" marker, as null is a result...
+    static final Object NONE = new Object();
+
+    static enum Kind {
+        IDENTITY,   // ...the cell value
+        TO_STRING,  // ...the cell value as a string
+        GENERAL,    // ...any other expression
+        INVALID     // ...an expression that does not parse
+    }
+
+    private final String strExpression;
+    private final Kind eKind;
+    private Evaluable theEvaluable = null;
+    private Map<Object, Object> mapMemo = null;
+    private long lHits = 0;
+    private long lMisses = 0;
+
+    private NodeExpression(String strExpression, Kind eKind) {
+        this.strExpression = strExpression;
+        this.eKind = eKind;
+    }
+
+    /*
+     * Method validate()
+     *
+     *      Check that the expression parses.  Return the parsing error message, or null when valid.
+     */
+    static String validate(String strExpression) {
+        Kind eKind = NodeExpression.classify( NodeExpression.getCode(strExpression) );
+        if ( eKind != Kind.GENERAL ) {
+            return null;
+        }
+        try {
+            Util.getEvaluable(strExpression);
+        }
+        catch (ParsingException ex) {
+            return ex.getMessage();
+        }
+        return null;
+    }
+
+    /*
+     * Method invalid()
+     *
+     *      Compile an expression known to be invalid (see TransformPlan.isInvalid()) without parsing it.
+     */
+    static NodeExpression invalid(String strExpression) {
+        return new NodeExpression(strExpression, Kind.INVALID);
+    }
+
+    /*
+     * Method compile()
+     *
+     *      Classify the expression.  A general expression is parsed immediately: when it does not
+     *      parse, it is compiled as invalid.
+     */
+    static NodeExpression compile(String strExpression) {
+        String strCode = NodeExpression.getCode(strExpression);
+        Kind eKind = NodeExpression.classify(strCode);
+        if ( eKind == Kind.IDENTITY ) {
+            return new NodeExpression(strExpression, Kind.IDENTITY);
+        }
+        NodeExpression theExpression;
+        if ( eKind == Kind.TO_STRING ) {
+            theExpression = new NodeExpression(strExpression, Kind.TO_STRING);
+        }
+        else {
+            Evaluable theEvaluable = null;
+            try {
+                theEvaluable = Util.getEvaluable(strExpression);
+            }
+            catch (ParsingException ex) {
+                return NodeExpression.invalid(strExpression);
+            }
+            theExpression = new NodeExpression(strExpression, Kind.GENERAL);
+            theExpression.theEvaluable = theEvaluable;
+        }
+
+        // Memoize the results of a pure expression...
+        final int iMemoSize = Util.getExportMemo();
+        if ( iMemoSize > 0 && NodeExpression.isPure(strCode) ) {
+            theExpression.mapMemo =
+                new LinkedHashMap<Object, Object>(64, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Object, Object> theEldest) {
+                        return ( this.size() > iMemoSize );
+                    }
+                };
+        }
+        return theExpression;
+    }
+
+    static private String getCode(String strExpression) {
+        String strCode = strExpression.trim();
+        if ( strCode.startsWith(NodeExpression.strGRELPrefix) ) {
+            strCode = strCode.substring( NodeExpression.strGRELPrefix.length() ).trim();
+        }
+        return strCode;
+    }
+
+    static private Kind classify(String strCode) {
+        if ( strCode.equals(Util.gstrCodeValue) ) {
+            return Kind.IDENTITY;
+        }
+        if ( strCode.equals(NodeExpression.strCodeToString) ) {
+            return Kind.TO_STRING;
+        }
+        return Kind.GENERAL;
+    }
+
+    /*
+     * Method isPure()
+     *
+     *      Does the GREL code's result depend only on the cell value?  The code's identifiers, outside
+     *      of string literals, are checked against the identifiers referring to other data or to
+     *      non-deterministic functions.  Code in another language (Jython, Clojure) is never pure.
+     *      NOTE: The check is conservative: an impure name used as a field or in a regular expression
+     *          also refuses the memo.
+     */
+    static boolean isPure(String strCode) {
+        int iLength = strCode.length();
+        int iIndex = 0;
+        while (iIndex < iLength) {
+            char cChar = strCode.charAt(iIndex);
+            if ( cChar == '"' || cChar == '\'' ) {
+                // Skip the string literal...
+                iIndex++;
+                while ( iIndex < iLength && strCode.charAt(iIndex) != cChar ) {
+                    if ( strCode.charAt(iIndex) == '\\' ) {
+                        iIndex++;
+                    }
+                    iIndex++;
+                }
+                iIndex++;
+            }
+            else if ( Character.isJavaIdentifierStart(cChar) ) {
+                int iStart = iIndex;
+                while ( iIndex < iLength && Character.isJavaIdentifierPart( strCode.charAt(iIndex) ) ) {
+                    iIndex++;
+                }
+                // A leading "language:" prefix...
+                if ( iStart == 0 && iIndex < iLength && strCode.charAt(iIndex) == ':' ) {
+                    return false;
+                }
+                if ( NodeExpression.setImpure.contains( strCode.substring(iStart, iIndex) ) ) {
+                    return false;
+                }
+            }
+            else {
+                iIndex++;
+            }
+        }
+        return true;
+    }
+
+    Kind getKind() {
+        return this.eKind;
+    }
+
+    /*
+     * Method isDirect()
+     *
+     *      Can the result be read from the cell value directly?  The identity expression always can.
+     *      The string form can for a string value and for a blank (null) value: GREL gives an error
+     *      or null and either one produces no node.  Otherwise, the expression must be evaluated as
+     *      the string conversion of other values (dates, numbers) is formatted by GREL.
+     */
+    boolean isDirect(Object theValue) {
+        return ( this.eKind == Kind.IDENTITY ||
+                 ( this.eKind == Kind.TO_STRING && ( theValue == null || theValue instanceof String ) ) );
+    }
+
+    boolean isMemoized() {
+        return ( this.mapMemo != null );
+    }
+
+    /*
+     * Method recall()
+     *
+     *      Get the memoized result for the cell value, or NONE when not memoized.
+     */
+    Object recall(Object theValue) {
+        Object theResult = this.mapMemo.get(theValue);
+        if ( theResult == null && ! this.mapMemo.containsKey(theValue) ) {
+            this.lMisses++;
+            return NodeExpression.NONE;
+        }
+        this.lHits++;
+        return theResult;
+    }
+
+    void remember(Object theValue, Object theResult) {
+        this.mapMemo.put(theValue, theResult);
+    }
+
+    long getHits() {
+        return this.lHits;
+    }
+
+    long getMisses() {
+        return this.lMisses;
+    }
+
+    /*
+     * Method getEvaluable()
+     *
+     *      Get the parsed expression, parsing an identity expression on first use.  An invalid
+     *      expression has none.
+     */
+    Evaluable getEvaluable() {
+        if ( this.theEvaluable == null && this.eKind != Kind.INVALID ) {
+            try {
+                this.theEvaluable = Util.getEvaluable(this.strExpression);
+            }
+            catch (ParsingException ex) {
+                // Not possible: the identity expressions always parse...
+            }
+        }
+        return this.theEvaluable;
+    }
+}
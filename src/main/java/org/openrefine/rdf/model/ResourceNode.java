@@ -2,13 +2,15 @@ package org.openrefine.rdf.model;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.io.IOException;
 
-import com.google.refine.model.Project;
 import com.google.refine.model.Record;
 
 import org.openrefine.rdf.model.Util.IRIParsingException;
+import org.openrefine.rdf.model.utils.RecordModel;
+import org.openrefine.rdf.model.utils.SimpleIRIValidator;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreType;
@@ -17,9 +19,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonGenerationException;
 
 import org.apache.jena.iri.IRI;
-import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.RDFNode;
-import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.impl.PropertyImpl;
 import org.apache.jena.rdf.model.impl.ResourceImpl;
 import org.apache.jena.vocabulary.RDF;
@@ -61,29 +61,35 @@ abstract public class ResourceNode extends Node {
     /*
      *  Method processResultsAsArray() for results to Resources
      */
-    protected void processResultsAsArray(String strPrefix, Object results) {
+    protected void processResultsAsArray(TransformContext theContext, List<RDFNode> listNodes,
+                                            String strPrefix, Object results) {
         List<Object> listResult = Arrays.asList(results);
         for (Object objResult : listResult) {
             if ( objResult == null || objResult.toString().isEmpty() ) {
                 continue;
             }
             if (strPrefix == null) {
-                if ( processResultsAsSingle(objResult) ) {
+                if ( processResultsAsSingle(theContext, listNodes, objResult) ) {
                     continue;
                 }
             }
-            this.normalizeResource(strPrefix, objResult);
+            this.normalizeResource(theContext, listNodes, strPrefix, objResult);
         }
     }
 
     /*
      *  Method processResultsAsArray() for a single result to a Resource
      */
-    protected boolean processResultsAsSingle(Object objResult) {
+    protected boolean processResultsAsSingle(TransformContext theContext, List<RDFNode> listNodes,
+                                                Object objResult) {
         String strLocalPart = Util.toSpaceStrippedString(objResult);
         if ( strLocalPart == null || strLocalPart.isEmpty() ) {
             return false;
         }
+        // A common absolute IRI has a host, so it has no embedded prefix...
+        if ( SimpleIRIValidator.isSimpleAbsolute(strLocalPart) ) {
+            return false;
+        }
         String strEmbeddedPrefix = null;
 
         try {
@@ -99,7 +105,7 @@ abstract public class ResourceNode extends Node {
                     //    performed.  The rest may parse as a path, query, fragment.
                     // Then, the schema is a prefix and that is enough...
                     strLocalPart = strLocalPart.substring(strEmbeddedPrefix.length() + 1);
-                    this.normalizeResource(strEmbeddedPrefix, strLocalPart);
+                    this.normalizeResource(theContext, listNodes, strEmbeddedPrefix, strLocalPart);
                     return true;
                 }
             }
@@ -113,7 +119,8 @@ abstract public class ResourceNode extends Node {
     /*
      *  Method normalizeResource() for Resource Node to IRI
      */
-    protected void normalizeResource(String strPrefix, Object objResult) {
+    protected void normalizeResource(TransformContext theContext, List<RDFNode> listNodes,
+                                        String strPrefix, Object objResult) {
         if (objResult == null) {
             return;
         }
@@ -125,7 +132,7 @@ abstract public class ResourceNode extends Node {
         String strLocalPart = strIRI; // ...for "prefix:localPart" IRI
         if (strPrefix != null) { // ...on prefix, attempt namespace...
             strIRI = strPrefix + ":" + strLocalPart;
-            strNamespace = this.theModel.getNsPrefixURI(strPrefix);
+            strNamespace = theContext.getNsPrefixURI(strPrefix);
         }
         if ( Util.isDebugMode() ) {
             String strDebug = "DEBUG: normalizeResource: Given: ";
@@ -139,7 +146,7 @@ abstract public class ResourceNode extends Node {
         }
 
         try {
-            String strResolvedIRI = Util.resolveIRI(this.baseIRI, strIRI);
+            String strResolvedIRI = Util.resolveIRI(theContext.getBaseIRI(), strIRI);
             if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: normalizeResource: Resolved IRI: " + strResolvedIRI);
             if (strResolvedIRI != null) { // ...at least it's a good, basic IRI...
                 String strFullIRI = strResolvedIRI; // ...Default: Full IRI
@@ -152,7 +159,7 @@ abstract public class ResourceNode extends Node {
                     nodeResource = new ResourceImpl(strNamespace, strLocalPart);
                 }
                 if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: normalizeResource: Processed IRI: " + strFullIRI);
-                this.listNodes.add( nodeResource );
+                listNodes.add( nodeResource );
             }
         }
         //catch (IRIParsingException | IllegalArgumentException ex) {
@@ -167,86 +174,75 @@ abstract public class ResourceNode extends Node {
     /*
      *  Method createStatements() for Root Resource Node types on OpenRefine Rows
      */
-    public void createStatements(IRI baseIRI, Model theModel, Project theProject, int iRowIndex)
+    public void createStatements(TransformContext theContext, int iRowIndex)
             throws RuntimeException
     {
-        this.baseIRI = baseIRI;
-        this.theModel = theModel;
-        this.theProject = theProject;
-
-        this.theRec.setRootRow(iRowIndex);
-        this.createStatementsWorker();
-        this.theRec.clear();
+        RecordModel theRec = new RecordModel();
+        theRec.setRootRow(iRowIndex);
+        this.createStatementsWorker(theContext, theRec);
     }
 
     /*
      *  Method createStatements() for Root Resource Node types on OpenRefine Records
      */
-    public void createStatements(IRI baseIRI, Model theModel, Project theProject, Record theRecord)
+    public void createStatements(TransformContext theContext, Record theRecord)
             throws RuntimeException
     {
-        this.baseIRI = baseIRI;
-        this.theModel = theModel;
-        this.theProject = theProject;
-
-        this.theRec.setRootRecord(theRecord);
-        this.createStatementsWorker();
-        this.theRec.clear();
+        RecordModel theRec = new RecordModel();
+        theRec.setRootRecord(theRecord);
+        this.createStatementsWorker(theContext, theRec);
     }
 
     /*
      *  Method createStatementsWorker() for Resource Node types
      *
-     *  Return: void
+     *  Return: List<RDFNode>
      *
-     *  Stores the Resources as generic Values since these are "object" elements in
+     *  Returns the Resources as generic Values since these are "object" elements in
      *    ( source, predicate, object ) triples and need to be compatible with literals.
      */
-    private void createStatementsWorker()
+    private List<RDFNode> createStatementsWorker(TransformContext theContext, RecordModel theRec)
             throws RuntimeException {
         if (Util.isDebugMode()) logger.info("DEBUG: createStatementsWorker...");
 
         //
         // Transition from Record to Row processing...
         //
-        if ( this.theRec.isRecordPerRow() ) {
+        if ( theRec.isRecordPerRow() ) {
             List<RDFNode> listResources = new ArrayList<RDFNode>();
-            while ( this.theRec.rowNext() ) {
-                this.createRowResources(); // ...Row only
-                if ( ! ( this.listNodes == null || this.listNodes.isEmpty() ) ) {
-                    this.createResourceStatements();
-                    listResources.addAll(this.listNodes);
+            while ( theRec.rowNext() ) {
+                List<RDFNode> listNodes = this.createRowResources(theContext, theRec); // ...Row only
+                if ( ! ( listNodes == null || listNodes.isEmpty() ) ) {
+                    this.createResourceStatements(theContext, theRec, listNodes);
+                    listResources.addAll(listNodes);
                 }
             }
             if ( listResources.isEmpty() ) {
                 listResources = null;
             }
-            this.listNodes = listResources;
+            return listResources;
         }
 
         //
         // Standard Record or Row processing...
         //
-        else {
-            this.createResources(); // ...Record or Row
-            if ( this.listNodes == null || this.listNodes.isEmpty() ) {
-                this.listNodes = null;
-            }
-            else {
-                this.createResourceStatements();
-            }
+        List<RDFNode> listNodes = this.createResources(theContext, theRec); // ...Record or Row
+        if ( listNodes == null || listNodes.isEmpty() ) {
+            return null;
         }
+        this.createResourceStatements(theContext, theRec, listNodes);
+        return listNodes;
     }
 
     /*
      *  Method createResources() for Resource Node types
      *
-     *  Return: void
+     *  Return: List<RDFNode>
      * 
-     *  Stores the Resources as generic Values since these are "object" elements in
+     *  Returns the Resources as generic Values since these are "object" elements in
      *    ( source, predicate, object ) triples and need to be compatible with literals.
      */
-    protected void createResources() {
+    protected List<RDFNode> createResources(TransformContext theContext, RecordModel theRec) {
         if (Util.isDebugMode()) logger.info("DEBUG: createResources...");
 
         // TODO: Create process for Sub-Records
@@ -254,48 +250,45 @@ abstract public class ResourceNode extends Node {
         //
         // Record Mode
         //
-        if ( this.theRec.isRecordMode() ) {
+        if ( theRec.isRecordMode() ) {
             // If a column node, the node should iterate all records in the Record group...
             if ( ! this.bIsIndex ) {
-                this.createRecordResources();
+                return this.createRecordResources(theContext, theRec);
             }
             // Otherwise, we only need to get a single "Record Number" resource for the Record group...
-            else {
-                this.theRec.rowNext(); // ...set index for first (or any) row in the Record
-                this.createRowResources(); // ...get the one resource
-                this.theRec.rowReset(); // ...reset for any other row run on the Record
-            }
+            theRec.rowNext(); // ...set index for first (or any) row in the Record
+            List<RDFNode> listNodes = this.createRowResources(theContext, theRec); // ...get the one resource
+            theRec.rowReset(); // ...reset for any other row run on the Record
+            return listNodes;
         }
         //
         // Row Mode
         //
-        else {
-            this.createRowResources();
-        }
+        return this.createRowResources(theContext, theRec);
     }
 
     /*
      *  Method createRecordResources() creates the object list for triple statements
      *  from this node on Records
      */
-    protected void createRecordResources() {
+    protected List<RDFNode> createRecordResources(TransformContext theContext, RecordModel theRec) {
         if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: createRecordResources...");
 
         List<RDFNode> listResources = new ArrayList<RDFNode>();
-        while ( this.theRec.rowNext() ) {
-            this.createRowResources();
-            if ( this.listNodes != null ) {
-                listResources.addAll(this.listNodes);
+        while ( theRec.rowNext() ) {
+            List<RDFNode> listNodes = this.createRowResources(theContext, theRec);
+            if ( listNodes != null ) {
+                listResources.addAll(listNodes);
             }
         }
         if ( listResources.isEmpty() ) {
             listResources = null;
         }
 
-        this.listNodes = listResources;
+        return listResources;
     }
 
-    abstract protected void createRowResources();
+    abstract protected List<RDFNode> createRowResources(TransformContext theContext, RecordModel theRec);
 
     /*
      *  Method createStatements() for Resource Node types
@@ -303,11 +296,11 @@ abstract public class ResourceNode extends Node {
      *    Given a set of source resources, create the (source, rdf:type, object) triple statements
      *    for each of the sources.
      */
-    private void createResourceStatements()
+    private void createResourceStatements(TransformContext theContext, RecordModel theRec, List<RDFNode> listNodes)
             throws RuntimeException {
         try {
-            this.createTypeStatements();
-            this.createPropertyStatements();
+            this.createTypeStatements(theContext, listNodes);
+            this.createPropertyStatements(theContext, theRec, listNodes);
         }
         catch (Exception ex) {
             throw new RuntimeException(ex);
@@ -320,7 +313,7 @@ abstract public class ResourceNode extends Node {
      *    Given a set of source resources, create the (source, rdf:type, object) triple statements
      *    for each of the sources.
      */
-    private void createTypeStatements() {
+    private void createTypeStatements(TransformContext theContext, List<RDFNode> listNodes) {
         if ( Util.isDebugMode() ) {
             String strPropertyCount = "DEBUG: createTypeStatements: Type Count: {}";
             int iPropertyCount = 0;
@@ -333,6 +326,30 @@ abstract public class ResourceNode extends Node {
             return;
         }
 
+        // The types are constants resolved when the plan was compiled...
+        List<RDFNode> listTypesForStmts = theContext.getPlan().getTypes(this, theContext);
+
+        //
+        // Process statements...
+        //
+        for (RDFNode theSource : listNodes) {
+            for (RDFNode theType : listTypesForStmts) {
+                theContext.addStatement(theSource, RDF.type, theType);
+            }
+        }
+    }
+
+    /*
+     *  Method resolveTypes() for Resource Node types
+     *
+     *    Resolve the type IRIs to resources.  A type with a bad IRI is logged and skipped.
+     *    Called by the plan when compiled (see TransformPlan.getTypes()).
+     */
+    List<RDFNode> resolveTypes(TransformContext theContext) {
+        if (this.listTypes == null) {
+            return Collections.emptyList();
+        }
+
         String strPrefix = null;
         String strType = null;
 
@@ -353,7 +370,7 @@ abstract public class ResourceNode extends Node {
             if (strPrefix != null) { // ...prefixed...
                 strLocalPart = strType;
                 strType = strPrefix + ":" + strLocalPart; // ...CIRIE
-                strNamespace = this.theModel.getNsPrefixURI(strPrefix);
+                strNamespace = theContext.getNsPrefixURI(strPrefix);
             }
             if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: Type: [" + strType + "]");
             if ( strType == null || strType.isEmpty() ) {
@@ -362,7 +379,7 @@ abstract public class ResourceNode extends Node {
 
             try {
                 // Resolve the IRI for Full IRI or CIRIE...
-                strFullType = Util.resolveIRI(this.baseIRI, strType);
+                strFullType = Util.resolveIRI(theContext.getBaseIRI(), strType);
                 if (strFullType != null) {
                     if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: Type Resource: [" + strFullType + "]");
                     if (strNamespace != null) {
@@ -378,15 +395,7 @@ abstract public class ResourceNode extends Node {
                 logger.error( "ERROR: Bad Type IRI: " + strType, ex);
             }
         }
-
-        //
-        // Process statements...
-        //
-        for (RDFNode theSource : this.listNodes) {
-            for (RDFNode theType : listTypesForStmts) {
-                this.theModel.add( (Resource) theSource, RDF.type, (RDFNode) theType );
-            }
-        }
+        return Collections.unmodifiableList(listTypesForStmts);
     }
 
     /*
@@ -395,7 +404,7 @@ abstract public class ResourceNode extends Node {
      *    Given a set of source resources, create the (source, property, object) triple statements
      *    for each of the sources.
      */
-    private void createPropertyStatements() {
+    private void createPropertyStatements(TransformContext theContext, RecordModel theRec, List<RDFNode> listNodes) {
         if ( Util.isDebugMode() ) {
             String strPropertyCount = "DEBUG: createPropertyStatements: Property Count: {}";
             int iPropertyCount = 0;
@@ -408,14 +417,9 @@ abstract public class ResourceNode extends Node {
             return;
         }
 
-        String strPrefix = null;
-        String strProperty = null;
-
-        String strNamespace;
-        String strLocalName;
+        TransformPlan thePlan = theContext.getPlan();
         Node nodeObject;
         List<RDFNode> listObjects;
-        String strFullProperty;
         PropertyImpl theProperty;
 
         @JsonIgnoreType
@@ -443,17 +447,9 @@ abstract public class ResourceNode extends Node {
             //
             // PROPERTY
             //
-            strPrefix = propItem.getPrefix(); // Null indicated FULL IRI, Empty indicate BaseIRI
-            strProperty = propItem.getPathProperty(); // ...assume FULL IRI
-            strLocalName = null;
-            strNamespace = null;
-            if (strPrefix != null) { // ...prefixed...
-                strLocalName = strProperty;
-                strProperty = strPrefix + ":" + strLocalName; // ...CIRIE
-                strNamespace = this.theModel.getNsPrefixURI(strPrefix);
-            }
-            if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: Prop: [" + strProperty + "]");
-            if ( strProperty == null || strProperty.isEmpty() ) {
+            // Null prefix indicates FULL IRI...
+            if ( propItem.getPrefix() == null &&
+                 ( propItem.getPathProperty() == null || propItem.getPathProperty().isEmpty() ) ) {
                 continue;
             }
 
@@ -465,50 +461,75 @@ abstract public class ResourceNode extends Node {
                 if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: Cannot create statements: no Object for Property found.");
                 continue; // ...then, no statement can be processed
             }
-            listObjects = nodeObject.createObjects(this);
+            listObjects = nodeObject.createObjects(theContext, theRec);
             if (listObjects == null) { // ...no Object List?
                 if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: Cannot create statements: no Object List created on Object for Property.");
                 continue; // ...then, no statements can be processed
             }
 
-            try {
-                // Resolve Property for Full IRI and CIRIE...
-                strFullProperty = Util.resolveIRI(this.baseIRI, strProperty);
-                if (strFullProperty != null) {
-                    if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: Prop Resource: [" + strFullProperty + "]");
-                    if (strNamespace != null) {
-                        theProperty = new PropertyImpl(strNamespace, strLocalName);
-                    }
-                    else { // ...on no prefix or missing namespace, treat as Full...
-                        theProperty = new PropertyImpl(strFullProperty);
-                    }
-                    listPropsForStmts.add( new PropertyObjectList(theProperty, listObjects) );
-                }
-            }
-            catch (IRIParsingException | IllegalArgumentException ex) {
-                logger.error( "ERROR: Bad Property IRI: " + strProperty, ex);
+            // The property is a constant resolved when the plan was compiled...
+            theProperty = thePlan.getProperty(propItem, theContext);
+            if (theProperty != null) {
+                listPropsForStmts.add( new PropertyObjectList(theProperty, listObjects) );
             }
         }
 
         //
         // Process statements...
         //
-        for (RDFNode theSource : this.listNodes) {
+        for (RDFNode theSource : listNodes) {
             for ( PropertyObjectList polPropItem : listPropsForStmts )
             {
                 theProperty = polPropItem.getProperty();
                 listObjects = polPropItem.getObjects();
                 for (RDFNode theObject : listObjects) {
-                    this.theModel.add(
-                        (Resource) theSource,
-                        (org.apache.jena.rdf.model.Property) theProperty,
-                        (RDFNode) theObject
-                    );
+                    theContext.addStatement(theSource, theProperty, theObject);
                 }
             }
         }
     }
 
+    /*
+     *  Method resolveProperty() for Resource Node types
+     *
+     *    Resolve the property IRI to a property.  A property with no or a bad IRI is logged and
+     *    returns null.  Called by the plan when compiled (see TransformPlan.getProperty()).
+     */
+    static PropertyImpl resolveProperty(TransformContext theContext, Property propItem) {
+        String strPrefix = propItem.getPrefix(); // Null indicated FULL IRI, Empty indicate BaseIRI
+        String strProperty = propItem.getPathProperty(); // ...assume FULL IRI
+        String strLocalName = null;
+        String strNamespace = null;
+        if (strPrefix != null) { // ...prefixed...
+            strLocalName = strProperty;
+            strProperty = strPrefix + ":" + strLocalName; // ...CIRIE
+            strNamespace = theContext.getNsPrefixURI(strPrefix);
+        }
+        if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: Prop: [" + strProperty + "]");
+        if ( strProperty == null || strProperty.isEmpty() ) {
+            return null;
+        }
+
+        PropertyImpl theProperty = null;
+        try {
+            // Resolve Property for Full IRI and CIRIE...
+            String strFullProperty = Util.resolveIRI(theContext.getBaseIRI(), strProperty);
+            if (strFullProperty != null) {
+                if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: Prop Resource: [" + strFullProperty + "]");
+                if (strNamespace != null) {
+                    theProperty = new PropertyImpl(strNamespace, strLocalName);
+                }
+                else { // ...on no prefix or missing namespace, treat as Full...
+                    theProperty = new PropertyImpl(strFullProperty);
+                }
+            }
+        }
+        catch (IRIParsingException | IllegalArgumentException ex) {
+            logger.error( "ERROR: Bad Property IRI: " + strProperty, ex);
+        }
+        return theProperty;
+    }
+
     /*
      *  Method createObjects() for Resource Node types on OpenRefine Rows
      *
@@ -517,22 +538,20 @@ abstract public class ResourceNode extends Node {
      *    ( source, predicate, object ) triples and need to be compatible with literals.
      */
     @Override
-    protected List<RDFNode> createObjects(ResourceNode nodeProperty)
+    protected List<RDFNode> createObjects(TransformContext theContext, RecordModel theParentRec)
             throws RuntimeException {
         if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: createObjects...");
 
-        this.setObjectParameters(nodeProperty);
-
         // TODO: Create process for Sub-Records
 
-        this.listNodes = null;
+        RecordModel theRec = new RecordModel();
 
         //
         // Record Mode...
         //
-        if ( nodeProperty.theRec.isRecordMode() ) { // ...property is Record based,
+        if ( theParentRec.isRecordMode() ) { // ...property is Record based,
             // ...set to Row Mode and process on current row as set by rowNext()...
-            this.theRec.setMode(nodeProperty, true);
+            theRec.setMode(theParentRec, true);
         }
 
         //
@@ -540,15 +559,12 @@ abstract public class ResourceNode extends Node {
         //
         else {
             // ...process on current row as set by rowNext()...
-            this.theRec.setMode(nodeProperty);
+            theRec.setMode(theParentRec);
         }
 
-        this.createStatementsWorker();
-        this.theRec.clear();
-
         // Return the collected resources from the statement processing as Objects
         // to the given Property...
-        return this.listNodes;
+        return this.createStatementsWorker(theContext, theRec);
     }
 
     abstract protected void writeNode(JsonGenerator writer, boolean isRoot)
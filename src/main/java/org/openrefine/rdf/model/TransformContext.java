@@ -0,0 +1,318 @@
+package org.openrefine.rdf.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.openrefine.rdf.model.utils.RecordModel;
+
+import com.google.refine.expr.Evaluable;
+import com.google.refine.expr.ExpressionUtils;
+import com.google.refine.model.Cell;
+import com.google.refine.model.Column;
+import com.google.refine.model.ColumnModel;
+import com.google.refine.model.Project;
+import com.google.refine.model.Row;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.iri.IRI;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.riot.system.StreamRDF;
+
+/*
+ * Class TransformContext
+ *
+ *  The lightweight, per process evaluation state for a TransformPlan.  A context is used by a single thread
+ *  (a visitor or a preview) and holds the project being processed and the sink receiving the statements.
+ *  The sink is either a stream writer (direct emission) or a stream over a model's graph (see
+ *  StreamRDFLib.graph()).  The row and record position is held by a RecordModel passed along the node tree.
+ *  The context keeps the compiled expressions it has used (see NodeExpression), so the nodes' expressions
+ *  are only looked up in the shared expression cache (see Util.getEvaluable()) once per process and the
+ *  identity expressions read the cell value directly.  The context also holds the
+ *  expression bindings, created once per process and rebound to each evaluated cell, and the cell indices
+ *  of the project's columns, resolved once per column model (see checkColumns()).  When enabled, a pure
+ *  expression's results are memoized by cell value (see NodeExpression).
+ *  A record's rows are evaluated as a batch (see evaluateRange() and createRecordNodes()).
+ */
+public class TransformContext {
+    /*
+     * Interface ResultNodes
+     *
+     *  The per row hook of createRecordNodes(): create a cell node's objects from its expression's
+     *  results on a row.  Return null when there are none.
+     */
+    @FunctionalInterface
+    public interface ResultNodes {
+        List<RDFNode> create(Object results, int iRowIndex);
+    }
+
+    private final TransformPlan thePlan;
+    private final Project theProject;
+    private StreamRDF theSink;
+    private final Map<String, NodeExpression> mapExpressions = new HashMap<String, NodeExpression>();
+    private Properties theBindings = null;
+    private Object[] aResults = new Object[16];
+    private final Map<String, Integer> mapCellIndices = new HashMap<String, Integer>();
+    private List<String> listColumnStamp = null;
+
+    public TransformContext(TransformPlan thePlan, Project theProject, StreamRDF theSink) {
+        this.thePlan = thePlan;
+        this.theProject = theProject;
+        this.theSink = theSink;
+        this.checkColumns();
+    }
+
+    public TransformPlan getPlan() {
+        return this.thePlan;
+    }
+
+    public Project getProject() {
+        return this.theProject;
+    }
+
+    public IRI getBaseIRI() {
+        return this.thePlan.getBaseIRI();
+    }
+
+    public String getNsPrefixURI(String strPrefix) {
+        return this.thePlan.getNsPrefixURI(strPrefix);
+    }
+
+    public String expandPrefix(String strPrefixed) {
+        return this.thePlan.expandPrefix(strPrefixed);
+    }
+
+    public StreamRDF getSink() {
+        return this.theSink;
+    }
+
+    public void setSink(StreamRDF theSink) {
+        this.theSink = theSink;
+    }
+
+    /*
+     * Method getEvaluable()
+     *
+     *      Get the parsed expression for the expression text.
+     */
+    public Evaluable getEvaluable(String strExpression) {
+        NodeExpression theExpression = this.getExpression(strExpression);
+        return ( theExpression == null ? null : theExpression.getEvaluable() );
+    }
+
+    private NodeExpression getExpression(String strExpression) {
+        if ( strExpression == null ) {
+            return null;
+        }
+        NodeExpression theExpression = this.mapExpressions.get(strExpression);
+        if ( theExpression == null ) {
+            // An expression the plan found invalid is not parsed again...
+            if ( this.thePlan.isInvalid(strExpression) ) {
+                theExpression = NodeExpression.invalid(strExpression);
+            }
+            else {
+                theExpression = NodeExpression.compile(strExpression);
+            }
+            this.mapExpressions.put(strExpression, theExpression);
+        }
+        return theExpression;
+    }
+
+    /*
+     * Method evaluate()
+     *
+     *      Evaluate an expression on a row's cell using this context's bindings.  An identity expression
+     *      returns the cell value without any expression processing, so a blank cell is skipped by the
+     *      caller without evaluation.  An invalid expression returns null.
+     */
+    public Object evaluate(String strExpression, String strColumnName, int iRowIndex) {
+        NodeExpression theExpression = this.getExpression(strExpression);
+        if ( theExpression == null || theExpression.getKind() == NodeExpression.Kind.INVALID ) {
+            return null;
+        }
+        return this.evaluate( theExpression, strColumnName, this.getCellIndex(strColumnName), iRowIndex );
+    }
+
+    /*
+     * Method evaluateRange()
+     *
+     *      Evaluate an expression on a column's cells for a contiguous range of rows (a record's rows).
+     *      The expression and cell index are resolved once for the range and the results are returned
+     *      in this context's results array, where result i is for row iFromRow + i.
+     *      NOTE: The array is reused by the next call, so its results must be used before then.
+     */
+    public Object[] evaluateRange(String strExpression, String strColumnName, int iFromRow, int iToRow) {
+        int iCount = Math.max(iToRow - iFromRow, 0);
+        if ( this.aResults.length < iCount ) {
+            this.aResults = new Object[ Math.max(iCount, this.aResults.length * 2) ];
+        }
+        NodeExpression theExpression = this.getExpression(strExpression);
+        if ( theExpression == null || theExpression.getKind() == NodeExpression.Kind.INVALID ) {
+            Arrays.fill(this.aResults, 0, iCount, null);
+            return this.aResults;
+        }
+        int iCellIndex = this.getCellIndex(strColumnName);
+        for (int iIndex = 0; iIndex < iCount; iIndex++) {
+            this.aResults[iIndex] = this.evaluate(theExpression, strColumnName, iCellIndex, iFromRow + iIndex);
+        }
+        return this.aResults;
+    }
+
+    /*
+     * Method createRecordNodes()
+     *
+     *      Create a cell node's objects on a record.  The record's rows are evaluated as a batch (see
+     *      evaluateRange()) and each row's results are given to the node's hook.  Return null when
+     *      there are none.
+     */
+    public List<RDFNode> createRecordNodes(String strExpression, String strColumnName, RecordModel theRec,
+                                            ResultNodes theResultNodes) {
+        int iRowStart = theRec.rowStart();
+        int iRowEnd = theRec.rowEnd();
+        Object[] aResults = this.evaluateRange(strExpression, strColumnName, iRowStart, iRowEnd);
+
+        List<RDFNode> listObjects = new ArrayList<RDFNode>();
+        for (int iRowIndex = iRowStart; iRowIndex < iRowEnd; iRowIndex++) {
+            List<RDFNode> listNodes = theResultNodes.create( aResults[iRowIndex - iRowStart], iRowIndex );
+            if ( listNodes != null ) {
+                listObjects.addAll(listNodes);
+            }
+        }
+        if ( listObjects.isEmpty() ) {
+            listObjects = null;
+        }
+
+        return listObjects;
+    }
+
+    private Object evaluate(NodeExpression theExpression, String strColumnName, int iCellIndex, int iRowIndex) {
+        // Read the identity's value directly...
+        if ( theExpression.getKind() == NodeExpression.Kind.IDENTITY ||
+             theExpression.getKind() == NodeExpression.Kind.TO_STRING ) {
+            Object theValue = this.getCellValue(iCellIndex, iRowIndex);
+            if ( theExpression.isDirect(theValue) ) {
+                return theValue;
+            }
+        }
+
+        // Recall a memoized result for a column's cell value...
+        //      NOTE: A row or record index value is unique, so it is never memoized.
+        Object theValue = null;
+        boolean bMemo = ( iCellIndex >= 0 && theExpression.isMemoized() );
+        if (bMemo) {
+            theValue = this.getCellValue(iCellIndex, iRowIndex);
+            Object theResult = theExpression.recall(theValue);
+            if ( theResult != NodeExpression.NONE ) {
+                return theResult;
+            }
+        }
+
+        if ( this.theBindings == null ) {
+            this.theBindings = ExpressionUtils.createBindings(this.theProject);
+        }
+        Object theResult =
+            Util.evaluateExpression( this.theProject, this.theBindings, theExpression.getEvaluable(),
+                                        strColumnName, iCellIndex, iRowIndex );
+        if (bMemo) {
+            theExpression.remember(theValue, theResult);
+        }
+        return theResult;
+    }
+
+    /*
+     * Method getMemoHits()
+     *
+     *      Get the number of evaluations answered by the expression memos.
+     */
+    public long getMemoHits() {
+        long lHits = 0;
+        for ( NodeExpression theExpression : this.mapExpressions.values() ) {
+            lHits += theExpression.getHits();
+        }
+        return lHits;
+    }
+
+    /*
+     * Method getMemoMisses()
+     *
+     *      Get the number of memoized expression evaluations not found in the expression memos.
+     */
+    public long getMemoMisses() {
+        long lMisses = 0;
+        for ( NodeExpression theExpression : this.mapExpressions.values() ) {
+            lMisses += theExpression.getMisses();
+        }
+        return lMisses;
+    }
+
+    /*
+     * Method getCellValue()
+     *
+     *      Get the value an expression sees as "value": the cell's value or, for no column (row / record
+     *      index) or no row, the row index.  See Util.evaluateExpression().
+     */
+    private Object getCellValue(int iCellIndex, int iRowIndex) {
+        Row theRow = null;
+        if ( iRowIndex >= 0 && iRowIndex < this.theProject.rows.size() ) {
+            theRow = this.theProject.rows.get(iRowIndex);
+        }
+        if ( iCellIndex >= 0 && theRow != null ) {
+            Cell theCell = theRow.getCell(iCellIndex);
+            return ( theCell == null ? null : theCell.value );
+        }
+        return iRowIndex;
+    }
+
+    /*
+     * Method getCellIndex()
+     *
+     *      Get the cell index of the named column, or -1 for no column name (row / record index) or an
+     *      unknown column.
+     */
+    public int getCellIndex(String strColumnName) {
+        if (strColumnName == null) {
+            return -1;
+        }
+        Integer iCellIndex = this.mapCellIndices.get(strColumnName);
+        return ( iCellIndex == null ? -1 : iCellIndex );
+    }
+
+    /*
+     * Method checkColumns()
+     *
+     *      Resolve the cell indices of the project's columns when the column model has changed since they
+     *      were last resolved.  The column model replaces its column name list on every change, so the
+     *      list serves as a change stamp.  Called once per visit, rather than once per cell, as the
+     *      column model's lookups are synchronized.
+     */
+    public void checkColumns() {
+        // A plan resolves its constants with a context without a project (see TransformPlan)...
+        if (this.theProject == null) {
+            return;
+        }
+        ColumnModel theColumnModel = this.theProject.columnModel;
+        synchronized (theColumnModel) {
+            List<String> listStamp = theColumnModel.getColumnNames();
+            if ( listStamp == this.listColumnStamp ) {
+                return;
+            }
+            this.mapCellIndices.clear();
+            for ( Column theColumn : theColumnModel.columns ) {
+                this.mapCellIndices.put( theColumn.getName(), theColumn.getCellIndex() );
+            }
+            this.listColumnStamp = listStamp;
+        }
+    }
+
+    /*
+     * Method addStatement()
+     *
+     *      Emit a (source, property, object) statement to the sink as a graph level triple.
+     */
+    public void addStatement(RDFNode theSource, RDFNode theProperty, RDFNode theObject) {
+        this.theSink.triple( Triple.create( theSource.asNode(), theProperty.asNode(), theObject.asNode() ) );
+    }
+}
@@ -0,0 +1,252 @@
+package org.openrefine.rdf.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openrefine.rdf.model.vocab.Vocabulary;
+
+import org.apache.jena.datatypes.RDFDatatype;
+import org.apache.jena.iri.IRI;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.impl.PropertyImpl;
+import org.apache.jena.shared.PrefixMapping;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Class TransformPlan
+ *
+ *  The compiled, immutable form of an RDF Transform used to process rows and records.  A plan holds the
+ *  Base IRI, the namespace prefix mapping, and the root nodes as they were when the plan was compiled.
+ *  The nodes hold no evaluation state, so a plan may be shared by any number of concurrent exports and
+ *  previews.  Each process evaluates the plan using its own TransformContext.
+ *
+ *  A plan is compiled by RDFTransform.getPlan() and replaced whenever the transform changes.
+ *
+ *  When compiled, the expressions of the cell nodes are validated once.  A node with an expression that
+ *  does not parse is disabled: the error is logged once, recorded as a problem (see getProblems()), and
+ *  the contexts evaluate the expression to nothing without parsing it again (see isInvalid()).
+ *
+ *  The constants of the nodes are resolved when compiled as well: the types, the properties, the literal
+ *  datatypes, and the constant resources.  Their IRIs are resolved once, with any bad IRI logged once,
+ *  and the rows and records reuse the resolved resources (and their Jena nodes).  The resolved constants
+ *  are keyed by node identity and never change, so they are read without locking.
+ */
+public final class TransformPlan {
+    static private final Logger logger = LoggerFactory.getLogger("RDFT:TransformPlan");
+
+    private final IRI baseIRI;
+    private final PrefixMapping thePrefixes;
+    private final List<ResourceNode> listRoots;
+    private final Map<String, String> mapInvalid = new HashMap<String, String>();
+    private final List<String> listProblems = new ArrayList<String>();
+    private final Map<ResourceNode, List<RDFNode>> mapTypes = new IdentityHashMap<ResourceNode, List<RDFNode>>();
+    private final Map<Property, PropertyImpl> mapProperties = new IdentityHashMap<Property, PropertyImpl>();
+    private final Map<ConstantResourceNode, List<RDFNode>> mapConstants =
+        new IdentityHashMap<ConstantResourceNode, List<RDFNode>>();
+    private final Map<ConstantResourceNode, RDFDatatype> mapDatatypes =
+        new IdentityHashMap<ConstantResourceNode, RDFDatatype>();
+
+    public TransformPlan(IRI baseIRI, Collection<Vocabulary> theNamespaces, List<ResourceNode> listRoots) {
+        this.baseIRI = baseIRI;
+
+        //
+        // Populate the namespace prefixes...
+        //
+        PrefixMapping thePrefixes = PrefixMapping.Factory.create();
+        String strBaseIRI = ( baseIRI == null ? "" : baseIRI.toString() );
+
+        // Check for the BaseIRI (default namespace) in the Prefixed Namespaces...
+        boolean bUseBaseIRI = true; // ...default: use the BaseIRI
+        if (theNamespaces != null) {
+            for (Vocabulary vocab : theNamespaces) {
+                // If the BaseIRI is in the Prefixed Namespace...
+                if ( vocab.getNamespace().equals(strBaseIRI) ) {
+                    bUseBaseIRI = false; // ...don't use the BaseIRI!
+                    break;
+                }
+            }
+        }
+
+        // Set Default Namespace...
+        if ( bUseBaseIRI && ! strBaseIRI.isEmpty() ) {
+            if ( Util.isDebugMode() ) TransformPlan.logger.info("DEBUG: Using BaseIRI " + strBaseIRI);
+            thePrefixes.setNsPrefix("", strBaseIRI); // ...default namespace
+        }
+        else {
+            if ( Util.isDebugMode() ) TransformPlan.logger.info("DEBUG: Not using BaseIRI");
+        }
+
+        // Set Prefix Namespaces...
+        if (theNamespaces != null) {
+            for (Vocabulary vocab : theNamespaces) {
+                thePrefixes.setNsPrefix( vocab.getPrefix(), vocab.getNamespace() );
+            }
+        }
+        thePrefixes.lock();
+        this.thePrefixes = thePrefixes;
+
+        //
+        // Capture the root nodes...
+        //
+        if (listRoots == null) {
+            this.listRoots = Collections.emptyList();
+        }
+        else {
+            this.listRoots = Collections.unmodifiableList( new ArrayList<ResourceNode>(listRoots) );
+        }
+
+        //
+        // Validate the node expressions and resolve the node constants...
+        //
+        TransformContext theContext = new TransformContext(this, null, null);
+        for ( ResourceNode theRoot : this.listRoots ) {
+            this.compile(theRoot, theContext);
+        }
+
+        if ( Util.isDebugMode() ) TransformPlan.logger.info("DEBUG: Compiled plan with " + this.listRoots.size() + " root nodes");
+    }
+
+    /*
+     * Method compile()
+     *
+     *      Validate a node's expression and resolve its constants, then compile its property objects.
+     */
+    private void compile(Node theNode, TransformContext theContext) {
+        if (theNode == null) {
+            return;
+        }
+        this.validate(theNode);
+        if (theNode instanceof LiteralNode) {
+            ConstantResourceNode nodeDatatype = ( (LiteralNode) theNode ).nodeDatatype;
+            if (nodeDatatype != null) {
+                this.mapDatatypes.put( nodeDatatype, LiteralNode.resolveDatatype(theContext, nodeDatatype) );
+            }
+        }
+        if (theNode instanceof ResourceNode) {
+            ResourceNode theResource = (ResourceNode) theNode;
+            if (theNode instanceof ConstantResourceNode) {
+                ConstantResourceNode theConstant = (ConstantResourceNode) theNode;
+                this.mapConstants.put( theConstant, theConstant.resolveResources(theContext) );
+            }
+            this.mapTypes.put( theResource, theResource.resolveTypes(theContext) );
+            for ( Property theProperty : theResource.getProperties() ) {
+                this.mapProperties.put( theProperty, ResourceNode.resolveProperty(theContext, theProperty) );
+                this.compile( theProperty.getObject(), theContext );
+            }
+        }
+    }
+
+    /*
+     * Method validate()
+     *
+     *      Validate the expression of a cell node.
+     */
+    private void validate(Node theNode) {
+        if ( theNode instanceof CellNode && theNode.strExpression != null ) {
+            String strExpression = theNode.strExpression;
+            String strError = this.mapInvalid.get(strExpression);
+            if ( strError == null && ! this.mapInvalid.containsKey(strExpression) ) {
+                strError = NodeExpression.validate(strExpression);
+                this.mapInvalid.put(strExpression, strError);
+            }
+            if (strError != null) {
+                String strProblem =
+                    "Invalid expression on " + theNode.getNodeName() + ": " + strError + " (node disabled)";
+                TransformPlan.logger.error("ERROR: " + strProblem);
+                this.listProblems.add(strProblem);
+            }
+        }
+    }
+
+    public IRI getBaseIRI() {
+        return this.baseIRI;
+    }
+
+    public PrefixMapping getPrefixes() {
+        return this.thePrefixes;
+    }
+
+    public String getNsPrefixURI(String strPrefix) {
+        return this.thePrefixes.getNsPrefixURI(strPrefix);
+    }
+
+    public String expandPrefix(String strPrefixed) {
+        return this.thePrefixes.expandPrefix(strPrefixed);
+    }
+
+    public List<ResourceNode> getRoots() {
+        return this.listRoots;
+    }
+
+    /*
+     * Method isInvalid()
+     *
+     *      Is the expression one that failed validation?
+     */
+    public boolean isInvalid(String strExpression) {
+        return ( this.mapInvalid.get(strExpression) != null );
+    }
+
+    /*
+     * Method getTypes()
+     *
+     *      Get the resolved types of a resource node.  A node not held by the plan is resolved on use.
+     */
+    List<RDFNode> getTypes(ResourceNode theNode, TransformContext theContext) {
+        List<RDFNode> listTypes = this.mapTypes.get(theNode);
+        return ( listTypes == null ? theNode.resolveTypes(theContext) : listTypes );
+    }
+
+    /*
+     * Method getProperty()
+     *
+     *      Get the resolved property, or null when it has a bad IRI.  A property not held by the plan is
+     *      resolved on use.
+     */
+    PropertyImpl getProperty(Property theProperty, TransformContext theContext) {
+        if ( this.mapProperties.containsKey(theProperty) ) {
+            return this.mapProperties.get(theProperty);
+        }
+        return ResourceNode.resolveProperty(theContext, theProperty);
+    }
+
+    /*
+     * Method getConstantResources()
+     *
+     *      Get the resolved resource of a constant resource node, or null when it has no or a bad IRI.
+     *      A node not held by the plan is resolved on use.
+     */
+    List<RDFNode> getConstantResources(ConstantResourceNode theNode, TransformContext theContext) {
+        if ( this.mapConstants.containsKey(theNode) ) {
+            return this.mapConstants.get(theNode);
+        }
+        return theNode.resolveResources(theContext);
+    }
+
+    /*
+     * Method getDatatype()
+     *
+     *      Get the resolved datatype of a literal node's datatype node.  A node not held by the plan is
+     *      resolved on use.
+     */
+    RDFDatatype getDatatype(ConstantResourceNode nodeDatatype, TransformContext theContext) {
+        RDFDatatype theDatatype = this.mapDatatypes.get(nodeDatatype);
+        return ( theDatatype == null ? LiteralNode.resolveDatatype(theContext, nodeDatatype) : theDatatype );
+    }
+
+    /*
+     * Method getProblems()
+     *
+     *      Get the problems found when compiling the plan: one entry per disabled node.
+     */
+    public List<String> getProblems() {
+        return Collections.unmodifiableList(this.listProblems);
+    }
+}
@@ -5,11 +5,14 @@ import com.google.refine.expr.ExpressionUtils;
 import com.google.refine.expr.MetaParser;
 import com.google.refine.expr.ParsingException;
 import com.google.refine.model.Cell;
+import com.google.refine.model.Column;
 import com.google.refine.model.Project;
 import com.google.refine.model.Row;
 import com.google.refine.preference.PreferenceStore;
 import com.google.refine.ProjectManager;
 
+import org.openrefine.rdf.model.utils.IRICache;
+import org.openrefine.rdf.model.utils.SimpleIRIValidator;
 import org.apache.jena.iri.IRI;
 import org.apache.jena.iri.IRIFactory;
 import org.apache.jena.iri.IRIException;
@@ -17,7 +20,9 @@ import org.apache.jena.irix.SetupJenaIRI;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -163,6 +168,18 @@ public class Util {
             // Settable by OpenRefine Preferences...
             put("iVerbosity", 0);
             put("iExportLimit", 10737418);
+            put("iExportThreads", 1);
+            put("bExportDirect", false);
+            put("bExportPipeline", false);
+            put("bExportDedup", false);
+            put("iExportDedupSize", 0);
+            put("bExportDedupOffHeap", false);
+            put("iExportSortMemory", 64);
+            put("iExportSplitTriples", 1000000);
+            put("iExportSplitSize", 0);
+            put("iExportCheckpoint", 30);
+            put("iExportMemo", 0);
+            put("iIRICacheSize", 65536);
             put("bPreviewStream", false);
             put("bDebugMode", false);
             put("bDebugJSON", false);
@@ -170,6 +187,49 @@ public class Util {
             put("iSampleLimit", 20);
         }};
 
+    // Parsed Expressions (see getEvaluable())...
+    static private final int iEvaluableCacheSize = 1024;
+    static private final Map<String, Evaluable> mapEvaluables =
+        Collections.synchronizedMap(
+            new LinkedHashMap<String, Evaluable>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Evaluable> theEldest) {
+                    return ( this.size() > Util.iEvaluableCacheSize );
+                }
+            } );
+    // Serializes the parsing and evaluation of other language (Jython, Clojure) expressions...
+    static private final Object objLanguageLock = new Object();
+
+    /*
+     * Class LanguageEvaluable
+     *
+     *  A parsed expression in another language (Jython, Clojure).  The language's interpreter and the
+     *  compiled expression are shared by all threads and are not thread safe, so the parallel export
+     *  workers and previews take turns evaluating them.  GREL expressions are evaluated concurrently.
+     */
+    static private class LanguageEvaluable implements Evaluable {
+        private final Evaluable theEvaluable;
+
+        private LanguageEvaluable(Evaluable theEvaluable) {
+            this.theEvaluable = theEvaluable;
+        }
+
+        @Override
+        public Object evaluate(Properties theBindings) {
+            synchronized (Util.objLanguageLock) {
+                return this.theEvaluable.evaluate(theBindings);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return this.theEvaluable.toString();
+        }
+    }
+
+    // Resolved IRIs (see resolveIRI())...
+    static private volatile IRICache theIRICache = new IRICache( Util.getIRICacheSize() );
+
 //
 // PCRE IRI Resolution -----
 //
@@ -181,29 +241,69 @@ public class Util {
         }
     }
 
+    /*
+     * Method resolveIRI()
+     *
+     *      Resolve the IRI, against the base IRI when relative, to an absolute IRI.  The resolutions are
+     *      cached (see getIRICache()), so a repeated IRI is parsed once.  A malformed IRI's failure is
+     *      cached as well: it is logged when first resolved and only thrown when repeated.
+     */
     static public String resolveIRI(IRI baseIRI, String strIRI) throws IRIParsingException {
         String strResolveIRI = "resolveIRI: ";
-        String strError = "ERROR: " + strResolveIRI;
-        String strErrMsg = null;
-        String strAbsoluteIRI = null;
-        String strDEBUG = "DEBUG: " + strResolveIRI;
 
         // No IRI is not a problem (there is just nothing to resolve)...
         if (strIRI == null || strIRI.length() == 0) {
-            if ( Util.isDebugMode() ) Util.logger.info(strDEBUG + "No IRI");
-            return strAbsoluteIRI;
+            if ( Util.isDebugMode() ) Util.logger.info("DEBUG: " + strResolveIRI + "No IRI");
+            return null;
         }
 
-        // Create Absolute IRI without Base IRI...
-        try {
-            IRI absoluteIRI = Util.iriFactory.construct(strIRI);
-            if ( absoluteIRI.isAbsolute() ) {
-                strAbsoluteIRI = absoluteIRI.toString();
+        IRICache theCache = Util.theIRICache;
+        IRICache.Resolution theResolution = null;
+        if (theCache != null) {
+            String strBase = ( baseIRI == null ? "" : baseIRI.toString() );
+            theResolution = theCache.get(strBase, strIRI);
+            if (theResolution == null) {
+                theResolution = Util.resolve(baseIRI, strIRI);
+                theCache.put(strBase, strIRI, theResolution);
             }
         }
-        catch (IRIException ex) {
-            strErrMsg = ex.getMessage();
-            // ...continue in case we can resolve as a Relative IRI...
+        else {
+            theResolution = Util.resolve(baseIRI, strIRI);
+        }
+
+        if ( theResolution.getAbsoluteIRI() == null && theResolution.getErrorMessage() != null ) {
+            throw new Util.IRIParsingException( strResolveIRI + theResolution.getErrorMessage() );
+        }
+        return theResolution.getAbsoluteIRI();
+    }
+
+    /*
+     * Method resolve()
+     *
+     *      Resolve a (non-empty) IRI without the cache.
+     */
+    static private IRICache.Resolution resolve(IRI baseIRI, String strIRI) {
+        String strResolveIRI = "resolveIRI: ";
+        String strError = "ERROR: " + strResolveIRI;
+        String strErrMsg = null;
+        String strAbsoluteIRI = null;
+        String strDEBUG = "DEBUG: " + strResolveIRI;
+
+        // Create Absolute IRI without Base IRI...
+        if ( SimpleIRIValidator.isSimpleAbsolute(strIRI) ) {
+            strAbsoluteIRI = strIRI; // ...a common absolute IRI: no need for the full checker
+        }
+        else {
+            try {
+                IRI absoluteIRI = Util.iriFactory.construct(strIRI);
+                if ( absoluteIRI.isAbsolute() ) {
+                    strAbsoluteIRI = absoluteIRI.toString();
+                }
+            }
+            catch (IRIException ex) {
+                strErrMsg = ex.getMessage();
+                // ...continue in case we can resolve as a Relative IRI...
+            }
         }
 
         // Not an Absolute IRI?
@@ -243,10 +343,19 @@ public class Util {
 
         if (strAbsoluteIRI == null && strErrMsg != null) {
             Util.logger.error(strError + "Malformed IRI [" + strIRI + "] : " + strErrMsg);
-            throw new Util.IRIParsingException(strResolveIRI + strErrMsg);
         }
 
-        return strAbsoluteIRI;
+        return new IRICache.Resolution(strAbsoluteIRI, strErrMsg);
+    }
+
+    /*
+     * Method getIRICache()
+     *
+     *      Get the IRI resolution cache, or null when disabled (see getIRICacheSize()).  Its hits,
+     *      misses, and size are reported by the export processes.
+     */
+    static public IRICache getIRICache() {
+        return Util.theIRICache;
     }
 
     static public int findLocalPartIndex(String strIRI) {
@@ -406,36 +515,144 @@ public class Util {
         return iriNew;
     }
 
+    /*
+     * Method getEvaluable()
+     *
+     *      Get the parsed expression for the expression text.  The parsed expressions are held in a
+     *      bounded, least recently used cache shared by all exports and previews, so an expression is
+     *      parsed once rather than once per cell.  Expressions that fail to parse are not cached.
+     *      An expression in another language (see getExpressionLanguage()) is parsed under a lock:
+     *      its interpreter is shared by all threads and its setup is costly, so the export workers
+     *      wait on the first parse and then share its compiled expression.  As the interpreter and the
+     *      compiled expression are not thread safe, its evaluation is serialized as well (see
+     *      LanguageEvaluable).
+     */
+    static public Evaluable getEvaluable(String strExpression)
+            throws ParsingException {
+        if ( strExpression == null ) {
+            return null;
+        }
+        Evaluable eval = Util.mapEvaluables.get(strExpression);
+        if ( eval == null ) {
+            if ( Util.getExpressionLanguage(strExpression).equals(Util.gstrGREL) ) {
+                eval = Util.parseEvaluable(strExpression);
+            }
+            else {
+                synchronized (Util.objLanguageLock) {
+                    eval = Util.mapEvaluables.get(strExpression);
+                    if ( eval == null ) {
+                        eval = Util.parseEvaluable(strExpression);
+                    }
+                }
+            }
+        }
+        return eval;
+    }
+
+    /*
+     * Method parseEvaluable()
+     *
+     *      Parse the expression text without looking in the parsed expression cache and cache the
+     *      result (see getEvaluable()).  Used where the parse itself is measured (see
+     *      PreviewRDFTExpressionCommand).
+     */
+    static public Evaluable parseEvaluable(String strExpression)
+            throws ParsingException {
+        Evaluable eval;
+        if ( Util.getExpressionLanguage(strExpression).equals(Util.gstrGREL) ) {
+            eval = MetaParser.parse(strExpression);
+        }
+        else {
+            synchronized (Util.objLanguageLock) {
+                if ( Util.isVerbose(3) || Util.isDebugMode() ) Util.logger.info("Parsing expression: " + strExpression);
+                eval = new LanguageEvaluable( MetaParser.parse(strExpression) );
+            }
+        }
+        Util.mapEvaluables.put(strExpression, eval);
+        return eval;
+    }
+
+    /*
+     * Method getExpressionLanguage()
+     *
+     *      Get the language of the expression text: the registered language prefix ("jython:",
+     *      "clojure:", ...) of the text, if any, as used by MetaParser.parse().  Otherwise, GREL.
+     */
+    static public String getExpressionLanguage(String strExpression) {
+        int iColon = strExpression.indexOf(':');
+        if ( iColon > 0 ) {
+            String strLanguage = strExpression.substring(0, iColon).trim();
+            if ( MetaParser.getLanguagePrefixes().contains(strLanguage) ) {
+                return strLanguage;
+            }
+        }
+        return Util.gstrGREL;
+    }
+
     static public Object evaluateExpression(Project theProject, String strExpression, String strColumnName, int iRowIndex)
             throws ParsingException {
+        if ( strExpression == null ) {
+            return null;
+        }
+
+        return Util.evaluateExpression( theProject, Util.getEvaluable(strExpression), strColumnName, iRowIndex );
+    }
+
+    static public Object evaluateExpression(Project theProject, Evaluable theEvaluable, String strColumnName, int iRowIndex) {
+        if ( theEvaluable == null ) {
+            return null;
+        }
+
+        // Create a bindings property for this expression...
+        Properties theBindings = ExpressionUtils.createBindings(theProject);
+
+        return Util.evaluateExpression( theProject, theBindings, theEvaluable,
+                                        strColumnName, Util.getCellIndex(theProject, strColumnName), iRowIndex );
+    }
+
+    /*
+     * Method getCellIndex()
+     *
+     *      Get the cell index of the named column, or -1 for no column name (row / record index) or an
+     *      unknown column.
+     */
+    static public int getCellIndex(Project theProject, String strColumnName) {
+        // If a regular column (not a row/record index column)...
+        if ( ! ( strColumnName == null || strColumnName.isEmpty() ) ) {
+            Column theColumn = theProject.columnModel.getColumnByName(strColumnName);
+            if (theColumn != null) {
+                return theColumn.getCellIndex();
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * Method evaluateExpression()
+     *
+     *      Evaluate the parsed expression on a cell using the given bindings.  The bindings are created
+     *      once, by ExpressionUtils.createBindings(), for a process (an export worker or a preview) and
+     *      rebound to each cell here, which avoids running every registered binder's setup per cell.
+     *      The cell index of the named column is resolved by the caller (see getCellIndex()).
+     */
+    static public Object evaluateExpression(Project theProject, Properties theBindings, Evaluable theEvaluable,
+                                                String strColumnName, int iCellIndex, int iRowIndex) {
         //
         // Evaluate the expression on the cell and return results...
         //   NOTE: Here is where we tie the RDF Transform model to the data.
         //
         if ( Util.isDebugMode() ) {
             Util.logger.info("DEBUG: evaluateExpression: " +
-                                "Exp: [" + strExpression + "] " +
+                                "Exp: [" + theEvaluable  + "] " +
                                 "Col: [" + strColumnName + "] " +
                                 "Row: [" + iRowIndex     + "]");
         }
 
         //
-        if ( strExpression == null ) {
+        if ( theEvaluable == null ) {
             return null;
         }
 
-        // Select the column reference (er, cell index) by given name...
-        int theColumn = -1;
-        // If a regular column (not a row/record index column)...
-        if ( ! ( strColumnName == null || strColumnName.isEmpty() ) ) {
-            try {
-                theColumn = theProject.columnModel.getColumnByName(strColumnName).getCellIndex();
-            }
-            catch (ClassCastException | NullPointerException ex) {
-                // Let it be -1...continue...
-            }
-        }
-
         // Select the row by given row index...
         Row theRow = null;
         try {
@@ -447,25 +664,24 @@ public class Util {
 
         // Select the data cell by row and column...
         Cell theCell = null;
-        if (theColumn >= 0 && theRow != null) { // ...for a valid column and row...
-            theCell = theRow.getCell(theColumn); // ...get the cell
+        if (iCellIndex >= 0 && theRow != null) { // ...for a valid column and row...
+            theCell = theRow.getCell(iCellIndex); // ...get the cell
         }
         // Otherwise, create a pseudo-cell...
         else {
             theCell = new Cell(iRowIndex, null);
         }
 
-        // Create a bindings property for this expression...
-        Properties bindings = ExpressionUtils.createBindings(theProject);
-
         // Bind the cell for expression evaluation...
-        ExpressionUtils.bind(bindings, theRow, iRowIndex, strColumnName, theCell);
-
-        // Create an evaluator for this expression...
-        Evaluable eval = MetaParser.parse(strExpression);
+        //      NOTE: bind() does not remove an earlier column name, so it is removed here
+        //          for reused bindings.
+        if ( strColumnName == null ) {
+            theBindings.remove("columnName");
+        }
+        ExpressionUtils.bind(theBindings, theRow, iRowIndex, strColumnName, theCell);
 
         // Evaluate the expression on the cell for results...
-        return eval.evaluate(bindings);
+        return theEvaluable.evaluate(theBindings);
     }
 
     static public boolean isVerbose() {
@@ -484,6 +700,109 @@ public class Util {
         return (int) Util.Preferences.get("iExportLimit");
     }
 
+    //
+    // Export Threads:
+    //
+    // The number of worker threads used to transform data for a stream export.
+    // NOTE: When set to 1 or less, the export is processed sequentially.
+    //
+    static public int getExportThreads() {
+        return (int) Util.Preferences.get("iExportThreads");
+    }
+
+    //
+    // Export Direct:
+    //
+    // The stream export preference: Direct or Model.
+    // NOTE: When set to true, statements are written directly to the stream writer.
+    //
+    static public boolean isExportDirect() {
+        return (boolean) Util.Preferences.get("bExportDirect");
+    }
+
+    //
+    // Export Pipeline:
+    //
+    // The stream export preference: serialize on a separate thread or not.
+    // NOTE: When set to true, the writer runs on a dedicated serializer thread.
+    //
+    static public boolean isExportPipeline() {
+        return (boolean) Util.Preferences.get("bExportPipeline");
+    }
+
+    //
+    // Export Dedup:
+    //
+    // The stream export preference: drop duplicate statements or not.
+    // NOTE: The dedup size is the number of statement fingerprints held.  When set to 0, all are held.
+    //       The fingerprints may be held off heap.
+    //
+    static public boolean isExportDedup() {
+        return (boolean) Util.Preferences.get("bExportDedup");
+    }
+
+    static public int getExportDedupSize() {
+        return (int) Util.Preferences.get("iExportDedupSize");
+    }
+
+    static public boolean isExportDedupOffHeap() {
+        return (boolean) Util.Preferences.get("bExportDedupOffHeap");
+    }
+
+    //
+    // Export Sort Memory:
+    //
+    // The memory budget (in megabytes) used to sort statements for a sorted export.
+    // NOTE: When exceeded, the sorted statements are spilled to disk.
+    //
+    static public int getExportSortMemory() {
+        return (int) Util.Preferences.get("iExportSortMemory");
+    }
+
+    //
+    // Export Split Limits:
+    //
+    // The statement count and size (in megabytes) limits of each part of a split export.
+    // NOTE: When set to 0, the limit is not used.
+    //
+    static public int getExportSplitTriples() {
+        return (int) Util.Preferences.get("iExportSplitTriples");
+    }
+
+    static public int getExportSplitSize() {
+        return (int) Util.Preferences.get("iExportSplitSize");
+    }
+
+    //
+    // Export Checkpoint:
+    //
+    // The interval, in seconds, between the checkpoints of a background export job.
+    // NOTE: A checkpoint is only taken on a row or record boundary.
+    //
+    static public int getExportCheckpoint() {
+        return (int) Util.Preferences.get("iExportCheckpoint");
+    }
+
+    //
+    // Export Memo:
+    //
+    // The number of results memoized, by cell value, for each pure expression (see NodeExpression).
+    // NOTE: When set to 0, the results are not memoized.
+    //
+    static public int getExportMemo() {
+        return (int) Util.Preferences.get("iExportMemo");
+    }
+
+    //
+    // IRI Cache Size:
+    //
+    // The number of IRI resolutions cached (see resolveIRI()).
+    // NOTE: When set to 0, the resolutions are not cached.
+    //
+    static public int getIRICacheSize() {
+        return (int) Util.Preferences.get("iIRICacheSize");
+    }
+
     //
     // Preview Stream:
     //
@@ -549,6 +868,18 @@ public class Util {
         return strPrefs;
     }
 
+    //
+    // Set a preference directly...
+    //      NOTE: Used by tests.  The value must have the type of the named preference
+    //          (see Util's Preferences variable).
+    //
+    static void setPreference(String strName, Object objValue) {
+        if ( ! Util.Preferences.containsKey(strName) ) {
+            throw new IllegalArgumentException("Unknown preference: " + strName);
+        }
+        Util.Preferences.put(strName, objValue);
+    }
+
     static public void setPreferencesByPreferenceStore() {
         Util.logger.info("Getting Preferences from Preference Store...");
 
@@ -608,6 +939,198 @@ public class Util {
             }
         }
 
+        //
+        // Set Export Threads...
+        //
+        // The Export Threads (iExportThreads) is used to manage the number of worker threads
+        // that transform the data partitions for a stream export.  The default is 1, which uses
+        // the sequential exporter.  A setting greater than 1 uses the parallel exporter: the
+        // number of processors available to the JVM is a good choice.
+        //
+        obj = prefStore.get("RDFTransform.exportThreads");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportThreads", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Export Direct Mode...
+        //
+        // The Export Direct Mode (bExportDirect) is used to manage how a stream export collects the
+        // statements.  When true, the statements are written directly to the stream writer as they are
+        // created.  When false, the statements are collected in an intermediate model and flushed per
+        // row or record, which removes any duplicate statements within the row or record.  The default
+        // is false, so the output matches earlier releases.  Direct mode is faster but may write
+        // duplicate statements and orders the statements of a row or record as created.
+        //
+        obj = prefStore.get("RDFTransform.exportDirect");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("bExportDirect", Boolean.parseBoolean( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Export Pipeline Mode...
+        //
+        // The Export Pipeline Mode (bExportPipeline) is used to manage where a stream export serializes
+        // the statements.  When true, the statements are passed in batches through a bounded queue to a
+        // dedicated serializer thread, so the transform and the serialization overlap.  The default is
+        // false.  True is worthwhile when more than one processor is available to the JVM.
+        //
+        obj = prefStore.get("RDFTransform.exportPipeline");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("bExportPipeline", Boolean.parseBoolean( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Export Dedup Mode...
+        //
+        // The Export Dedup Mode (bExportDedup) is used to manage duplicate statements in a stream export.
+        // When true, a statement already written is dropped.  The Export Dedup Size (iExportDedupSize)
+        // limits the memory used: 0 holds a fingerprint for every statement written (until the table
+        // reaches its largest size, then continues as if bounded), a positive size holds that many
+        // recent fingerprints (so some duplicates may be written).  The Export Dedup Off Heap
+        // (bExportDedupOffHeap) holds the fingerprints in direct memory outside the Java heap.
+        //
+        obj = prefStore.get("RDFTransform.exportDedup");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("bExportDedup", Boolean.parseBoolean( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+        obj = prefStore.get("RDFTransform.exportDedupSize");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportDedupSize", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+        obj = prefStore.get("RDFTransform.exportDedupOffHeap");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("bExportDedupOffHeap", Boolean.parseBoolean( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Export Sort Memory...
+        //
+        // The Export Sort Memory (iExportSortMemory) is used to manage the memory, in megabytes, used
+        // by a sorted export to hold statements.  When the held statements exceed it, they are sorted
+        // and spilled to a disk file, so the memory use stays bounded regardless of the graph size.
+        //
+        obj = prefStore.get("RDFTransform.exportSortMemory");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportSortMemory", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Export Split Limits...
+        //
+        // The Export Split Triples (iExportSplitTriples) and Export Split Size (iExportSplitSize, in
+        // megabytes) are used to manage the parts of a split export.  A new part is started at the
+        // next row or record once the current part reaches either limit.  A limit of 0 is not used.
+        //
+        obj = prefStore.get("RDFTransform.exportSplitTriples");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportSplitTriples", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+        obj = prefStore.get("RDFTransform.exportSplitSize");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportSplitSize", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Export Checkpoint...
+        //
+        // The Export Checkpoint (iExportCheckpoint) is used to manage the interval, in seconds, between
+        // the checkpoints of a background export job.  A resumed job repeats at most this interval.
+        //
+        obj = prefStore.get("RDFTransform.exportCheckpoint");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportCheckpoint", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Export Memo...
+        //
+        // The Export Memo (iExportMemo) is used to manage the number of results memoized for each pure
+        // expression, keyed by cell value.  It pays for low cardinality columns (codes, categories).
+        //
+        obj = prefStore.get("RDFTransform.exportMemo");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportMemo", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set IRI Cache Size...
+        //
+        // The IRI Cache Size (iIRICacheSize) is used to manage the number of IRI resolutions cached.  The
+        // cache is replaced when its size changes.
+        //
+        obj = prefStore.get("RDFTransform.iriCacheSize");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iIRICacheSize", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+        int iIRICacheSize = Util.getIRICacheSize();
+        if (iIRICacheSize <= 0) {
+            Util.theIRICache = null;
+        }
+        else if ( Util.theIRICache == null || Util.theIRICache.getCapacity() != iIRICacheSize ) {
+            Util.theIRICache = new IRICache(iIRICacheSize);
+        }
+
         //
         // Set Preview Stream Mode...
         //
@@ -673,19 +1196,106 @@ public class Util {
         return strUTF16;
     }
 
+    /*
+     * Method isWhitespace()
+     *
+     *      Is the code point one of the WHITESPACE class: U+C2A0, \p{C} (other), or \p{Z} (separator)?
+     *      The categories are those of the regular expression classes, so a lone surrogate is other.
+     */
+    static private boolean isWhitespace(int iCodePoint) {
+        if (iCodePoint < 0x80) { // ...ASCII: controls and space
+            return ( iCodePoint <= 0x20 || iCodePoint == 0x7F );
+        }
+        if (iCodePoint == 0xC2A0) {
+            return true;
+        }
+        switch ( Character.getType(iCodePoint) ) {
+            case Character.CONTROL:
+            case Character.FORMAT:
+            case Character.PRIVATE_USE:
+            case Character.SURROGATE:
+            case Character.UNASSIGNED:
+            case Character.SPACE_SEPARATOR:
+            case Character.LINE_SEPARATOR:
+            case Character.PARAGRAPH_SEPARATOR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /*
+     * Method findWhitespace()
+     *
+     *      Get the index of the first WHITESPACE code point, or the string's length when there is none.
+     */
+    static private int findWhitespace(String strUTF16) {
+        int iLength = strUTF16.length();
+        int iIndex = 0;
+        while (iIndex < iLength) {
+            int iCodePoint = strUTF16.codePointAt(iIndex);
+            if ( Util.isWhitespace(iCodePoint) ) {
+                break;
+            }
+            iIndex += Character.charCount(iCodePoint);
+        }
+        return iIndex;
+    }
+
+    /*
+     * Method removeAllWhitespace()
+     *
+     *      Remove the WHITESPACE code points in a single pass.  A string without any is returned as is.
+     */
     static public String removeAllWhitespace(String strUTF16) {
-        return Util.replaceAll(strUTF16, "[" + Util.WHITESPACE + "]+", "");
+        return Util.replaceWhitespace(strUTF16, false);
     }
 
+    /*
+     * Method replaceAllWhitespace()
+     *
+     *      Replace each WHITESPACE code point with a space in a single pass.  A string without any is
+     *      returned as is.
+     */
     static public String replaceAllWhitespace(String strUTF16) {
-        return Util.replaceAll(strUTF16, "[" + Util.WHITESPACE + "]", " ");
+        return Util.replaceWhitespace(strUTF16, true);
+    }
+
+    static private String replaceWhitespace(String strUTF16, boolean bSpace) {
+        int iIndex = Util.findWhitespace(strUTF16);
+        int iLength = strUTF16.length();
+        if (iIndex == iLength) {
+            return strUTF16;
+        }
+        StringBuilder sbResult = new StringBuilder(iLength);
+        sbResult.append(strUTF16, 0, iIndex);
+        while (iIndex < iLength) {
+            int iCodePoint = strUTF16.codePointAt(iIndex);
+            int iCount = Character.charCount(iCodePoint);
+            if ( Util.isWhitespace(iCodePoint) ) {
+                if (bSpace) {
+                    sbResult.append(' ');
+                }
+            }
+            else {
+                sbResult.append(strUTF16, iIndex, iIndex + iCount);
+            }
+            iIndex += iCount;
+        }
+        return sbResult.toString();
     }
 
+    /*
+     * Method toSpaceStrippedString()
+     *
+     *      Get the object's string without any WHITESPACE.  As the removed code points include all
+     *      Java whitespace, the result needs no further stripping.
+     */
     static public String toSpaceStrippedString(Object obj) {
         if (obj == null) {
             return null;
         }
-        return Util.removeAllWhitespace( obj.toString() ).strip();
+        return Util.removeAllWhitespace( obj.toString() );
     }
 
     static public String toNodeTypeString(NodeType eNodeType) {
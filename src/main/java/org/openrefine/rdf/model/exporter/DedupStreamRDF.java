@@ -0,0 +1,286 @@
+package org.openrefine.rdf.model.exporter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+import org.openrefine.rdf.model.Util;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWrapper;
+import org.apache.jena.sparql.core.Quad;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Class DedupStreamRDF
+ *
+ *  A stream that drops the statements already written.  Each statement is reduced to a 128 bit
+ *  fingerprint held in a primitive, open addressing table of longs, so the memory used is 16 bytes
+ *  per slot regardless of the size of the statement.  The table is held on the heap or, when off heap,
+ *  in direct memory outside the garbage collected heap.
+ *
+ *  Exact Mode (a zero size): the table grows as needed and every duplicate is dropped.  When the table
+ *      reaches its largest size (or cannot be allocated), it continues in bounded mode at its current
+ *      size, so a very large export completes with some duplicates rather than failing.
+ *  Bounded Mode (a positive size): the table is a fixed, direct mapped cache of the given size
+ *      (rounded up to a power of 2).  A new fingerprint replaces the one in its slot, so a duplicate
+ *      that was replaced is written again.  The output may hold some duplicates but never loses a
+ *      distinct statement.
+ *
+ *  NOTE: Distinct statements with the same 128 bit fingerprint would be dropped.  The chance is
+ *      negligible for any practical export size.
+ */
+public class DedupStreamRDF extends StreamRDFWrapper {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:DedupStreamRDF");
+
+    static private final int iInitialSlots = 1 << 16;
+    static private final int iMaxSlots = 1 << 29;       // ...8 GiB on heap
+    static private final int iMaxOffHeapSlots = 1 << 26; // ...1 GiB off heap (a direct buffer's limit is 2 GiB)
+    static private final long lSeed1 = 0x9E3779B97F4A7C15L;
+    static private final long lSeed2 = 0xC2B2AE3D27D4EB4FL;
+    static private final long lPrime1 = 0x100000001B3L;       // ...FNV-1a 64 bit prime
+    static private final long lPrime2 = 0x9FB21C651E98DF25L;
+
+    private final boolean bOffHeap;
+    private final int iMaxTableSlots;
+    private boolean bBounded;
+    private LongBuffer lbTable; // ...fingerprint pairs: [2 * slot] and [2 * slot + 1]
+    private int iMask;
+    private int iUsed = 0;
+    private long lWritten = 0;
+    private long lDropped = 0;
+
+    // The current fingerprint...
+    private long lHash1;
+    private long lHash2;
+
+    public DedupStreamRDF(StreamRDF theWriter, int iSize) {
+        this(theWriter, iSize, false);
+    }
+
+    public DedupStreamRDF(StreamRDF theWriter, int iSize, boolean bOffHeap) {
+        this( theWriter, iSize, bOffHeap,
+                ( bOffHeap ? DedupStreamRDF.iMaxOffHeapSlots : DedupStreamRDF.iMaxSlots ) );
+    }
+
+    // With the largest table size in slots (a power of 2), so the bounded fallback can be tested...
+    DedupStreamRDF(StreamRDF theWriter, int iSize, boolean bOffHeap, int iMaxTableSlots) {
+        super(theWriter);
+        this.bOffHeap = bOffHeap;
+        this.iMaxTableSlots = iMaxTableSlots;
+        this.bBounded = ( iSize > 0 );
+        int iSlots = Math.min(DedupStreamRDF.iInitialSlots, iMaxTableSlots);
+        if (this.bBounded) {
+            iSlots = Integer.highestOneBit( Math.max( Math.min(iSize, iMaxTableSlots) - 1, 1 ) ) << 1;
+        }
+        this.lbTable = this.allocate(iSlots);
+        this.iMask = iSlots - 1;
+    }
+
+    @Override
+    public void triple(Triple theTriple) {
+        this.startHash();
+        this.hashNode( theTriple.getSubject() );
+        this.hashNode( theTriple.getPredicate() );
+        this.hashNode( theTriple.getObject() );
+        if ( this.isNew() ) {
+            super.triple(theTriple);
+        }
+    }
+
+    @Override
+    public void quad(Quad theQuad) {
+        this.startHash();
+        this.hashNode( theQuad.getSubject() );
+        this.hashNode( theQuad.getPredicate() );
+        this.hashNode( theQuad.getObject() );
+        if ( theQuad.getGraph() != null ) {
+            this.hashNode( theQuad.getGraph() );
+        }
+        if ( this.isNew() ) {
+            super.quad(theQuad);
+        }
+    }
+
+    @Override
+    public void finish() {
+        if ( Util.isVerbose(2) || Util.isDebugMode() ) {
+            DedupStreamRDF.logger.info("Statements written: " + this.lWritten + "  duplicates dropped: " + this.lDropped);
+        }
+        super.finish();
+    }
+
+    public long getDropped() {
+        return this.lDropped;
+    }
+
+    public boolean isBounded() {
+        return this.bBounded;
+    }
+
+    /*
+     * Method allocate()
+     *
+     *      Allocate an empty (zeroed) table of the given slots on the heap or off heap.  A direct
+     *      buffer's memory is released when the buffer is collected.
+     */
+    private LongBuffer allocate(int iSlots) {
+        if (this.bOffHeap) {
+            return ByteBuffer.allocateDirect(iSlots * 16).order( ByteOrder.nativeOrder() ).asLongBuffer();
+        }
+        return LongBuffer.wrap( new long[iSlots * 2] );
+    }
+
+    //
+    // Fingerprint: two independently seeded FNV-1a style hashes over each node's kind and content
+    //
+    private void startHash() {
+        this.lHash1 = DedupStreamRDF.lSeed1;
+        this.lHash2 = DedupStreamRDF.lSeed2;
+    }
+
+    private void hashNode(Node theNode) {
+        if ( theNode.isURI() ) {
+            this.hashChar('U');
+            this.hashString( theNode.getURI() );
+        }
+        else if ( theNode.isBlank() ) {
+            this.hashChar('B');
+            this.hashString( theNode.getBlankNodeLabel() );
+        }
+        else if ( theNode.isLiteral() ) {
+            this.hashChar('L');
+            this.hashString( theNode.getLiteralLexicalForm() );
+            this.hashChar('^');
+            this.hashString( theNode.getLiteralDatatypeURI() );
+            this.hashChar('@');
+            this.hashString( theNode.getLiteralLanguage() );
+        }
+        else {
+            this.hashChar('N');
+            this.hashString( theNode.toString() );
+        }
+        this.hashChar('\u0000'); // ...node separator
+    }
+
+    private void hashString(String strValue) {
+        if (strValue == null) {
+            return;
+        }
+        int iLength = strValue.length();
+        for (int iIndex = 0; iIndex < iLength; iIndex++) {
+            this.hashChar( strValue.charAt(iIndex) );
+        }
+    }
+
+    private void hashChar(char cValue) {
+        this.lHash1 = (this.lHash1 ^ cValue) * DedupStreamRDF.lPrime1;
+        this.lHash2 = (this.lHash2 ^ cValue) * DedupStreamRDF.lPrime2;
+    }
+
+    static private long mix(long lValue) {
+        lValue ^= lValue >>> 33;
+        lValue *= 0xFF51AFD7ED558CCDL;
+        lValue ^= lValue >>> 33;
+        lValue *= 0xC4CEB9FE1A85EC53L;
+        lValue ^= lValue >>> 33;
+        return lValue;
+    }
+
+    /*
+     * Method isNew()
+     *
+     *      Record the current fingerprint.  Return true when it was not already held.
+     */
+    private boolean isNew() {
+        long lKey1 = DedupStreamRDF.mix(this.lHash1);
+        long lKey2 = DedupStreamRDF.mix(this.lHash2);
+        if (lKey1 == 0 && lKey2 == 0) { // ...reserved for an empty slot
+            lKey2 = 1;
+        }
+
+        LongBuffer lbTable = this.lbTable;
+        int iSlot = (int) lKey1 & this.iMask;
+        if (this.bBounded) {
+            int iPos = iSlot << 1;
+            if ( lbTable.get(iPos) == lKey1 && lbTable.get(iPos + 1) == lKey2 ) {
+                this.lDropped++;
+                return false;
+            }
+            lbTable.put(iPos, lKey1);
+            lbTable.put(iPos + 1, lKey2);
+            this.lWritten++;
+            return true;
+        }
+
+        while (true) {
+            int iPos = iSlot << 1;
+            long lSlot1 = lbTable.get(iPos);
+            long lSlot2 = lbTable.get(iPos + 1);
+            if (lSlot1 == 0 && lSlot2 == 0) {
+                break;
+            }
+            if (lSlot1 == lKey1 && lSlot2 == lKey2) {
+                this.lDropped++;
+                return false;
+            }
+            iSlot = (iSlot + 1) & this.iMask;
+        }
+        int iPos = iSlot << 1;
+        lbTable.put(iPos, lKey1);
+        lbTable.put(iPos + 1, lKey2);
+        this.lWritten++;
+        if ( ++this.iUsed > (this.iMask + 1) / 2 ) {
+            this.grow();
+        }
+        return true;
+    }
+
+    /*
+     * Method grow()
+     *
+     *      Double the exact table.  At the largest size, or when the larger table cannot be allocated,
+     *      continue in bounded mode with the current table: its held fingerprints still drop most later
+     *      duplicates.
+     */
+    private void grow() {
+        LongBuffer lbOld = this.lbTable;
+        int iSlots = (this.iMask + 1) << 1;
+        LongBuffer lbNew = null;
+        if ( iSlots > 0 && iSlots <= this.iMaxTableSlots ) {
+            try {
+                lbNew = this.allocate(iSlots);
+            }
+            catch (OutOfMemoryError ex) {
+                lbNew = null;
+            }
+        }
+        if (lbNew == null) {
+            this.bBounded = true;
+            DedupStreamRDF.logger.warn(
+                "WARNING: Statement dedup table is full at " + (this.iMask + 1) + " slots: " +
+                "continuing in bounded mode, so some duplicate statements may be written.");
+            return;
+        }
+        this.lbTable = lbNew;
+        this.iMask = iSlots - 1;
+        int iOldLength = lbOld.capacity();
+        for (int iPos = 0; iPos < iOldLength; iPos += 2) {
+            long lKey1 = lbOld.get(iPos);
+            long lKey2 = lbOld.get(iPos + 1);
+            if (lKey1 == 0 && lKey2 == 0) {
+                continue;
+            }
+            int iSlot = (int) lKey1 & this.iMask;
+            while ( lbNew.get(iSlot << 1) != 0 || lbNew.get( (iSlot << 1) + 1 ) != 0 ) {
+                iSlot = (iSlot + 1) & this.iMask;
+            }
+            lbNew.put(iSlot << 1, lKey1);
+            lbNew.put( (iSlot << 1) + 1, lKey2 );
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package org.openrefine.rdf.model.exporter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.openrefine.rdf.model.Util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Class ParallelCompressOutputStream
+ *
+ *  An output stream that compresses fixed size blocks on a pool of worker threads.  Each block is
+ *  compressed independently as a complete gzip member and the members are written in block order.  The
+ *  gzip format defines a concatenation of members as the concatenation of their content, so standard
+ *  tools and GZIPInputStream read the result as one stream (as with pigz).  The codec selects the
+ *  deflate level: the fast codec trades some size for speed.
+ *
+ *  The calling thread only copies the data into blocks and writes the compressed members.  Only a
+ *  limited number of blocks are held in memory at any time.
+ */
+public class ParallelCompressOutputStream extends OutputStream {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:ParCompressOS");
+
+    static private final int iBlockSize = 1 << 20;     // ...uncompressed bytes per block
+    static private final int iBlocksPerThread = 2;     // ...blocks in flight per worker
+
+    /*
+     * Enum Codec
+     *
+     *  The block compression formats.
+     */
+    public enum Codec {
+        GZIP("GZip", Deflater.DEFAULT_COMPRESSION),
+        FAST("Fast GZip", Deflater.BEST_SPEED);
+
+        private final String strLabel;
+        private final int iLevel;
+
+        Codec(String strLabel, int iLevel) {
+            this.strLabel = strLabel;
+            this.iLevel = iLevel;
+        }
+
+        public String getLabel() {
+            return this.strLabel;
+        }
+
+        public String getContentType() {
+            return "application/gzip";
+        }
+
+        private byte[] compress(byte[] abBlock, int iLength) throws IOException {
+            ByteArrayOutputStream baosMember = new ByteArrayOutputStream(iLength / 3 + 64);
+            final int iCodecLevel = this.iLevel;
+            GZIPOutputStream osCompress =
+                new GZIPOutputStream(baosMember, 1 << 16) {
+                    {
+                        this.def.setLevel(iCodecLevel);
+                    }
+                };
+            osCompress.write(abBlock, 0, iLength);
+            osCompress.close();
+            return baosMember.toByteArray();
+        }
+    }
+
+    private final OutputStream osOut;
+    private final Codec theCodec;
+    private final int iMaxPending;
+    private final ExecutorService theExecutor;
+    private final Deque< Future<byte[]> > queuePending;
+    private byte[] abBlock;
+    private int iCount = 0;
+    private boolean bFinished = false;
+
+    public ParallelCompressOutputStream(OutputStream osOut, Codec theCodec, int iThreads) {
+        this.osOut = osOut;
+        this.theCodec = theCodec;
+        int iWorkers = Math.max(iThreads, 1);
+        this.iMaxPending = iWorkers * ParallelCompressOutputStream.iBlocksPerThread;
+        this.queuePending = new ArrayDeque<>(this.iMaxPending + 1);
+        this.abBlock = new byte[ParallelCompressOutputStream.iBlockSize];
+
+        final AtomicInteger iThreadNumber = new AtomicInteger(0);
+        ThreadFactory theFactory =
+            (Runnable theRunnable) -> {
+                Thread theThread = new Thread(theRunnable, "RDFT-Compress-" + iThreadNumber.incrementAndGet());
+                theThread.setDaemon(true);
+                return theThread;
+            };
+        this.theExecutor = Executors.newFixedThreadPool(iWorkers, theFactory);
+        if ( Util.isDebugMode() ) ParallelCompressOutputStream.logger.info("DEBUG: Created " + theCodec + " with " + iWorkers + " threads...");
+    }
+
+    @Override
+    public void write(int iByte) throws IOException {
+        if (this.iCount == this.abBlock.length) {
+            this.dispatch();
+        }
+        this.abBlock[this.iCount++] = (byte) iByte;
+    }
+
+    @Override
+    public void write(byte[] abData, int iOffset, int iLength) throws IOException {
+        while (iLength > 0) {
+            if (this.iCount == this.abBlock.length) {
+                this.dispatch();
+            }
+            int iCopy = Math.min(iLength, this.abBlock.length - this.iCount);
+            System.arraycopy(abData, iOffset, this.abBlock, this.iCount, iCopy);
+            this.iCount += iCopy;
+            iOffset += iCopy;
+            iLength -= iCopy;
+        }
+    }
+
+    /*
+     * Method flush()
+     *
+     *      Write the members already compressed.  A partial block is not compressed until more data
+     *      fills it or the stream is closed, since small blocks compress poorly.
+     */
+    @Override
+    public void flush() throws IOException {
+        while ( ! this.queuePending.isEmpty() && this.queuePending.peek().isDone() ) {
+            this.drainOne();
+        }
+        this.osOut.flush();
+    }
+
+    /*
+     * Method finish()
+     *
+     *      Compress the current (partial) block and write all pending members without closing the
+     *      output.  No more data may be written.
+     */
+    public void finish() throws IOException {
+        if (this.bFinished) {
+            return;
+        }
+        this.bFinished = true;
+        try {
+            if (this.iCount > 0) {
+                this.dispatch();
+            }
+            while ( ! this.queuePending.isEmpty() ) {
+                this.drainOne();
+            }
+        }
+        finally {
+            this.abort();
+        }
+        this.osOut.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.finish();
+        this.osOut.close();
+    }
+
+    /*
+     * Method abort()
+     *
+     *      Stop the workers without writing any remaining blocks.
+     */
+    public void abort() {
+        for ( Future<byte[]> theFuture : this.queuePending ) {
+            theFuture.cancel(true);
+        }
+        this.queuePending.clear();
+        this.theExecutor.shutdownNow();
+    }
+
+    private void dispatch() throws IOException {
+        final byte[] abFull = this.abBlock;
+        final int iLength = this.iCount;
+        this.queuePending.add( this.theExecutor.submit( () -> this.theCodec.compress(abFull, iLength) ) );
+        this.abBlock = new byte[ParallelCompressOutputStream.iBlockSize];
+        this.iCount = 0;
+
+        while ( this.queuePending.size() >= this.iMaxPending ) {
+            this.drainOne();
+        }
+    }
+
+    private void drainOne() throws IOException {
+        Future<byte[]> theFuture = this.queuePending.poll();
+        byte[] abMember;
+        try {
+            abMember = theFuture.get();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            this.abort();
+            throw new InterruptedIOException("Compression interrupted");
+        }
+        catch (ExecutionException ex) {
+            this.abort();
+            Throwable theCause = ( ex.getCause() == null ? ex : ex.getCause() );
+            ParallelCompressOutputStream.logger.error("ERROR: Compression Issue: " + theCause.getMessage(), theCause);
+            throw new IOException(theCause.getMessage(), theCause);
+        }
+        this.osOut.write(abMember);
+    }
+}
@@ -0,0 +1,210 @@
+package org.openrefine.rdf.model.exporter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openrefine.rdf.model.Util;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.sparql.core.Quad;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Class PipedStreamRDF
+ *
+ *  A stream that hands the statements to a writer running on a dedicated serializer thread.  The
+ *  statements are gathered into batches and passed through a bounded queue, so the transform (the
+ *  producer) and the serialization (the consumer) overlap.  When the queue is full, the producer waits
+ *  for the serializer to catch up.
+ *
+ *  A serializer failure is reported to the producer on its next write or on finish().  An aborted or
+ *  interrupted producer stops the serializer.  All calls to the wrapped writer, including start() and
+ *  finish(), are made on the serializer thread.
+ */
+public class PipedStreamRDF implements StreamRDF {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:PipedStreamRDF");
+
+    static private final int iBatchSize = 1024; // ...statements per batch
+    static private final int iQueueSize = 16;   // ...batches waiting on the serializer
+    static private final long iWaitMillis = 100; // ...wait between serializer checks
+
+    // The end of stream marker (compared by identity)...
+    static private final List<Object> listEnd = new ArrayList<>(0);
+
+    private final StreamRDF theWriter;
+    private final BlockingQueue< List<Object> > queueBatches;
+    private List<Object> listBatch = null;
+    private Thread theSerializer = null;
+    private volatile Throwable theFailure = null;
+
+    public PipedStreamRDF(StreamRDF theWriter) {
+        this.theWriter = theWriter;
+        this.queueBatches = new ArrayBlockingQueue<>(PipedStreamRDF.iQueueSize);
+    }
+
+    @Override
+    public void start() {
+        this.listBatch = new ArrayList<>(PipedStreamRDF.iBatchSize);
+        this.theSerializer = new Thread(this::serialize, "RDFT-Serializer");
+        this.theSerializer.setDaemon(true);
+        this.theSerializer.start();
+    }
+
+    @Override
+    public void triple(Triple theTriple) {
+        this.add(theTriple);
+    }
+
+    @Override
+    public void quad(Quad theQuad) {
+        this.add(theQuad);
+    }
+
+    @Override
+    public void base(String strBase) {
+        this.add( new Base(strBase) );
+    }
+
+    @Override
+    public void prefix(String strPrefix, String strIRI) {
+        this.add( new Prefix(strPrefix, strIRI) );
+    }
+
+    @Override
+    public void finish() {
+        if ( ! this.listBatch.isEmpty() ) {
+            this.send(this.listBatch);
+            this.listBatch = null;
+        }
+        this.send(PipedStreamRDF.listEnd);
+
+        // Wait on the serializer to write the remaining statements...
+        try {
+            this.theSerializer.join();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            this.abort();
+            throw new RuntimeException("Export interrupted", ex);
+        }
+        this.checkFailure();
+    }
+
+    /*
+     * Method abort()
+     *
+     *      Stop the serializer without writing any remaining statements.  Used when the producer
+     *      fails or is cancelled.
+     */
+    public void abort() {
+        if ( this.theSerializer != null && this.theSerializer.isAlive() ) {
+            if ( Util.isDebugMode() ) PipedStreamRDF.logger.info("DEBUG: Aborting serializer...");
+            this.theSerializer.interrupt();
+        }
+        this.queueBatches.clear();
+    }
+
+    private void add(Object theItem) {
+        this.listBatch.add(theItem);
+        if ( this.listBatch.size() >= PipedStreamRDF.iBatchSize ) {
+            this.send(this.listBatch);
+            this.listBatch = new ArrayList<>(PipedStreamRDF.iBatchSize);
+        }
+    }
+
+    /*
+     * Method send()
+     *
+     *      Queue a batch for the serializer, waiting while the queue is full.  While waiting, the
+     *      serializer is checked for failure so the producer does not wait forever.
+     */
+    private void send(List<Object> listItems) {
+        this.checkFailure();
+        try {
+            while ( ! this.queueBatches.offer(listItems, PipedStreamRDF.iWaitMillis, TimeUnit.MILLISECONDS) ) {
+                this.checkFailure();
+                if ( ! this.theSerializer.isAlive() ) {
+                    throw new RuntimeException("Export serializer stopped unexpectedly");
+                }
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            this.abort();
+            throw new RuntimeException("Export interrupted", ex);
+        }
+    }
+
+    private void checkFailure() {
+        Throwable theCause = this.theFailure;
+        if ( theCause != null ) {
+            throw new RuntimeException(theCause.getMessage(), theCause);
+        }
+    }
+
+    /*
+     * Method serialize()
+     *
+     *      The serializer thread: write the queued batches to the writer until the end marker.
+     */
+    private void serialize() {
+        try {
+            this.theWriter.start();
+            while (true) {
+                List<Object> listItems = this.queueBatches.take();
+                if ( listItems == PipedStreamRDF.listEnd ) {
+                    break;
+                }
+                for ( Object theItem : listItems ) {
+                    if ( theItem instanceof Triple ) {
+                        this.theWriter.triple( (Triple) theItem );
+                    }
+                    else if ( theItem instanceof Quad ) {
+                        this.theWriter.quad( (Quad) theItem );
+                    }
+                    else if ( theItem instanceof Prefix ) {
+                        Prefix thePrefix = (Prefix) theItem;
+                        this.theWriter.prefix(thePrefix.strPrefix, thePrefix.strIRI);
+                    }
+                    else if ( theItem instanceof Base ) {
+                        this.theWriter.base( ( (Base) theItem ).strBase );
+                    }
+                }
+            }
+            this.theWriter.finish();
+        }
+        catch (InterruptedException ex) {
+            // Aborted by the producer: the writer is abandoned...
+            if ( Util.isDebugMode() ) PipedStreamRDF.logger.info("DEBUG: Serializer aborted.");
+        }
+        catch (Throwable ex) {
+            PipedStreamRDF.logger.error("ERROR: Serializer Issue: " + ex.getMessage(), ex);
+            this.theFailure = ex;
+            this.queueBatches.clear(); // ...release a waiting producer
+        }
+    }
+
+    private static class Prefix {
+        private final String strPrefix;
+        private final String strIRI;
+
+        private Prefix(String strPrefix, String strIRI) {
+            this.strPrefix = strPrefix;
+            this.strIRI = strIRI;
+        }
+    }
+
+    private static class Base {
+        private final String strBase;
+
+        private Base(String strBase) {
+            this.strBase = strBase;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.openrefine.rdf.model.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.exporter.ParallelCompressOutputStream.Codec;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.exporters.StreamExporter;
+import com.google.refine.model.Project;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Class RDFCompressedExporter
+ *
+ *  An exporter that compresses the output of another RDF exporter.  The output is compressed in blocks
+ *  on the export worker threads (see ParallelCompressOutputStream), so the compression does not slow
+ *  the transform.
+ *
+ *  NOTE: Only a stream exporter (binary output) is implemented as OpenRefine prefers a writer exporter's
+ *      character output when both are available.
+ */
+public class RDFCompressedExporter implements StreamExporter {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFCompressedExporter");
+
+    private final StreamExporter theExporter;
+    private final Codec theCodec;
+    private final String strName;
+
+    public RDFCompressedExporter(StreamExporter theExporter, Codec theCodec, String strName) {
+        this.theExporter = theExporter;
+        this.theCodec = theCodec;
+        this.strName = strName;
+        if ( Util.isDebugMode() ) RDFCompressedExporter.logger.info("DEBUG: Preparing exporter " + strName + "...");
+    }
+
+    public void export(Project theProject, Properties options, Engine theEngine,
+                        OutputStream outputStream)
+            throws IOException {
+        if ( Util.isDebugMode() ) RDFCompressedExporter.logger.info("DEBUG: Exporting " + this.strName + " via OutputStream");
+        ParallelCompressOutputStream osCompress =
+            new ParallelCompressOutputStream( outputStream, this.theCodec, Util.getExportThreads() );
+        try {
+            this.theExporter.export(theProject, options, theEngine, osCompress);
+            osCompress.finish();
+        }
+        catch (IOException | RuntimeException ex) {
+            osCompress.abort();
+            throw ex;
+        }
+    }
+
+    public String getContentType() {
+        return this.theCodec.getContentType();
+    }
+}
@@ -0,0 +1,348 @@
+package org.openrefine.rdf.model.exporter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.operation.RDFExportProcess;
+import org.openrefine.rdf.model.operation.RDFVisitor;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.browsing.EngineConfig;
+import com.google.refine.history.HistoryEntry;
+import com.google.refine.model.Project;
+import com.google.refine.util.ParsingUtilities;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.apache.jena.atlas.io.AWriter;
+import org.apache.jena.atlas.io.IO;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.writer.WriterStreamRDFPlain;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Class RDFExportJob
+ *
+ *  A background job that exports a project's statements to a line based RDF file (N-Triples or
+ *  N-Quads) in the RDF Transform cache directory.  While exporting, the job periodically takes a
+ *  checkpoint on a row or record boundary: the output is flushed and synced, then the last exported
+ *  row or record index, the output offset, and the transform hash are saved beside the output.
+ *
+ *  When a job is started for a project and format with an unfinished checkpoint (after a failure,
+ *  a cancel, or a restart), the output is truncated to the checkpoint's offset and the export resumes
+ *  after its last row or record.  The checkpoint is only used when its transform hash matches: the
+ *  hash covers the transform, the facet (engine) configuration, and the project's history position,
+ *  so a changed transform or data starts the export over.  A finished job's checkpoint is marked
+ *  complete and its output is served by the download command.
+ *
+ *  A job runs on RDF Transform's own job threads, not in the project's process manager, so it never
+ *  holds back the project's operations.  While queued and running, its export tracker (see JobProcess)
+ *  is held in the project's active exports like a foreground export's, so it is reported and canceled
+ *  the same way.  Only one job runs at a time for a project and format (see start()).
+ */
+public class RDFExportJob implements Runnable {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFExportJob");
+
+    static private final String strCheckpointExtension = ".checkpoint.json";
+    static private final AtomicInteger iThreadNumber = new AtomicInteger(0);
+    static private final ExecutorService theExecutor =
+        Executors.newCachedThreadPool(
+            (Runnable theRunnable) -> {
+                Thread theThread =
+                    new Thread(theRunnable, "RDFT-ExportJob-" + RDFExportJob.iThreadNumber.incrementAndGet());
+                theThread.setDaemon(true);
+                return theThread;
+            }
+        );
+    // The queued and running jobs by output file...
+    static private final Map<File, RDFExportJob> mapActive = new ConcurrentHashMap<>();
+
+    private final Project theProject;
+    private final EngineConfig theEngineConfig;
+    private final String strExtension;
+    private final File fileOutput;
+    private final File fileCheckpoint;
+    private final JobProcess theProcess;
+    private String strHash = null;
+    private FileOutputStream osFile = null;
+    private AWriter theOutput = null;
+    private long lStartOffset = 0;
+    private long lStartStatements = 0;
+    private long lLastCheckpoint = 0;
+    private int iLastIndex = -1;
+
+    public RDFExportJob(Project theProject, EngineConfig theEngineConfig, String strExtension) {
+        this.theProject = theProject;
+        this.theEngineConfig = theEngineConfig;
+        this.strExtension = strExtension;
+        this.fileOutput = RDFExportJob.getOutputFile(theProject, strExtension);
+        this.fileCheckpoint = RDFExportJob.getCheckpointFile(theProject, strExtension);
+        this.theProcess = new JobProcess("RDF Transform background export: " + strExtension, theProject);
+    }
+
+    public RDFExportProcess getProcess() {
+        return this.theProcess;
+    }
+
+    /*
+     * Method start()
+     *
+     *      Queue the job on the job threads and hold its tracker in the project's active exports.  Return
+     *      false, without queueing, when a job for the project and format is already queued or running.
+     */
+    public boolean start() {
+        if ( RDFExportJob.mapActive.putIfAbsent(this.fileOutput, this) != null ) {
+            return false;
+        }
+        RDFExportProcess.track(this.theProcess);
+        try {
+            RDFExportJob.theExecutor.execute(this);
+        }
+        catch (RuntimeException ex) {
+            this.theProcess.done();
+            RDFExportJob.mapActive.remove(this.fileOutput, this);
+            throw ex;
+        }
+        return true;
+    }
+
+    /*
+     * Method getFormat()
+     *
+     *      Get the line based format for a job's file extension, or null when not supported.
+     */
+    static public RDFFormat getFormat(String strExtension) {
+        if ( "nt".equals(strExtension) ) {
+            return RDFFormat.NTRIPLES_UTF8;
+        }
+        if ( "nq".equals(strExtension) ) {
+            return RDFFormat.NQUADS_UTF8;
+        }
+        return null;
+    }
+
+    static public File getOutputFile(Project theProject, String strExtension) {
+        return new File( RDFTransform.getGlobalContext().getWorkingDir(),
+                            "export-" + theProject.id + "." + strExtension );
+    }
+
+    static public File getCheckpointFile(Project theProject, String strExtension) {
+        return new File( RDFTransform.getGlobalContext().getWorkingDir(),
+                            "export-" + theProject.id + "." + strExtension + RDFExportJob.strCheckpointExtension );
+    }
+
+    /*
+     * Method readCheckpoint()
+     *
+     *      Read a job's checkpoint, or null when there is none (or it cannot be read).
+     */
+    static public JsonNode readCheckpoint(File fileCheckpoint) {
+        if ( ! fileCheckpoint.exists() ) {
+            return null;
+        }
+        try {
+            return ParsingUtilities.mapper.readTree(fileCheckpoint);
+        }
+        catch (IOException ex) {
+            RDFExportJob.logger.warn("WARNING: Cannot read export checkpoint " + fileCheckpoint.getName() + ": " + ex.getMessage());
+            return null;
+        }
+    }
+
+    /*
+     * Method isComplete()
+     *
+     *      Is the checkpoint the one of a finished job?
+     */
+    static public boolean isComplete(JsonNode theCheckpoint) {
+        return ( theCheckpoint != null && theCheckpoint.path("complete").asBoolean(false) );
+    }
+
+    /*
+     * Class JobProcess
+     *
+     *  The job's export tracker.  As the tracker is told of visits on a row or record boundary, it
+     *  takes a checkpoint when the checkpoint interval has passed.
+     */
+    private class JobProcess extends RDFExportProcess {
+        private JobProcess(String strDescription, Project theProject) {
+            super(strDescription, theProject);
+        }
+
+        @Override
+        public void visited(int iCount, int iLastIndex) {
+            super.visited(iCount, iLastIndex);
+            RDFExportJob.this.iLastIndex = iLastIndex;
+            long lNow = System.currentTimeMillis();
+            if ( lNow - RDFExportJob.this.lLastCheckpoint >= Util.getExportCheckpoint() * 1000L ) {
+                RDFExportJob.this.checkpoint(false);
+                RDFExportJob.this.lLastCheckpoint = lNow;
+            }
+        }
+    }
+
+    /*
+     * Method run()
+     *
+     *      Run the job on the calling thread.  A started job (see start()) is run by a job thread.
+     */
+    @Override
+    public void run() {
+        try {
+            this.export();
+        }
+        catch (Exception ex) {
+            RDFExportJob.logger.error("ERROR: Background export failed: " + ex.getMessage(), ex);
+            if ( Util.isVerbose() || Util.isDebugMode() ) ex.printStackTrace();
+        }
+        finally {
+            this.close();
+            this.theProcess.done();
+            RDFExportJob.mapActive.remove(this.fileOutput, this);
+        }
+    }
+
+    private void export() throws Exception {
+        this.theProcess.start();
+        this.strHash = this.computeHash();
+
+        // Resume from a matching checkpoint, if any...
+        JsonNode theCheckpoint = RDFExportJob.readCheckpoint(this.fileCheckpoint);
+        if ( theCheckpoint != null && this.strHash.equals( theCheckpoint.path("hash").asText() ) &&
+             this.fileOutput.exists() ) {
+            if ( RDFExportJob.isComplete(theCheckpoint) ) {
+                if ( Util.isVerbose(2) || Util.isDebugMode() ) RDFExportJob.logger.info("Background export already complete: " + this.fileOutput.getName());
+                return;
+            }
+            this.iLastIndex = theCheckpoint.path("index").asInt(-1);
+            this.lStartOffset = theCheckpoint.path("offset").asLong(0);
+            this.lStartStatements = theCheckpoint.path("statements").asLong(0);
+            if ( Util.isVerbose(2) || Util.isDebugMode() ) {
+                RDFExportJob.logger.info("Resuming background export " + this.fileOutput.getName() +
+                                            " after index " + this.iLastIndex + " at offset " + this.lStartOffset);
+            }
+        }
+        else {
+            // Starting over: remove the old checkpoint so the old output is no longer served...
+            Files.deleteIfExists( this.fileCheckpoint.toPath() );
+        }
+
+        // Drop any output written after the checkpoint...
+        try ( RandomAccessFile theFile = new RandomAccessFile(this.fileOutput, "rw") ) {
+            theFile.setLength(this.lStartOffset);
+        }
+
+        this.osFile = new FileOutputStream(this.fileOutput, true);
+        this.theOutput = IO.wrapUTF8( this.theProcess.countBytes(this.osFile) );
+        StreamRDF theWriter = new WriterStreamRDFPlain(this.theOutput);
+
+        Engine theEngine = new Engine(this.theProject);
+        theEngine.initializeFromConfig(this.theEngineConfig);
+        RDFTransform theTransform = RDFTransform.getRDFTransform(this.theProject);
+        RDFExporter theExporter = new RDFExporter( RDFExportJob.getFormat(this.strExtension), this.theProcess.getDescription() );
+
+        this.lLastCheckpoint = System.currentTimeMillis();
+        theWriter.start();
+        RDFVisitor theVisitor =
+            theExporter.createStreamVisitor( theTransform, this.theProject, this.theProcess.countStatements(theWriter) );
+        theVisitor.setProcess(this.theProcess);
+        theVisitor.setResumeIndex(this.iLastIndex);
+        theVisitor.buildModel(this.theProject, theEngine);
+        if ( this.theProcess.isCanceled() ) {
+            this.checkpoint(false);
+            if ( Util.isVerbose(2) || Util.isDebugMode() ) RDFExportJob.logger.info("Background export canceled: " + this.fileOutput.getName());
+            return;
+        }
+        theWriter.finish();
+        this.checkpoint(true);
+        if ( Util.isVerbose(2) || Util.isDebugMode() ) RDFExportJob.logger.info("Background export complete: " + this.fileOutput.getName());
+    }
+
+    /*
+     * Method checkpoint()
+     *
+     *      Flush and sync the output, then save the checkpoint.  The checkpoint is written to a
+     *      temporary file and moved in place, so a failure never leaves a partial checkpoint.
+     */
+    private void checkpoint(boolean bComplete) {
+        try {
+            this.theOutput.flush();
+            this.osFile.getFD().sync();
+
+            ObjectNode theCheckpoint = ParsingUtilities.mapper.createObjectNode();
+            theCheckpoint.put("hash", this.strHash);
+            theCheckpoint.put("format", this.strExtension);
+            theCheckpoint.put("index", this.iLastIndex);
+            theCheckpoint.put("offset", this.lStartOffset + this.theProcess.getBytes());
+            theCheckpoint.put("statements", this.lStartStatements + this.theProcess.getStatements());
+            theCheckpoint.put("complete", bComplete);
+
+            File fileTemp = new File(this.fileCheckpoint.getPath() + ".tmp");
+            ParsingUtilities.mapper.writeValue(fileTemp, theCheckpoint);
+            Files.move( fileTemp.toPath(), this.fileCheckpoint.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+            if ( Util.isDebugMode() ) RDFExportJob.logger.info("DEBUG: Checkpoint: " + theCheckpoint.toString());
+        }
+        catch (IOException ex) {
+            // The previous checkpoint remains usable...
+            RDFExportJob.logger.warn("WARNING: Cannot save export checkpoint: " + ex.getMessage());
+        }
+    }
+
+    /*
+     * Method computeHash()
+     *
+     *      Hash the transform, the facet configuration, and the project's history position.  Any
+     *      change to them changes the exported statements, so the checkpoint no longer applies.
+     */
+    private String computeHash() throws Exception {
+        StringWriter theState = new StringWriter();
+        JsonGenerator jsonWriter = ParsingUtilities.mapper.getFactory().createGenerator(theState);
+        RDFTransform.getRDFTransform(this.theProject).write(jsonWriter);
+        jsonWriter.close();
+        theState.write('\n');
+        theState.write( ParsingUtilities.mapper.writeValueAsString(this.theEngineConfig) );
+        theState.write('\n');
+        List<HistoryEntry> listEntries = this.theProject.history.getLastPastEntries(1);
+        theState.write( listEntries.isEmpty() ? "0" : Long.toString( listEntries.get(0).id ) );
+        theState.write('\n');
+        theState.write(this.strExtension);
+
+        MessageDigest theDigest = MessageDigest.getInstance("SHA-256");
+        byte[] abHash = theDigest.digest( theState.toString().getBytes(StandardCharsets.UTF_8) );
+        return String.format( "%064x", new BigInteger(1, abHash) );
+    }
+
+    private void close() {
+        if (this.osFile != null) {
+            try {
+                this.osFile.close();
+            }
+            catch (IOException ex) {
+                // No problem: the checkpoint only holds the synced output...
+            }
+            this.osFile = null;
+        }
+    }
+}
@@ -1,8 +1,17 @@
 package org.openrefine.rdf.model.exporter;
 
+import org.openrefine.rdf.RDFTransform;
 import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.operation.ExportRDFParallelVisitor;
+import org.openrefine.rdf.model.operation.ExportRDFRecordVisitor;
+import org.openrefine.rdf.model.operation.ExportRDFRowVisitor;
+import org.openrefine.rdf.model.operation.RDFExportProcess;
+import org.openrefine.rdf.model.operation.RDFVisitor;
+
+import com.google.refine.model.Project;
 
 import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.system.StreamRDF;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +28,43 @@ public class RDFExporter {
         if ( Util.isDebugMode() ) RDFExporter.logger.info("DEBUG: Preparing exporter " + strName + "...");
     }
 
+    /*
+     * Method createStreamVisitor()
+     *
+     *      Create the visitor that writes the project's statements to a stream writer: the parallel
+     *      visitor when more than one export thread is configured, otherwise the record or row visitor.
+     */
+    protected RDFVisitor createStreamVisitor(RDFTransform theTransform, Project theProject, StreamRDF theWriter) {
+        RDFVisitor theVisitor = null;
+        int iThreads = Util.getExportThreads();
+        if ( iThreads > 1 ) {
+            if ( Util.isDebugMode() ) RDFExporter.logger.info("DEBUG:     Process by Parallel Visitor (" + iThreads + " threads)...");
+            theVisitor = new ExportRDFParallelVisitor(theTransform, theWriter,
+                                theProject.recordModel.hasRecords(), iThreads);
+        }
+        else if ( theProject.recordModel.hasRecords() ) {
+            if ( Util.isDebugMode() ) RDFExporter.logger.info("DEBUG:     Process by Record Visitor...");
+            theVisitor = new ExportRDFRecordVisitor(theTransform, theWriter);
+        }
+        else {
+            if ( Util.isDebugMode() ) RDFExporter.logger.info("DEBUG:     Process by Row Visitor...");
+            theVisitor = new ExportRDFRowVisitor(theTransform, theWriter);
+        }
+        return theVisitor;
+    }
+
+    /*
+     * Method trackExport()
+     *
+     *      Create a tracker to report the export's progress in the project's active exports (see
+     *      ExportProgressGetCommand).  The tracker is not queued in the project's process manager, so the
+     *      export never holds back the project's operations.  The caller must end the tracker with
+     *      done() when the export ends.
+     */
+    protected RDFExportProcess trackExport(Project theProject) {
+        return RDFExportProcess.track("RDF Transform export: " + this.strName, theProject);
+    }
+
     public String getContentType() {
         if (this.format != null) {
             return this.format.getLang().getContentType().getContentTypeStr();
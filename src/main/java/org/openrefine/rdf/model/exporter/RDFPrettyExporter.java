@@ -13,6 +13,7 @@ import org.openrefine.rdf.model.operation.ExportRDFRowVisitor;
 import org.openrefine.rdf.model.operation.RDFVisitor;
 
 import com.google.refine.browsing.Engine;
+import com.google.refine.exporters.StreamExporter;
 import com.google.refine.exporters.WriterExporter;
 import com.google.refine.model.Project;
 
@@ -34,9 +35,9 @@ import org.slf4j.LoggerFactory;
  *  graph.
  *
  *  Use with relatively small graphs (compared to available memory) as the process could result in a
- *  critical failure.
+ *  critical failure.  For larger graphs, use the sorted exporter (see RDFSortedExporter).
  */
-public class RDFPrettyExporter extends RDFExporter implements WriterExporter {
+public class RDFPrettyExporter extends RDFExporter implements WriterExporter, StreamExporter {
     private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFPrettyExporter");
 
     private OutputStream outputStream = null;
@@ -0,0 +1,265 @@
+package org.openrefine.rdf.model.exporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Properties;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.operation.RDFExportProcess;
+import org.openrefine.rdf.model.operation.RDFVisitor;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.exporters.StreamExporter;
+import com.google.refine.exporters.WriterExporter;
+import com.google.refine.model.Project;
+
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.vocabulary.RDF;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Class RDFSortedExporter
+ *
+ *  An exporter used to transform OpenRefine project data to grouped RDF (Turtle or TriG) *at scale*.
+ *  Unlike the pretty exporter, the graph is not held in memory.  The statements are sorted by subject,
+ *  then predicate, using an external merge sort (see SortedRunStreamRDF) that spills to disk once its
+ *  memory budget is reached.  The sorted, distinct statements are then written with each subject's
+ *  predicates and objects grouped and the IRIs compacted by the transform's namespace prefixes.
+ *
+ *  Blank nodes are written with labels rather than nested, so the output is readable but not as
+ *  condensed as the pretty exporter's.  For TriG, the statements are written in a default graph block.
+ */
+public class RDFSortedExporter extends RDFExporter implements WriterExporter, StreamExporter {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFSortedExporter");
+
+    static private final String strIndentPredicate = "    ";
+    static private final String strIndentObject = "        ";
+
+    private final long lMemoryLimit;
+
+    public RDFSortedExporter(RDFFormat format, String strName) {
+        this(format, strName, 0);
+    }
+
+    // A sort memory limit in bytes (when not 0) replacing the preference (see Util.getExportSortMemory())...
+    RDFSortedExporter(RDFFormat format, String strName, long lMemoryLimit) {
+        super(format, strName);
+        this.lMemoryLimit = lMemoryLimit;
+    }
+
+    public void export(Project theProject, Properties options, Engine theEngine,
+                        OutputStream outputStream)
+            throws IOException {
+        if ( Util.isDebugMode() ) RDFSortedExporter.logger.info("DEBUG: Exporting " + this.strName + " via OutputStream");
+        Writer theWriter = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        this.export(theProject, options, theEngine, theWriter);
+        theWriter.flush();
+    }
+
+    public void export(Project theProject, Properties options, Engine theEngine,
+                        Writer theWriter)
+             throws IOException {
+        if ( Util.isDebugMode() ) RDFSortedExporter.logger.info("DEBUG: Exporting " + this.strName + " via Writer");
+        RDFTransform theTransform = RDFTransform.getRDFTransform(theProject);
+        RDFExportProcess theProcess = this.trackExport(theProject);
+        SortedRunStreamRDF theSorter =
+            ( this.lMemoryLimit > 0 ?
+                new SortedRunStreamRDF(this.lMemoryLimit, 0) :
+                new SortedRunStreamRDF( (long) Util.getExportSortMemory() << 20 ) );
+        try (theSorter) {
+            if ( Util.isDebugMode() ) RDFSortedExporter.logger.info("  Starting RDF Export...");
+
+            // Process all records/rows of data for statements...
+            theSorter.start();
+            RDFVisitor theVisitor =
+                this.createStreamVisitor( theTransform, theProject, theProcess.countStatements(theSorter) );
+            theVisitor.setProcess(theProcess);
+            theVisitor.buildModel(theProject, theEngine);
+            if ( theProcess.isCanceled() ) {
+                throw new RuntimeException("Export canceled: " + this.strName);
+            }
+            theSorter.finish();
+
+            // Write the grouped statements...
+            BufferedWriter theOutput = new BufferedWriter(theWriter, 1 << 16);
+            boolean bGraph = this.format.getLang().equals(Lang.TRIG);
+            GroupedWriter theGrouper = new GroupedWriter( theOutput, theSorter.getPrefixes(), bGraph );
+            theGrouper.start();
+            theSorter.merge(
+                (String strLine) -> {
+                    if ( theProcess.isCanceled() ) {
+                        throw new IOException("Export canceled: " + this.strName);
+                    }
+                    theGrouper.statement(strLine);
+                }
+            );
+            theGrouper.finish();
+            theOutput.flush();
+
+            if ( Util.isDebugMode() ) RDFSortedExporter.logger.info("  ...Ended RDF Export.");
+        }
+        catch (Exception ex) {
+            if ( Util.isDebugMode() ) RDFSortedExporter.logger.error("DEBUG: Error exporting " + this.strName, ex);
+            if ( Util.isVerbose() || Util.isDebugMode() ) ex.printStackTrace();
+            throw new RuntimeException(ex.getMessage(), ex);
+        }
+        finally {
+            theProcess.done();
+        }
+    }
+
+    /*
+     * Class GroupedWriter
+     *
+     *  Writes sorted N-Triples lines as Turtle: a subject's predicates are joined by ";" and a
+     *  predicate's objects are joined by ",".  For TriG, the statements are wrapped in a default
+     *  graph block ("{ ... }") and indented within it.
+     */
+    private static class GroupedWriter {
+        private final Writer theWriter;
+        private final Map<String, String> mapPrefixes;
+        private final boolean bGraph;
+        private final String strIndentSubject;
+        private final String strIndentPredicate;
+        private final String strIndentObject;
+        private String strLastSubject = null;
+        private String strLastPredicate = null;
+
+        private GroupedWriter(Writer theWriter, Map<String, String> mapPrefixes, boolean bGraph) {
+            this.theWriter = theWriter;
+            this.mapPrefixes = mapPrefixes;
+            this.bGraph = bGraph;
+            this.strIndentSubject = ( bGraph ? RDFSortedExporter.strIndentPredicate : "" );
+            this.strIndentPredicate = this.strIndentSubject + RDFSortedExporter.strIndentPredicate;
+            this.strIndentObject = this.strIndentSubject + RDFSortedExporter.strIndentObject;
+        }
+
+        private void start() throws IOException {
+            for ( Map.Entry<String, String> ns : this.mapPrefixes.entrySet() ) {
+                this.theWriter.write("@prefix " + ns.getKey() + ": <" + ns.getValue() + "> .\n");
+            }
+            if ( ! this.mapPrefixes.isEmpty() ) {
+                this.theWriter.write('\n');
+            }
+            if (this.bGraph) {
+                this.theWriter.write("{\n");
+            }
+        }
+
+        private void statement(String strLine) throws IOException {
+            // Split the line into its N-Triples terms.  IRIs and blank node labels hold no spaces,
+            // so the subject and predicate end at the first and second space...
+            int iSubjectEnd = strLine.indexOf(' ');
+            int iPredicateEnd = strLine.indexOf(' ', iSubjectEnd + 1);
+            String strSubject = strLine.substring(0, iSubjectEnd);
+            String strPredicate = strLine.substring(iSubjectEnd + 1, iPredicateEnd);
+            String strObject = strLine.substring(iPredicateEnd + 1);
+
+            if ( strSubject.equals(this.strLastSubject) ) {
+                if ( strPredicate.equals(this.strLastPredicate) ) {
+                    this.theWriter.write(" ,\n");
+                    this.theWriter.write(this.strIndentObject);
+                }
+                else {
+                    this.theWriter.write(" ;\n");
+                    this.theWriter.write(this.strIndentPredicate);
+                    this.theWriter.write( this.compactPredicate(strPredicate) );
+                    this.theWriter.write(' ');
+                }
+            }
+            else {
+                if (this.strLastSubject != null) {
+                    this.theWriter.write(" .\n\n");
+                }
+                this.theWriter.write(this.strIndentSubject);
+                this.theWriter.write( this.compact(strSubject) );
+                this.theWriter.write('\n');
+                this.theWriter.write(this.strIndentPredicate);
+                this.theWriter.write( this.compactPredicate(strPredicate) );
+                this.theWriter.write(' ');
+            }
+            this.theWriter.write( this.compactObject(strObject) );
+            this.strLastSubject = strSubject;
+            this.strLastPredicate = strPredicate;
+        }
+
+        private void finish() throws IOException {
+            if (this.strLastSubject != null) {
+                this.theWriter.write(" .\n");
+            }
+            if (this.bGraph) {
+                this.theWriter.write("}\n");
+            }
+        }
+
+        private String compactPredicate(String strTerm) {
+            if ( strTerm.length() == RDF.type.getURI().length() + 2 &&
+                 strTerm.regionMatches(1, RDF.type.getURI(), 0, RDF.type.getURI().length()) ) {
+                return "a";
+            }
+            return this.compact(strTerm);
+        }
+
+        private String compactObject(String strTerm) {
+            // Compact a literal's datatype...
+            if ( strTerm.charAt(0) == '"' && strTerm.charAt(strTerm.length() - 1) == '>' ) {
+                int iType = strTerm.lastIndexOf("\"^^<");
+                if (iType > 0) {
+                    return strTerm.substring(0, iType + 3) + this.compact( strTerm.substring(iType + 3) );
+                }
+            }
+            return this.compact(strTerm);
+        }
+
+        /*
+         * Method compact()
+         *
+         *      Compact an IRI term ("<...>") to a prefixed name using the longest matching namespace.
+         *      Other terms, and IRIs with a local part that is not a simple name, are returned as is.
+         */
+        private String compact(String strTerm) {
+            if ( strTerm.charAt(0) != '<' ) {
+                return strTerm;
+            }
+            String strIRI = strTerm.substring(1, strTerm.length() - 1);
+            String strBestPrefix = null;
+            int iBestLength = -1;
+            for ( Map.Entry<String, String> ns : this.mapPrefixes.entrySet() ) {
+                String strNamespace = ns.getValue();
+                if ( strNamespace.length() > iBestLength && strIRI.startsWith(strNamespace) &&
+                     GroupedWriter.isSimpleLocalName(strIRI, strNamespace.length()) ) {
+                    strBestPrefix = ns.getKey();
+                    iBestLength = strNamespace.length();
+                }
+            }
+            if (strBestPrefix == null) {
+                return strTerm;
+            }
+            return strBestPrefix + ":" + strIRI.substring(iBestLength);
+        }
+
+        static private boolean isSimpleLocalName(String strIRI, int iStart) {
+            int iLength = strIRI.length();
+            for (int iIndex = iStart; iIndex < iLength; iIndex++) {
+                char cChar = strIRI.charAt(iIndex);
+                boolean bNameChar =
+                    ( cChar >= 'a' && cChar <= 'z' ) || ( cChar >= 'A' && cChar <= 'Z' ) ||
+                    ( cChar >= '0' && cChar <= '9' ) || cChar == '_' ||
+                    ( iIndex > iStart && cChar == '-' );
+                if ( ! bNameChar ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package org.openrefine.rdf.model.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.operation.RDFExportProcess;
+import org.openrefine.rdf.model.operation.RDFVisitor;
+import org.openrefine.rdf.model.operation.VisitListener;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.exporters.StreamExporter;
+import com.google.refine.model.Project;
+import com.google.refine.util.ParsingUtilities;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.io.output.CountingOutputStream;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.apache.jena.sparql.core.Quad;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Class RDFSplitExporter
+ *
+ *  An exporter used to transform OpenRefine project data to a ZIP bundle of numbered RDF part files
+ *  ("part-00000.nt", ...) and a "manifest.json" describing them.  The statements are written by the
+ *  stream exporter's visitors and writers.  A new part is started, on a row or record boundary, once
+ *  the current part reaches the split limits (see Util.getExportSplitTriples() and
+ *  Util.getExportSplitSize()), so a row's or record's statements are never divided between parts.
+ *  Each part is a complete document holding the namespace prefixes, so the parts may be loaded in
+ *  parallel.
+ */
+public class RDFSplitExporter extends RDFExporter implements StreamExporter {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFSplitExporter");
+
+    private final String strExtension;
+
+    public RDFSplitExporter(RDFFormat format, String strName, String strExtension) {
+        super(format, strName);
+        this.strExtension = strExtension;
+    }
+
+    public void export(Project theProject, Properties options, Engine theEngine,
+                        OutputStream outputStream)
+            throws IOException {
+        if ( Util.isDebugMode() ) RDFSplitExporter.logger.info("DEBUG: Exporting " + this.strName + " via OutputStream");
+        RDFTransform theTransform = RDFTransform.getRDFTransform(theProject);
+        RDFExportProcess theProcess = this.trackExport(theProject);
+        ZipOutputStream zipOut =
+            new ZipOutputStream( theProcess.countBytes( CloseShieldOutputStream.wrap(outputStream) ) );
+        try {
+            if ( Util.isDebugMode() ) RDFSplitExporter.logger.info("  Starting RDF Export...");
+            SplitWriter theWriter =
+                new SplitWriter( zipOut, Util.getExportSplitTriples(), (long) Util.getExportSplitSize() << 20 );
+            theWriter.start();
+
+            // Process all records/rows of data for statements...
+            RDFVisitor theVisitor =
+                this.createStreamVisitor( theTransform, theProject, theProcess.countStatements(theWriter) );
+            theVisitor.setVisitListener(theWriter);
+            theVisitor.setProcess(theProcess);
+            theVisitor.buildModel(theProject, theEngine);
+            if ( theProcess.isCanceled() ) {
+                throw new RuntimeException("Export canceled: " + this.strName);
+            }
+
+            theWriter.finish();
+            zipOut.finish();
+            zipOut.flush();
+            if ( Util.isDebugMode() ) RDFSplitExporter.logger.info("  ...Ended RDF Export.");
+        }
+        catch (Exception ex) {
+            if ( Util.isDebugMode() ) RDFSplitExporter.logger.error("DEBUG: Error exporting " + this.strName, ex);
+            if ( Util.isVerbose() || Util.isDebugMode() ) ex.printStackTrace();
+            throw new RuntimeException(ex.getMessage(), ex);
+        }
+        finally {
+            theProcess.done();
+        }
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/zip";
+    }
+
+    /*
+     * Class SplitWriter
+     *
+     *  A stream that writes the statements to the current part's format writer and starts a new part
+     *  at a visit boundary once the current part is full.  A part is only started when a statement is
+     *  written, so there are no empty parts.
+     */
+    private class SplitWriter extends StreamRDFBase implements VisitListener {
+        private final ZipOutputStream zipOut;
+        private final long lMaxTriples;
+        private final long lMaxBytes;
+        private final Map<String, String> mapPrefixes = new LinkedHashMap<>();
+        private final List<Part> listParts = new ArrayList<>();
+        private CountingOutputStream osPart = null;
+        private StreamRDF thePartWriter = null;
+        private Part thePart = null;
+
+        private SplitWriter(ZipOutputStream zipOut, long lMaxTriples, long lMaxBytes) {
+            this.zipOut = zipOut;
+            this.lMaxTriples = lMaxTriples;
+            this.lMaxBytes = lMaxBytes;
+        }
+
+        @Override
+        public void prefix(String strPrefix, String strIRI) {
+            this.mapPrefixes.put(strPrefix, strIRI);
+            if (this.thePartWriter != null) {
+                this.thePartWriter.prefix(strPrefix, strIRI);
+            }
+        }
+
+        @Override
+        public void triple(Triple theTriple) {
+            if (this.thePartWriter == null) {
+                this.openPart();
+            }
+            this.thePartWriter.triple(theTriple);
+            this.thePart.lTriples++;
+        }
+
+        @Override
+        public void quad(Quad theQuad) {
+            if (this.thePartWriter == null) {
+                this.openPart();
+            }
+            this.thePartWriter.quad(theQuad);
+            this.thePart.lTriples++;
+        }
+
+        /*
+         * Method boundary()
+         *
+         *      At a row or record boundary, end the current part if it has reached a split limit.
+         *      NOTE: The byte count is what the format writer has passed on so far, so it may trail
+         *          the part's final size by the writer's buffer.
+         */
+        @Override
+        public void boundary() {
+            if (this.thePart == null) {
+                return;
+            }
+            if ( ( this.lMaxTriples > 0 && this.thePart.lTriples >= this.lMaxTriples ) ||
+                 ( this.lMaxBytes > 0 && this.osPart.getByteCount() >= this.lMaxBytes ) ) {
+                this.closePart();
+            }
+        }
+
+        @Override
+        public void finish() {
+            this.closePart();
+            this.writeManifest();
+        }
+
+        private void openPart() {
+            String strPartName =
+                String.format("part-%05d.%s", this.listParts.size(), RDFSplitExporter.this.strExtension);
+            try {
+                this.zipOut.putNextEntry( new ZipEntry(strPartName) );
+            }
+            catch (IOException ex) {
+                throw new RuntimeException(ex.getMessage(), ex);
+            }
+            this.thePart = new Part(strPartName);
+            this.listParts.add(this.thePart);
+            this.osPart = new CountingOutputStream( CloseShieldOutputStream.wrap(this.zipOut) );
+            // TODO: Reported Jena Bug: see RDFStreamExporter for the end null...
+            this.thePartWriter = StreamRDFWriter.getWriterStream(this.osPart, RDFSplitExporter.this.format, null);
+            this.thePartWriter.start();
+            for ( Map.Entry<String, String> ns : this.mapPrefixes.entrySet() ) {
+                this.thePartWriter.prefix( ns.getKey(), ns.getValue() );
+            }
+            if ( Util.isVerbose(3) || Util.isDebugMode() ) RDFSplitExporter.logger.info("Starting part " + strPartName);
+        }
+
+        private void closePart() {
+            if (this.thePartWriter == null) {
+                return;
+            }
+            this.thePartWriter.finish();
+            try {
+                this.osPart.flush();
+                this.zipOut.closeEntry();
+            }
+            catch (IOException ex) {
+                throw new RuntimeException(ex.getMessage(), ex);
+            }
+            this.thePart.lBytes = this.osPart.getByteCount();
+            this.thePartWriter = null;
+            this.osPart = null;
+            this.thePart = null;
+        }
+
+        private void writeManifest() {
+            try {
+                this.zipOut.putNextEntry( new ZipEntry("manifest.json") );
+                JsonGenerator theWriter =
+                    ParsingUtilities.mapper.getFactory().createGenerator( CloseShieldOutputStream.wrap(this.zipOut) );
+                theWriter.useDefaultPrettyPrinter();
+                theWriter.writeStartObject();
+                theWriter.writeStringField( "format", RDFSplitExporter.this.format.toString() );
+                theWriter.writeStringField( "contentType", RDFSplitExporter.super.getContentType() );
+                long lTotal = 0;
+                theWriter.writeArrayFieldStart("parts");
+                for ( Part thePart : this.listParts ) {
+                    theWriter.writeStartObject();
+                    theWriter.writeStringField("name", thePart.strName);
+                    theWriter.writeNumberField("statements", thePart.lTriples);
+                    theWriter.writeNumberField("bytes", thePart.lBytes);
+                    theWriter.writeEndObject();
+                    lTotal += thePart.lTriples;
+                }
+                theWriter.writeEndArray();
+                theWriter.writeNumberField("statements", lTotal);
+                theWriter.writeEndObject();
+                theWriter.close();
+                this.zipOut.closeEntry();
+            }
+            catch (IOException ex) {
+                throw new RuntimeException(ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private static class Part {
+        private final String strName;
+        private long lTriples = 0;
+        private long lBytes = 0;
+
+        private Part(String strName) {
+            this.strName = strName;
+        }
+    }
+}
@@ -8,8 +8,7 @@ import java.util.Properties;
 
 import org.openrefine.rdf.RDFTransform;
 import org.openrefine.rdf.model.Util;
-import org.openrefine.rdf.model.operation.ExportRDFRecordVisitor;
-import org.openrefine.rdf.model.operation.ExportRDFRowVisitor;
+import org.openrefine.rdf.model.operation.RDFExportProcess;
 import org.openrefine.rdf.model.operation.RDFVisitor;
 
 import com.google.refine.browsing.Engine;
@@ -34,6 +33,9 @@ import org.slf4j.LoggerFactory;
  *  are processed and dumped to persistent storage sequentially until complete.  Therefore, only discreet
  *  memory and processing are perform no matter how large the project data.  Additionally, the memory can
  *  be optimized for a predetermined size to minimize the number of memory to persistent storage writes.
+ *  When more than one export thread is configured, the data chunks are transformed in parallel and
+ *  written in their original order.  When the export pipeline is configured, the serialization runs on
+ *  its own thread (see PipedStreamRDF).  Duplicate statements may be dropped (see DedupStreamRDF).
  */
 public class RDFStreamExporter extends RDFExporter implements WriterExporter, StreamExporter {
     private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFStreamExporter");
@@ -62,6 +64,18 @@ public class RDFStreamExporter extends RDFExporter implements WriterExporter, St
 
     private void export(Project theProject, Properties options, Engine theEngine)
             throws IOException {
+        RDFExportProcess theProcess = this.trackExport(theProject);
+        try {
+            this.outputStream = theProcess.countBytes(this.outputStream);
+            this.export(theProject, theEngine, theProcess);
+        }
+        finally {
+            theProcess.done();
+        }
+    }
+
+    private void export(Project theProject, Engine theEngine, RDFExportProcess theProcess)
+            throws IOException {
         StreamRDF theWriter = null;
         // TODO: Reported Jena Bug:
         //      The Jena code says getWriterStream() will return null if the RDFFormat
@@ -81,27 +95,41 @@ public class RDFStreamExporter extends RDFExporter implements WriterExporter, St
         }
         if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("DEBUG:   Acquired writer: StreamRDFWriter.");
 
+        // If deduplicating, drop the statements already written...
+        if ( Util.isExportDedup() ) {
+            if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("DEBUG:   Using statement dedup.");
+            theWriter = new DedupStreamRDF( theWriter, Util.getExportDedupSize(), Util.isExportDedupOffHeap() );
+        }
+
+        // If pipelined, serialize (and dedup) on a dedicated thread...
+        PipedStreamRDF thePipe = null;
+        if ( Util.isExportPipeline() ) {
+            if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("DEBUG:   Using serializer pipeline.");
+            thePipe = new PipedStreamRDF(theWriter);
+            theWriter = thePipe;
+        }
+
         RDFTransform theTransform = RDFTransform.getRDFTransform(theProject);
         try {
             if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("  Starting RDF Export...");
             theWriter.start();
 
             // Process all records/rows of data for statements...
-            RDFVisitor theVisitor = null;
-            if ( theProject.recordModel.hasRecords() ) {
-                if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("    Process by Record Visitor...");
-                theVisitor = new ExportRDFRecordVisitor(theTransform, theWriter);
-            }
-            else {
-                if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("    Process by Row Visitor...");
-                theVisitor = new ExportRDFRowVisitor(theTransform, theWriter);
-            }
+            RDFVisitor theVisitor =
+                this.createStreamVisitor( theTransform, theProject, theProcess.countStatements(theWriter) );
+            theVisitor.setProcess(theProcess);
             theVisitor.buildModel(theProject, theEngine);
+            if ( theProcess.isCanceled() ) {
+                throw new RuntimeException("Export canceled: " + this.strName);
+            }
 
             theWriter.finish();
             if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("  ...Ended RDF Export.");
         }
         catch (Exception ex) {
+            if (thePipe != null) {
+                thePipe.abort();
+            }
             if ( Util.isDebugMode() ) RDFStreamExporter.logger.error("DEBUG: Error exporting " + this.strName, ex);
             if ( Util.isVerbose() || Util.isDebugMode() ) ex.printStackTrace();
             throw new RuntimeException(ex.getMessage(), ex);
@@ -0,0 +1,298 @@
+package org.openrefine.rdf.model.exporter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.openrefine.rdf.ApplicationContext;
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.Util;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.out.NodeFmtLib;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.sparql.core.Quad;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Class SortedRunStreamRDF
+ *
+ *  A stream that sorts the statements with a bounded amount of memory.  Each statement is held as an
+ *  N-Triples line ("subject predicate object", without the end " .").  As the N-Triples term forms
+ *  start the line, the line order is the subject, then predicate, then object order.  When the held
+ *  lines exceed the memory limit, they are sorted and spilled to a run file on disk.  The run files are
+ *  held in a spill directory created for the sort in RDF Transform's working directory (or the system
+ *  temporary directory when there is none).
+ *
+ *  After the statements are written, merge() reads the sorted, distinct lines from all the runs (an
+ *  external merge sort).  When there are more runs than can be merged at once, the runs are merged in
+ *  passes.  Call close() to remove the run files and the spill directory, whether the sort completed,
+ *  failed, or was canceled.
+ *
+ *  NOTE: Statements in named graphs are held in the default graph.
+ */
+public class SortedRunStreamRDF extends StreamRDFBase implements AutoCloseable {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:SortedRunStreamRDF");
+
+    static private final int iMaxFanIn = 64;      // ...run files merged at once
+    static private final int iLineOverhead = 56;  // ...estimated bytes per held line beyond its chars
+    static private final int iBufferSize = 1 << 16;
+
+    /*
+     * Interface LineConsumer
+     *
+     *  Receives the merged lines in sorted order.
+     */
+    public interface LineConsumer {
+        void accept(String strLine) throws IOException;
+    }
+
+    private final long lMemoryLimit;
+    private final Map<String, String> mapPrefixes = new LinkedHashMap<>();
+    private List<String> listLines = new ArrayList<>();
+    private long lMemory = 0;
+    private final List<Path> listRuns = new ArrayList<>();
+    private Path pathSpillDir = null;
+    private IOException exSpill = null; // ...a failed spill fails the merge
+    private int iSpills = 0;
+
+    public SortedRunStreamRDF(long lMemoryLimit) {
+        this(lMemoryLimit, 1L << 20);
+    }
+
+    SortedRunStreamRDF(long lMemoryLimit, long lMinimum) {
+        this.lMemoryLimit = Math.max(lMemoryLimit, lMinimum);
+    }
+
+    /*
+     * Method getSpills()
+     *
+     *      Get the number of runs spilled from memory (not counting the runs of merge passes).
+     */
+    int getSpills() {
+        return this.iSpills;
+    }
+
+    public Map<String, String> getPrefixes() {
+        return this.mapPrefixes;
+    }
+
+    @Override
+    public void prefix(String strPrefix, String strIRI) {
+        this.mapPrefixes.put(strPrefix, strIRI);
+    }
+
+    @Override
+    public void triple(Triple theTriple) {
+        String strLine =
+            NodeFmtLib.strNT( theTriple.getSubject() ) + " " +
+            NodeFmtLib.strNT( theTriple.getPredicate() ) + " " +
+            NodeFmtLib.strNT( theTriple.getObject() );
+        this.listLines.add(strLine);
+        this.lMemory += 2L * strLine.length() + SortedRunStreamRDF.iLineOverhead;
+        if ( this.lMemory > this.lMemoryLimit ) {
+            try {
+                this.spill();
+            }
+            catch (IOException ex) {
+                SortedRunStreamRDF.logger.error("ERROR: Spilling statements: " + ex.getMessage(), ex);
+                this.exSpill = ex;
+                throw new RuntimeException(ex.getMessage(), ex);
+            }
+        }
+    }
+
+    @Override
+    public void quad(Quad theQuad) {
+        this.triple( theQuad.asTriple() );
+    }
+
+    /*
+     * Method spill()
+     *
+     *      Sort the held lines and write them to a new run file.
+     */
+    private void spill() throws IOException {
+        Collections.sort(this.listLines);
+        Path pathRun = this.createRun();
+        try ( BufferedWriter theWriter = Files.newBufferedWriter(pathRun, StandardCharsets.UTF_8) ) {
+            for ( String strLine : this.listLines ) {
+                theWriter.write(strLine);
+                theWriter.write('\n');
+            }
+        }
+        if ( Util.isVerbose(3) || Util.isDebugMode() ) {
+            SortedRunStreamRDF.logger.info("Spilled " + this.listLines.size() + " statements to run " + this.listRuns.size());
+        }
+        this.listLines = new ArrayList<>();
+        this.lMemory = 0;
+        this.iSpills++;
+    }
+
+    /*
+     * Method merge()
+     *
+     *      Send the distinct lines, in sorted order, to the consumer.  When a spill failed, the held
+     *      statements are incomplete, so the merge fails.
+     */
+    public void merge(LineConsumer theConsumer) throws IOException {
+        if (this.exSpill != null) {
+            throw new IOException("Sort incomplete: " + this.exSpill.getMessage(), this.exSpill);
+        }
+        // If nothing was spilled, sort in memory...
+        if ( this.listRuns.isEmpty() ) {
+            Collections.sort(this.listLines);
+            String strLast = null;
+            for ( String strLine : this.listLines ) {
+                if ( ! strLine.equals(strLast) ) {
+                    theConsumer.accept(strLine);
+                    strLast = strLine;
+                }
+            }
+            this.listLines = new ArrayList<>();
+            return;
+        }
+
+        if ( ! this.listLines.isEmpty() ) {
+            this.spill();
+        }
+
+        // Reduce the runs by merge passes until they can be merged at once...
+        while ( this.listRuns.size() > SortedRunStreamRDF.iMaxFanIn ) {
+            List<Path> listGroup = new ArrayList<>( this.listRuns.subList(0, SortedRunStreamRDF.iMaxFanIn) );
+            Path pathRun = this.createRun();
+            try ( BufferedWriter theWriter = Files.newBufferedWriter(pathRun, StandardCharsets.UTF_8) ) {
+                this.mergeRuns(listGroup,
+                    (String strLine) -> {
+                        theWriter.write(strLine);
+                        theWriter.write('\n');
+                    }
+                );
+            }
+            for ( Path pathMerged : listGroup ) {
+                Files.deleteIfExists(pathMerged);
+            }
+            this.listRuns.subList(0, SortedRunStreamRDF.iMaxFanIn).clear();
+        }
+        this.mergeRuns(this.listRuns, theConsumer);
+    }
+
+    /*
+     * Method createRun()
+     *
+     *      Create a new, held run file in the spill directory, creating the directory on first use.
+     */
+    private Path createRun() throws IOException {
+        if (this.pathSpillDir == null) {
+            this.pathSpillDir = Files.createTempDirectory( SortedRunStreamRDF.getSpillRoot(), "rdft-sort-" );
+        }
+        Path pathRun = Files.createTempFile(this.pathSpillDir, "run-", ".nt");
+        this.listRuns.add(pathRun);
+        return pathRun;
+    }
+
+    static private Path getSpillRoot() throws IOException {
+        ApplicationContext theContext = RDFTransform.getGlobalContext();
+        File fileWorkingDir = ( theContext == null ? null : theContext.getWorkingDir() );
+        if (fileWorkingDir == null) {
+            return Paths.get( System.getProperty("java.io.tmpdir") );
+        }
+        return Files.createDirectories( fileWorkingDir.toPath() );
+    }
+
+    private void mergeRuns(List<Path> listMerge, LineConsumer theConsumer) throws IOException {
+        List<RunReader> listReaders = new ArrayList<>(listMerge.size());
+        PriorityQueue<RunReader> queueReaders = new PriorityQueue<>(listMerge.size());
+        try {
+            for ( Path pathRun : listMerge ) {
+                RunReader theReader = new RunReader(pathRun);
+                listReaders.add(theReader);
+                if ( theReader.next() ) {
+                    queueReaders.add(theReader);
+                }
+            }
+
+            String strLast = null;
+            while ( ! queueReaders.isEmpty() ) {
+                RunReader theReader = queueReaders.poll();
+                if ( ! theReader.strLine.equals(strLast) ) {
+                    theConsumer.accept(theReader.strLine);
+                    strLast = theReader.strLine;
+                }
+                if ( theReader.next() ) {
+                    queueReaders.add(theReader);
+                }
+            }
+        }
+        finally {
+            for ( RunReader theReader : listReaders ) {
+                theReader.close();
+            }
+        }
+    }
+
+    /*
+     * Method close()
+     *
+     *      Remove any run files and the spill directory.
+     */
+    @Override
+    public void close() {
+        for ( Path pathRun : this.listRuns ) {
+            try {
+                Files.deleteIfExists(pathRun);
+            }
+            catch (IOException ex) {
+                SortedRunStreamRDF.logger.warn("WARNING: Cannot remove sort run " + pathRun + ": " + ex.getMessage());
+            }
+        }
+        this.listRuns.clear();
+        if (this.pathSpillDir != null) {
+            try {
+                Files.deleteIfExists(this.pathSpillDir);
+            }
+            catch (IOException ex) {
+                SortedRunStreamRDF.logger.warn("WARNING: Cannot remove sort directory " + this.pathSpillDir + ": " + ex.getMessage());
+            }
+            this.pathSpillDir = null;
+        }
+        this.listLines = new ArrayList<>();
+    }
+
+    private static class RunReader implements Comparable<RunReader> {
+        private final BufferedReader theReader;
+        private String strLine = null;
+
+        private RunReader(Path pathRun) throws IOException {
+            this.theReader = new BufferedReader(
+                Files.newBufferedReader(pathRun, StandardCharsets.UTF_8), SortedRunStreamRDF.iBufferSize );
+        }
+
+        private boolean next() throws IOException {
+            this.strLine = this.theReader.readLine();
+            return (this.strLine != null);
+        }
+
+        private void close() throws IOException {
+            this.theReader.close();
+        }
+
+        @Override
+        public int compareTo(RunReader theOther) {
+            return this.strLine.compareTo(theOther.strLine);
+        }
+    }
+}
@@ -30,21 +30,40 @@ import org.slf4j.LoggerFactory;
 public class RDFTransformBinder implements Binder {
     private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFBinder");
 
-    private Project theProject;
-    private String strLastBoundBaseIRI;
+    // The bindings key of a bindings' state.  As the key is not a string, it is not seen by expressions...
+    static private final Object keyState = new Object();
+
     //private final String strBindError = "Unable to bind baseIRI.";
 
+    /*
+     * Class BindState
+     *
+     *  The binder's state for one set of bindings.  The binder is a single instance used by all
+     *  bindings, in all threads, so the project and the version of the bound baseIRI are held by the
+     *  bindings themselves.
+     */
+    static private class BindState {
+        private final Project theProject;
+        private long lVersion;
+
+        private BindState(Project theProject, long lVersion) {
+            this.theProject = theProject;
+            this.lVersion = lVersion;
+        }
+    }
+
     public RDFTransformBinder() {
         super();
-        this.strLastBoundBaseIRI = null;
     }
 
     @Override
     public void initializeBindings(Properties theBindings, Project theProject) {
-        this.theProject = theProject;
         if ( Util.isVerbose(3) ) RDFTransformBinder.logger.info("Bind baseIRI...");
-        this.strLastBoundBaseIRI = RDFTransform.getRDFTransform(this.theProject).getBaseIRIAsString();
-        theBindings.put("baseIRI", this.strLastBoundBaseIRI);
+        RDFTransform theTransform = RDFTransform.getRDFTransform(theProject);
+        // Get the version stamp before the baseIRI so a change between them is seen by bind()...
+        long lVersion = theTransform.getVersionStamp();
+        theBindings.put("baseIRI", theTransform.getBaseIRIAsString());
+        theBindings.put( RDFTransformBinder.keyState, new BindState(theProject, lVersion) );
     }
 
     @Override
@@ -53,15 +72,20 @@ public class RDFTransformBinder implements Binder {
         // Update the baseIRI
         //
         // The baseIRI is already added by the initializeBindings() above.
-        // The put() call replaces it.
-    
-        // Get the current baseIRI...
-        String strCurrentBaseIRI = RDFTransform.getRDFTransform(this.theProject).getBaseIRIAsString();
-        // If the current baseIRI is new...
-        if ( ! this.strLastBoundBaseIRI.equals(strCurrentBaseIRI) ) {
+        // The put() call replaces it only when the transform has changed (or was replaced) since it was
+        // bound, so a cell's binding only compares the transform's version.
+
+        BindState theState = (BindState) theBindings.get(RDFTransformBinder.keyState);
+        if (theState == null) {
+            return;
+        }
+        RDFTransform theTransform = RDFTransform.getRDFTransform(theState.theProject);
+        long lVersion = theTransform.getVersionStamp();
+        // If the transform is new or changed...
+        if ( lVersion != theState.lVersion ) {
             // Replace the bound baseIRI...
-            theBindings.put("baseIRI", strCurrentBaseIRI);
-            strLastBoundBaseIRI = strCurrentBaseIRI;
+            theBindings.put("baseIRI", theTransform.getBaseIRIAsString());
+            theState.lVersion = lVersion;
         }
     }
 }
@@ -8,8 +8,7 @@ import com.google.refine.grel.ControlFunctionRegistry;
 import com.google.refine.grel.Function;
 
 import org.openrefine.rdf.model.Util;
-
-import org.apache.jena.iri.IRI;
+import org.openrefine.rdf.model.utils.SimpleIRIValidator;
 
 /*
  * Class ToIRIString: Convert string to qualify as an RDF IRI component
@@ -19,6 +18,18 @@ import org.apache.jena.iri.IRI;
  */
 
 public class ToIRIString implements Function {
+    // The conversion stages (see toIRIString())...
+    static private final Pattern patUnallowed =
+        Pattern.compile("[" + Util.WHITESPACE + Pattern.quote("<>\"{}|\\^`") + "]+");
+    static private final Pattern patUnsupported =
+        Pattern.compile("[^-\\p{N}\\p{L}_\\.~:/\\?#\\[\\]@\\%!\\$&'\\(\\)\\*\\+,;=]+");
+    static private final Pattern patLeadingSlashes = Pattern.compile("^(:?/+)+");
+    static private final Pattern patSubDelims = Pattern.compile("[!\\$&'\\(\\)\\*\\+,;=]+");
+    static private final Pattern patGenDelims = Pattern.compile("[\\?#\\[\\]@]+");
+    static private final Pattern patSlashes = Pattern.compile("/+");
+    static private final Pattern patColons = Pattern.compile(":+");
+    static private final Pattern patReserved = Pattern.compile("[^-\\p{N}\\p{L}_\\.~]+");
+    static private final Pattern patUnderscores = Pattern.compile("__+");
 
     public Object call(Properties bindings, Object[] args) {
         //String strBaseIRI = bindings.get("baseIRI").toString();
@@ -36,70 +47,73 @@ public class ToIRIString implements Function {
         return ToIRIString.toIRIString(strConvert);
     }
 
+    /*
+     * Method toIRIString()
+     *
+     *      Convert the string to an acceptable IRI (absolute or relative) by narrowing it in stages until
+     *      it is accepted, or return null when it cannot be converted.  The stage patterns are compiled
+     *      once and the IRI checks use the fast validator (see SimpleIRIValidator).  A stage that
+     *      leaves the string unchanged is not checked again, as the string is still not acceptable.
+     *      NOTE: The stages are not merged into a single pass: the conversion stops at the first
+     *          acceptable stage, and whether a stage's result is acceptable is decided by the full IRI
+     *          checker, so merging would change the output for strings accepted at an early stage.
+     */
     static public String toIRIString(String strConvert) {
         String strUnderscore = "_";
         int iTry = 0;
+        boolean bCheck = true;
         do {
             // Test if it's an acceptable IRI now (absolute or relative)...
-            IRI theIRI = Util.buildIRI(strConvert, true);
-            if (theIRI == null) {
-                if (iTry > 7) {
-                    strConvert = null; // ...cannot convert to IRI
-                    break;
-                }
-                // ...continue by narrowing the conversion string...
+            if ( bCheck && SimpleIRIValidator.isValid(strConvert) ) {
+                break;
             }
-            else {
+            if (iTry > 7) {
+                strConvert = null; // ...cannot convert to IRI
                 break;
             }
+            // ...continue by narrowing the conversion string...
 
+            String strPrevious = strConvert;
             switch (iTry) {
                 case 0:
                     // Replace whitespace and unallowed characters with underscores...
-                    strConvert =
-                        Util.replaceAll(strConvert,
-                                "[" + Util.WHITESPACE + Pattern.quote("<>\"{}|\\^`") + "]+",
-                                strUnderscore);
+                    strConvert = ToIRIString.patUnallowed.matcher(strConvert).replaceAll(strUnderscore);
                     break;
                 case 1:
                     // Replace any unsupported characters with underscores...
-                    strConvert =
-                        Util.replaceAll(strConvert,
-                            "[^-\\p{N}\\p{L}_\\.~:/\\?#\\[\\]@\\%!\\$&'\\(\\)\\*\\+,;=]+",
-                            strUnderscore);
+                    strConvert = ToIRIString.patUnsupported.matcher(strConvert).replaceAll(strUnderscore);
                     break;
                 case 2:
                     // Replace (multiple) leading ":/+" or "/+" with underscores...
-                    strConvert = Util.replaceFirst(strConvert, "^(:?/+)+", strUnderscore);
+                    strConvert = ToIRIString.patLeadingSlashes.matcher(strConvert).replaceFirst(strUnderscore);
                     break;
                 case 3:
                     // Replace sub-delim characters with underscores...
-                    strConvert =
-                        Util.replaceAll(strConvert, "[!\\$&'\\(\\)\\*\\+,;=]+", strUnderscore);
+                    strConvert = ToIRIString.patSubDelims.matcher(strConvert).replaceAll(strUnderscore);
                     break;
                 case 4:
                     // Replace gen-delim (but not ":" and "/") characters with underscores...
-                    strConvert =
-                        Util.replaceAll(strConvert, "[\\?#\\[\\]@]+", strUnderscore);
+                    strConvert = ToIRIString.patGenDelims.matcher(strConvert).replaceAll(strUnderscore);
                     break;
                 case 5:
                     // Replace "/" characters with underscores...
-                    strConvert =
-                        Util.replaceAll(strConvert, "/+", strUnderscore);
+                    strConvert = ToIRIString.patSlashes.matcher(strConvert).replaceAll(strUnderscore);
                     break;
                 case 6:
                     // Replace ":" characters with underscores...
-                    strConvert =
-                        Util.replaceAll(strConvert, ":+", strUnderscore);
+                    strConvert = ToIRIString.patColons.matcher(strConvert).replaceAll(strUnderscore);
                     break;
                 default: //...should not occur but here for completeness...
                     // Replace all but Unreserved characters with underscores...
-                    strConvert =
-                        Util.replaceAll(strConvert, "[^-\\p{N}\\p{L}_\\.~]+", strUnderscore);
+                    strConvert = ToIRIString.patReserved.matcher(strConvert).replaceAll(strUnderscore);
                     break;
             }
             // Condense underscores...
-            strConvert = strConvert.replaceAll("__+", strUnderscore);
+            if ( strConvert.contains("__") ) {
+                strConvert = ToIRIString.patUnderscores.matcher(strConvert).replaceAll(strUnderscore);
+            }
+            // An unchanged string is still not acceptable...
+            bCheck = ! strConvert.equals(strPrevious);
             ++iTry;
         } while (true);
 
@@ -0,0 +1,383 @@
+package org.openrefine.rdf.model.operation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.TransformPlan;
+import org.openrefine.rdf.model.Util;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.browsing.FilteredRecords;
+import com.google.refine.browsing.FilteredRows;
+import com.google.refine.browsing.RecordVisitor;
+import com.google.refine.browsing.RowVisitor;
+import com.google.refine.model.Project;
+import com.google.refine.model.Record;
+import com.google.refine.model.Row;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFBase;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Class ExportRDFParallelVisitor
+ *
+ *  A visitor used to export RDF on a pool of worker threads.  The filtered rows (or records) are gathered
+ *  into fixed size partitions as they are visited.  Each partition is transformed by a worker using its
+ *  own export visitor on the shared, immutable plan of the transform.  The statements from each partition
+ *  are written to the writer in partition order, so the rows (or records) are written in the same order
+ *  as the sequential export.  When the statements are written directly (see RDFVisitor.isDirect()), the
+ *  output is the same as the sequential export.  Otherwise, a row's statements are flushed from a model
+ *  renewed per partition, so the output does not depend on the number of workers, but the statement
+ *  order within a row may differ from the sequential export.
+ *  Only a limited number of partitions are held in memory at any time.
+ */
+public class ExportRDFParallelVisitor extends RDFVisitor implements RowVisitor, RecordVisitor {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:ExportRDFParV");
+
+    static private final int iPartitionSize = 1024;   // ...rows or records per partition
+    static private final int iPartitionsPerThread = 2; // ...partitions in flight per worker
+
+    private final boolean bRecords;
+    private final int iThreads;
+    private final int iMaxPending;
+    private final Deque< Future<Partition> > queuePending;
+    private final ThreadLocal<Worker> theWorker;
+    private final List<Worker> listWorkers = Collections.synchronizedList( new ArrayList<Worker>() );
+
+    private ExecutorService theExecutor = null;
+    private Project theProject = null;
+    private int[] aiRowIndices = null;
+    private Record[] aRecords = null;
+    private int iCount = 0;
+    private boolean bStopped = false;
+
+    public ExportRDFParallelVisitor(RDFTransform theTransform, StreamRDF theWriter,
+                                    boolean bRecords, int iThreads) {
+        super(theTransform, theWriter);
+        this.bRecords = bRecords;
+        this.iThreads = Math.max(iThreads, 1);
+        this.iMaxPending = this.iThreads * ExportRDFParallelVisitor.iPartitionsPerThread;
+        this.queuePending = new ArrayDeque<>(this.iMaxPending + 1);
+        this.theWorker = ThreadLocal.withInitial( () -> new Worker() );
+        if ( Util.isDebugMode() ) ExportRDFParallelVisitor.logger.info("DEBUG: Created with " + this.iThreads + " threads...");
+    }
+
+    public void buildModel(Project theProject, Engine theEngine) {
+        try {
+            if ( this.bRecords ) {
+                FilteredRecords filteredRecords = theEngine.getFilteredRecords();
+                if ( Util.isVerbose(3) ) ExportRDFParallelVisitor.logger.info("buildModel: visit matching filtered records");
+                filteredRecords.accept(theProject, this);
+            }
+            else {
+                FilteredRows filteredRows = theEngine.getAllFilteredRows();
+                if ( Util.isVerbose(3) ) ExportRDFParallelVisitor.logger.info("buildModel: visit matching filtered rows");
+                filteredRows.accept(theProject, this);
+            }
+        }
+        finally {
+            this.shutdown();
+        }
+    }
+
+    @Override
+    public void start(Project theProject) {
+        super.start(theProject); // ...export the prefixes
+
+        this.theProject = theProject;
+        this.iCount = 0;
+        this.bStopped = false;
+        if ( this.bRecords ) {
+            this.aRecords = new Record[ExportRDFParallelVisitor.iPartitionSize];
+        }
+        else {
+            this.aiRowIndices = new int[ExportRDFParallelVisitor.iPartitionSize];
+        }
+
+        final AtomicInteger iThreadNumber = new AtomicInteger(0);
+        ThreadFactory theFactory =
+            (Runnable theRunnable) -> {
+                Thread theThread = new Thread(theRunnable, "RDFT-Export-" + iThreadNumber.incrementAndGet());
+                theThread.setDaemon(true);
+                return theThread;
+            };
+        this.theExecutor = Executors.newFixedThreadPool(this.iThreads, theFactory);
+    }
+
+    @Override
+    public void end(Project theProject) {
+        // Process any remaining partial partition and write all pending partitions...
+        if ( ! this.bStopped && this.iCount > 0 ) {
+            this.dispatch();
+        }
+        while ( ! this.queuePending.isEmpty() ) {
+            this.drainOne();
+        }
+        this.shutdown();
+
+        super.end(theProject);
+    }
+
+    /*
+     * Method getMemoHits()
+     *
+     *      Get the expression memo hits of all the workers' evaluations.
+     */
+    @Override
+    public long getMemoHits() {
+        long lHits = 0;
+        synchronized (this.listWorkers) {
+            for ( Worker theWorker : this.listWorkers ) {
+                lHits += theWorker.theVisitor.getMemoHits();
+            }
+        }
+        return lHits;
+    }
+
+    @Override
+    public long getMemoMisses() {
+        long lMisses = 0;
+        synchronized (this.listWorkers) {
+            for ( Worker theWorker : this.listWorkers ) {
+                lMisses += theWorker.theVisitor.getMemoMisses();
+            }
+        }
+        return lMisses;
+    }
+
+    public boolean visit(Project theProject, int iRowIndex, Row theRow) {
+        if ( this.bStopped || this.testCanceled() ) {
+            return true;
+        }
+        if ( this.isExported(iRowIndex) ) {
+            return false;
+        }
+        this.aiRowIndices[this.iCount++] = iRowIndex;
+        if ( this.iCount == ExportRDFParallelVisitor.iPartitionSize ) {
+            this.dispatch();
+        }
+        return this.bStopped;
+    }
+
+    public boolean visit(Project theProject, Record theRecord) {
+        if ( this.bStopped || this.testCanceled() ) {
+            return true;
+        }
+        if ( this.isExported(theRecord.recordIndex) ) {
+            return false;
+        }
+        this.aRecords[this.iCount++] = theRecord;
+        if ( this.iCount == ExportRDFParallelVisitor.iPartitionSize ) {
+            this.dispatch();
+        }
+        return this.bStopped;
+    }
+
+    /*
+     * Method testCanceled()
+     *
+     *      On a canceled export, stop visiting and drop the pending partitions.
+     */
+    private boolean testCanceled() {
+        if ( this.isCanceled() ) {
+            if ( Util.isVerbose(2) || Util.isDebugMode() ) ExportRDFParallelVisitor.logger.info("Export canceled");
+            this.bStopped = true;
+            this.cancelPending();
+            return true;
+        }
+        return false;
+    }
+
+    /*
+     * Method dispatch()
+     *
+     *      Submit the current partition to the worker pool.  When the pending partition limit is
+     *      reached, the oldest partition is written first to keep the memory use bounded.
+     */
+    private void dispatch() {
+        final Partition thePartition = new Partition(this.iCount);
+        if ( this.bRecords ) {
+            thePartition.aRecords = this.aRecords;
+            thePartition.iLastIndex = this.aRecords[this.iCount - 1].recordIndex;
+            this.aRecords = new Record[ExportRDFParallelVisitor.iPartitionSize];
+        }
+        else {
+            thePartition.aiRowIndices = this.aiRowIndices;
+            thePartition.iLastIndex = this.aiRowIndices[this.iCount - 1];
+            this.aiRowIndices = new int[ExportRDFParallelVisitor.iPartitionSize];
+        }
+        this.iCount = 0;
+
+        Callable<Partition> theTask = () -> this.theWorker.get().transform(thePartition);
+        this.queuePending.add( this.theExecutor.submit(theTask) );
+
+        while ( this.queuePending.size() >= this.iMaxPending && ! this.bStopped ) {
+            this.drainOne();
+        }
+    }
+
+    /*
+     * Method drainOne()
+     *
+     *      Wait on the oldest pending partition and write its statements to the writer.
+     */
+    private void drainOne() {
+        Future<Partition> theFuture = this.queuePending.poll();
+        Partition thePartition = null;
+        try {
+            thePartition = theFuture.get();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            this.cancelPending();
+            throw new RuntimeException("Export interrupted", ex);
+        }
+        catch (ExecutionException ex) {
+            this.cancelPending();
+            Throwable theCause = ( ex.getCause() == null ? ex : ex.getCause() );
+            ExportRDFParallelVisitor.logger.error("ERROR: Partition Issue: " + theCause.getMessage(), theCause);
+            throw new RuntimeException(theCause.getMessage(), theCause);
+        }
+
+        StreamRDF theWriter = this.getWriter();
+        for ( Triple theTriple : thePartition.listTriples ) {
+            theWriter.triple(theTriple);
+        }
+        this.visitBoundary();
+        this.visitProgress(thePartition.iSize, thePartition.iLastIndex);
+
+        // If the partition stopped (a visit issue), stop as the sequential visitor would...
+        if ( thePartition.bStopped ) {
+            this.bStopped = true;
+            this.cancelPending();
+        }
+    }
+
+    private void cancelPending() {
+        for ( Future<Partition> theFuture : this.queuePending ) {
+            theFuture.cancel(true);
+        }
+        this.queuePending.clear();
+    }
+
+    private void shutdown() {
+        if ( this.theExecutor != null ) {
+            this.cancelPending();
+            this.theExecutor.shutdownNow();
+            this.theExecutor = null;
+        }
+    }
+
+    /*
+     * Class Partition
+     *
+     *  A contiguous set of visited rows (or records) and the statements they produced.
+     */
+    private static class Partition {
+        private final int iSize;
+        private int iLastIndex = -1;
+        private int[] aiRowIndices = null;
+        private Record[] aRecords = null;
+        private List<Triple> listTriples = null;
+        private boolean bStopped = false;
+
+        private Partition(int iSize) {
+            this.iSize = iSize;
+        }
+    }
+
+    /*
+     * Class PartitionWriter
+     *
+     *  A stream that collects the statements written by a worker's export visitor.
+     *  The prefixes are exported only once by the parallel visitor.
+     */
+    private static class PartitionWriter extends StreamRDFBase {
+        private List<Triple> listTriples = new ArrayList<>();
+
+        @Override
+        public void triple(Triple theTriple) {
+            this.listTriples.add(theTriple);
+        }
+
+        private List<Triple> take() {
+            List<Triple> listTaken = this.listTriples;
+            this.listTriples = new ArrayList<>();
+            return listTaken;
+        }
+    }
+
+    /*
+     * Class Worker
+     *
+     *  The per thread processor holding the export visitor (and its evaluation context) used to
+     *  transform the partitions.  All workers use the plan held by this visitor, so a change to
+     *  the transform during the export does not affect it.
+     */
+    private class Worker {
+        private final PartitionWriter theCollector = new PartitionWriter();
+        private final RowVisitor theRowVisitor;
+        private final RecordVisitor theRecordVisitor;
+        private final RDFVisitor theVisitor;
+
+        private Worker() {
+            RDFTransform theTransform = ExportRDFParallelVisitor.this.getRDFTransform();
+            TransformPlan thePlan = ExportRDFParallelVisitor.this.getPlan();
+            if ( ExportRDFParallelVisitor.this.bRecords ) {
+                ExportRDFRecordVisitor theRecordVisitor =
+                    new ExportRDFRecordVisitor(theTransform, thePlan, this.theCollector);
+                this.theRowVisitor = null;
+                this.theRecordVisitor = theRecordVisitor;
+                this.theVisitor = theRecordVisitor;
+            }
+            else {
+                ExportRDFRowVisitor theRowVisitor = new ExportRDFRowVisitor(theTransform, thePlan, this.theCollector);
+                this.theRowVisitor = theRowVisitor;
+                this.theRecordVisitor = null;
+                this.theVisitor = theRowVisitor;
+            }
+            ExportRDFParallelVisitor.this.listWorkers.add(this);
+        }
+
+        private Partition transform(Partition thePartition) {
+            Project theProject = ExportRDFParallelVisitor.this.theProject;
+            this.theVisitor.renewModel();
+            for (int iIndex = 0; iIndex < thePartition.iSize; iIndex++) {
+                if ( Thread.currentThread().isInterrupted() ) {
+                    break;
+                }
+                boolean bStop;
+                if ( thePartition.aRecords != null ) {
+                    bStop = this.theRecordVisitor.visit(theProject, thePartition.aRecords[iIndex]);
+                }
+                else {
+                    int iRowIndex = thePartition.aiRowIndices[iIndex];
+                    bStop = this.theRowVisitor.visit(theProject, iRowIndex, theProject.rows.get(iRowIndex));
+                }
+                if ( bStop ) {
+                    thePartition.bStopped = true;
+                    break;
+                }
+            }
+            thePartition.listTriples = this.theCollector.take();
+            thePartition.aiRowIndices = null;
+            thePartition.aRecords = null;
+            return thePartition;
+        }
+    }
+}
@@ -4,12 +4,12 @@ import java.util.List;
 
 import org.openrefine.rdf.RDFTransform;
 import org.openrefine.rdf.model.ResourceNode;
+import org.openrefine.rdf.model.TransformPlan;
 import org.openrefine.rdf.model.Util;
 
 import com.google.refine.model.Project;
 import com.google.refine.model.Record;
 
-import org.apache.jena.iri.IRI;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.riot.system.StreamRDF;
 
@@ -19,19 +19,37 @@ import org.slf4j.LoggerFactory;
 public class ExportRDFRecordVisitor extends RDFRecordVisitor {
     private final static Logger logger = LoggerFactory.getLogger("RDFT:ExportRDFRecV");
 
+    public ExportRDFRecordVisitor(RDFTransform theTransform, TransformPlan thePlan, StreamRDF theWriter) {
+        super(theTransform, thePlan, theWriter);
+    }
+
     public ExportRDFRecordVisitor(RDFTransform theTransform, StreamRDF theWriter) {
         super(theTransform, theWriter);
         if ( Util.isDebugMode() ) ExportRDFRecordVisitor.logger.info("DEBUG: Created...");
     }
 
     public boolean visit(Project theProject, Record theRecord) {
+        // Test for a canceled export...
+        if ( this.isCanceled() ) {
+            if ( Util.isVerbose(2) || Util.isDebugMode() ) ExportRDFRecordVisitor.logger.info("Export canceled");
+            return true; // ...stop visitation process
+        }
+        // Skip the records exported before a resume...
+        if ( this.isExported(theRecord.recordIndex) ) {
+            return false;
+        }
         try {
             if ( Util.isDebugMode() ) ExportRDFRecordVisitor.logger.info("DEBUG: Visiting Record: " + theRecord.recordIndex);
-            IRI baseIRI = this.getRDFTransform().getBaseIRI();
-            List<ResourceNode> listRoots = this.getRDFTransform().getRoots();
+            List<ResourceNode> listRoots = this.getPlan().getRoots();
             for ( ResourceNode root : listRoots ) {
+                // If direct, the statements are written to the writer as they are created...
+                if ( this.isDirect() ) {
+                    root.createStatements( this.getContext(theProject), theRecord );
+                    continue;
+                }
+
                 this.theModel.enterCriticalSection(Model.WRITE);
-                root.createStatements(baseIRI, theModel, theProject, theRecord);
+                root.createStatements( this.getContext(theProject), theRecord );
                 this.theModel.leaveCriticalSection();
 
                 if ( Util.isDebugMode() ) {
@@ -58,6 +76,8 @@ public class ExportRDFRecordVisitor extends RDFRecordVisitor {
 
             // Flush any remaining statements...
             this.flushStatements();
+            this.visitBoundary();
+            this.visitProgress(1, theRecord.recordIndex);
         }
         catch (Exception ex) {
             ExportRDFRecordVisitor.logger.error("ERROR: Visit Issue: " + ex.getMessage(), ex);
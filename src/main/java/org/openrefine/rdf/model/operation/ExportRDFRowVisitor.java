@@ -4,12 +4,12 @@ import java.util.List;
 
 import org.openrefine.rdf.RDFTransform;
 import org.openrefine.rdf.model.ResourceNode;
+import org.openrefine.rdf.model.TransformPlan;
 import org.openrefine.rdf.model.Util;
 
 import com.google.refine.model.Project;
 import com.google.refine.model.Row;
 
-import org.apache.jena.iri.IRI;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.riot.system.StreamRDF;
 
@@ -19,18 +19,36 @@ import org.slf4j.LoggerFactory;
 public class ExportRDFRowVisitor extends RDFRowVisitor {
     private final static Logger logger = LoggerFactory.getLogger("RDFT:ExportRDFRowV");
 
+    public ExportRDFRowVisitor(RDFTransform theTransform, TransformPlan thePlan, StreamRDF theWriter) {
+        super(theTransform, thePlan, theWriter);
+    }
+
     public ExportRDFRowVisitor(RDFTransform theTransform, StreamRDF theWriter) {
         super(theTransform, theWriter);
     }
 
     public boolean visit(Project theProject, int iRowIndex, Row theRow) {
+        // Test for a canceled export...
+        if ( this.isCanceled() ) {
+            if ( Util.isVerbose(2) || Util.isDebugMode() ) ExportRDFRowVisitor.logger.info("Export canceled");
+            return true; // ...stop visitation process
+        }
+        // Skip the rows exported before a resume...
+        if ( this.isExported(iRowIndex) ) {
+            return false;
+        }
         try {
             if ( Util.isDebugMode() ) ExportRDFRowVisitor.logger.info("DEBUG: Visiting Row: " + iRowIndex);
-            IRI baseIRI = this.getRDFTransform().getBaseIRI();
-            List<ResourceNode> listRoots = this.getRDFTransform().getRoots();
+            List<ResourceNode> listRoots = this.getPlan().getRoots();
             for ( ResourceNode root : listRoots ) {
+                // If direct, the statements are written to the writer as they are created...
+                if ( this.isDirect() ) {
+                    root.createStatements( this.getContext(theProject), iRowIndex );
+                    continue;
+                }
+
                 this.theModel.enterCriticalSection(Model.WRITE);
-                root.createStatements(baseIRI, theModel, theProject, iRowIndex);
+                root.createStatements( this.getContext(theProject), iRowIndex );
                 this.theModel.leaveCriticalSection();
 
                 if ( Util.isDebugMode() ) {
@@ -57,6 +75,8 @@ public class ExportRDFRowVisitor extends RDFRowVisitor {
 
             // Flush any remaining statements...
             this.flushStatements();
+            this.visitBoundary();
+            this.visitProgress(1, iRowIndex);
         }
         catch (Exception ex) {
             ExportRDFRowVisitor.logger.error("ERROR: Visit Issue: " + ex.getMessage(), ex);
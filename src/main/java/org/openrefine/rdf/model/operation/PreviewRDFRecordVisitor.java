@@ -9,7 +9,6 @@ import org.openrefine.rdf.model.Util;
 import com.google.refine.model.Project;
 import com.google.refine.model.Record;
 
-import org.apache.jena.iri.IRI;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.riot.system.StreamRDF;
 
@@ -35,11 +34,10 @@ public class PreviewRDFRecordVisitor extends RDFRecordVisitor {
         }
         try {
             if ( Util.isDebugMode() ) PreviewRDFRecordVisitor.logger.info("DEBUG: Visiting Record: " + theRecord.recordIndex + " on count: " +  this.iCount);
-            IRI baseIRI = this.getRDFTransform().getBaseIRI();
-            List<ResourceNode> listRoots = this.getRDFTransform().getRoots();
+            List<ResourceNode> listRoots = this.getPlan().getRoots();
             for ( ResourceNode root : listRoots ) {
                 this.theModel.enterCriticalSection(Model.WRITE);
-                root.createStatements(baseIRI, this.theModel, theProject, theRecord);
+                root.createStatements( this.getContext(theProject), theRecord );
                 this.theModel.leaveCriticalSection();
 
                 if ( Util.isDebugMode() ) {
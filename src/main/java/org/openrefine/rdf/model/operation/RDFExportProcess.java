@@ -0,0 +1,335 @@
+package org.openrefine.rdf.model.operation;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.utils.IRICache;
+
+import com.google.refine.model.Project;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import org.apache.commons.io.output.CountingOutputStream;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWrapper;
+import org.apache.jena.sparql.core.Quad;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Class RDFExportProcess
+ *
+ *  A tracker used to report an export's progress: the rows or records visited, the statements written,
+ *  the bytes output, and the statement rate.  Its JSON (see the properties below) is returned by the
+ *  progress command.
+ *
+ *  An export is never queued in the project's process manager: the manager runs its processes one at a
+ *  time, so a queued export would hold back the project's operations until it ends.  Instead, track()
+ *  holds the tracker in a registry of the project's active exports until done() (see getTracked() and
+ *  cancelTracked()).  A foreground export (a download) runs on the requesting thread.  A background
+ *  export (see RDFExportJob) runs on a job thread and holds its own tracker, pending until it starts.
+ *
+ *  The IRI resolution cache (see Util.resolveIRI()) is shared by all exports, so its hits and misses are
+ *  counted from the start of the tracker and may include those of a concurrent export.
+ *
+ *  Cancelling the tracker stops the export at the next row or record: the export visitors check
+ *  isCanceled() on each visit.
+ */
+public class RDFExportProcess {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFExportProcess");
+
+    // The active exports by project...
+    static private final Map<Long, Set<RDFExportProcess>> mapTracked = new ConcurrentHashMap<>();
+    static private final AtomicLong alIDs = new AtomicLong(0);
+
+    private final long lID;
+    private final String strDescription;
+    private final long lProjectID;
+    private final int iTotal; // ...rows or records in the project
+    private final long lStart;
+    private volatile boolean bRunning = false;
+    private volatile boolean bDone = false;
+    private volatile boolean bCanceled = false;
+    private volatile int iProgress = 0;
+    private volatile long lVisited = 0;
+    private volatile long lStatements = 0;
+    private volatile long lMemoHits = 0;
+    private volatile long lMemoMisses = 0;
+    private volatile List<String> listProblems = List.of();
+    private final long lIRIHitsStart;
+    private final long lIRIMissesStart;
+    private CountingOutputStream osCounter = null;
+
+    public RDFExportProcess(String strDescription, Project theProject) {
+        this.lID = RDFExportProcess.alIDs.incrementAndGet();
+        this.strDescription = strDescription;
+        this.lProjectID = theProject.id;
+        if ( theProject.recordModel.hasRecords() ) {
+            this.iTotal = theProject.recordModel.getRecordCount();
+        }
+        else {
+            this.iTotal = theProject.rows.size();
+        }
+        this.lStart = System.currentTimeMillis();
+        IRICache theCache = Util.getIRICache();
+        this.lIRIHitsStart = ( theCache == null ? 0 : theCache.getHits() );
+        this.lIRIMissesStart = ( theCache == null ? 0 : theCache.getMisses() );
+    }
+
+    /*
+     * Method track()
+     *
+     *      Create a running tracker for a foreground export and hold it in the project's active exports.
+     *      The caller must end the tracker with done() when the export ends.
+     */
+    static public RDFExportProcess track(String strDescription, Project theProject) {
+        RDFExportProcess theProcess = RDFExportProcess.track( new RDFExportProcess(strDescription, theProject) );
+        theProcess.start();
+        return theProcess;
+    }
+
+    /*
+     * Method track()
+     *
+     *      Hold the tracker in its project's active exports, pending until start().  The caller must end
+     *      the tracker with done() when the export ends.
+     */
+    static public RDFExportProcess track(RDFExportProcess theProcess) {
+        RDFExportProcess.mapTracked.compute( theProcess.lProjectID,
+            (Long lKey, Set<RDFExportProcess> setProcesses) -> {
+                if (setProcesses == null) {
+                    setProcesses = ConcurrentHashMap.newKeySet();
+                }
+                setProcesses.add(theProcess);
+                return setProcesses;
+            }
+        );
+        return theProcess;
+    }
+
+    /*
+     * Method getTracked()
+     *
+     *      Get the project's active exports.
+     */
+    static public List<RDFExportProcess> getTracked(long lProjectID) {
+        Set<RDFExportProcess> setProcesses = RDFExportProcess.mapTracked.get(lProjectID);
+        if (setProcesses == null) {
+            return List.of();
+        }
+        return new ArrayList<>(setProcesses);
+    }
+
+    /*
+     * Method cancelTracked()
+     *
+     *      Cancel the project's active exports, or only the one with the given id when the id is not 0.
+     *      Return the number canceled.
+     */
+    static public int cancelTracked(long lProjectID, long lID) {
+        int iCanceled = 0;
+        for ( RDFExportProcess theProcess : RDFExportProcess.getTracked(lProjectID) ) {
+            if ( lID == 0 || theProcess.getId() == lID ) {
+                theProcess.cancel();
+                iCanceled++;
+            }
+        }
+        return iCanceled;
+    }
+
+    /*
+     * Method countBytes()
+     *
+     *      Wrap the export's output stream to count the bytes output.
+     */
+    public OutputStream countBytes(OutputStream theOutput) {
+        this.osCounter = new CountingOutputStream(theOutput);
+        return this.osCounter;
+    }
+
+    /*
+     * Method countStatements()
+     *
+     *      Wrap the export's writer to count the statements written.
+     */
+    public StreamRDF countStatements(StreamRDF theWriter) {
+        return new StreamRDFWrapper(theWriter) {
+            @Override
+            public void triple(Triple theTriple) {
+                RDFExportProcess.this.lStatements++;
+                super.triple(theTriple);
+            }
+
+            @Override
+            public void quad(Quad theQuad) {
+                RDFExportProcess.this.lStatements++;
+                super.quad(theQuad);
+            }
+        };
+    }
+
+    /*
+     * Method visited()
+     *
+     *      Record the rows or records visited.  The progress is the position of the last visited row or
+     *      record in the project, so it is correct for filtered exports as well.
+     */
+    public void visited(int iCount, int iLastIndex) {
+        this.lVisited += iCount;
+        if (this.iTotal > 0) {
+            this.iProgress = (int) ( 100L * (iLastIndex + 1) / this.iTotal );
+        }
+    }
+
+    /*
+     * Method memoized()
+     *
+     *      Record the expression memo hits and misses of the export (see Util.getExportMemo()).
+     */
+    public void memoized(long lHits, long lMisses) {
+        this.lMemoHits = lHits;
+        this.lMemoMisses = lMisses;
+    }
+
+    /*
+     * Method setProblems()
+     *
+     *      Record the problems found in the exported transform (see TransformPlan.getProblems()).
+     */
+    public void setProblems(List<String> listProblems) {
+        this.listProblems = listProblems;
+    }
+
+    public void start() {
+        this.bRunning = true;
+    }
+
+    public void cancel() {
+        this.bCanceled = true;
+    }
+
+    @JsonIgnore
+    public boolean isCanceled() {
+        return this.bCanceled;
+    }
+
+    /*
+     * Method done()
+     *
+     *      End the tracker when the export ends (normally or not).  The tracker leaves the project's
+     *      active exports.
+     */
+    public void done() {
+        if ( Util.isVerbose(2) || Util.isDebugMode() ) {
+            RDFExportProcess.logger.info(
+                this.strDescription + ": " + this.lVisited + " visited, " + this.lStatements + " statements, " +
+                this.getBytes() + " bytes in " + this.getElapsed() + " ms" + ( this.bCanceled ? " (canceled)" : "" ) );
+            RDFExportProcess.logger.info(
+                this.strDescription + ": IRI cache " + this.getIRICacheHits() + " hits, " +
+                this.getIRICacheMisses() + " misses, " + this.getIRICacheSize() + " entries" );
+        }
+        if ( ! this.bCanceled ) {
+            this.iProgress = 100;
+        }
+        this.bRunning = false;
+        this.bDone = true;
+        RDFExportProcess.mapTracked.computeIfPresent( this.lProjectID,
+            (Long lKey, Set<RDFExportProcess> setProcesses) -> {
+                setProcesses.remove(this);
+                return ( setProcesses.isEmpty() ? null : setProcesses );
+            }
+        );
+    }
+
+    @JsonProperty("id")
+    public long getId() {
+        return this.lID;
+    }
+
+    @JsonProperty("description")
+    public String getDescription() {
+        return this.strDescription;
+    }
+
+    @JsonProperty("status")
+    public String getStatus() {
+        if (this.bDone) {
+            return ( this.bCanceled ? "canceled" : "done" );
+        }
+        return ( this.bRunning ? "running" : "pending" );
+    }
+
+    @JsonProperty("progress")
+    public int getProgress() {
+        return this.iProgress;
+    }
+
+    @JsonProperty("visited")
+    public long getVisited() {
+        return this.lVisited;
+    }
+
+    @JsonProperty("statements")
+    public long getStatements() {
+        return this.lStatements;
+    }
+
+    @JsonProperty("bytes")
+    public long getBytes() {
+        return ( this.osCounter == null ? 0 : this.osCounter.getByteCount() );
+    }
+
+    @JsonProperty("memoHits")
+    public long getMemoHits() {
+        return this.lMemoHits;
+    }
+
+    @JsonProperty("memoMisses")
+    public long getMemoMisses() {
+        return this.lMemoMisses;
+    }
+
+    @JsonProperty("iriCacheHits")
+    public long getIRICacheHits() {
+        IRICache theCache = Util.getIRICache();
+        return ( theCache == null ? 0 : theCache.getHits() - this.lIRIHitsStart );
+    }
+
+    @JsonProperty("iriCacheMisses")
+    public long getIRICacheMisses() {
+        IRICache theCache = Util.getIRICache();
+        return ( theCache == null ? 0 : theCache.getMisses() - this.lIRIMissesStart );
+    }
+
+    @JsonProperty("iriCacheSize")
+    public int getIRICacheSize() {
+        IRICache theCache = Util.getIRICache();
+        return ( theCache == null ? 0 : theCache.size() );
+    }
+
+    @JsonProperty("problems")
+    public List<String> getProblems() {
+        return this.listProblems;
+    }
+
+    @JsonProperty("elapsed")
+    public long getElapsed() {
+        return System.currentTimeMillis() - this.lStart;
+    }
+
+    @JsonProperty("rate")
+    public long getRate() {
+        long lElapsed = this.getElapsed();
+        return ( lElapsed <= 0 ? 0 : this.lStatements * 1000 / lElapsed );
+    }
+}
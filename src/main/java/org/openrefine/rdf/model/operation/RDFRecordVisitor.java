@@ -1,6 +1,7 @@
 package org.openrefine.rdf.model.operation;
 
 import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.TransformPlan;
 import org.openrefine.rdf.model.Util;
 import com.google.refine.browsing.Engine;
 import com.google.refine.browsing.FilteredRecords;
@@ -16,6 +17,10 @@ import org.slf4j.LoggerFactory;
 public abstract class RDFRecordVisitor extends RDFVisitor implements RecordVisitor {
     private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFRecordVisitor" );
 
+    public RDFRecordVisitor(RDFTransform theTransform, TransformPlan thePlan, StreamRDF theWriter) {
+        super(theTransform, thePlan, theWriter);
+    }
+
     public RDFRecordVisitor(RDFTransform theTransform, StreamRDF theWriter) {
         super(theTransform, theWriter);
     }
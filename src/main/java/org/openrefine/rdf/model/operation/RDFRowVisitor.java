@@ -1,6 +1,7 @@
 package org.openrefine.rdf.model.operation;
 
 import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.TransformPlan;
 import org.openrefine.rdf.model.Util;
 import com.google.refine.browsing.Engine;
 import com.google.refine.browsing.FilteredRows;
@@ -16,6 +17,10 @@ import org.slf4j.LoggerFactory;
 public abstract class RDFRowVisitor extends RDFVisitor implements RowVisitor {
     private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFRowVisitor" );
 
+    public RDFRowVisitor(RDFTransform theTransform, TransformPlan thePlan, StreamRDF theWriter) {
+        super(theTransform, thePlan, theWriter);
+    }
+
     public RDFRowVisitor(RDFTransform theTransform, StreamRDF theWriter) {
         super(theTransform, theWriter);
     }
@@ -38,7 +38,7 @@ public class RDFTransformChange implements Change {
             // Store the currently saved transform as the previous transform...
             this.thePreviousTransform = (RDFTransform) theProject.overlayModels.get(RDFTransform.EXTENSION);
             // Replace the saved transform with the current transform...
-            theProject.overlayModels.put(RDFTransform.EXTENSION, this.theCurrentTransform);
+            RDFTransform.setRDFTransform(theProject, this.theCurrentTransform);
         }
     }
 
@@ -48,14 +48,9 @@ public class RDFTransformChange implements Change {
     //
     public void revert(Project theProject) {
         synchronized (theProject) {
-            // If the transform is NEW (no previous), remove the saved transform (reset to no transform)...
-            if (this.thePreviousTransform == null) {
-                theProject.overlayModels.remove(RDFTransform.EXTENSION);
-            }
-            // Otherwise, replace the saved transform with the previous transform...
-            else {
-                theProject.overlayModels.put(RDFTransform.EXTENSION, this.thePreviousTransform);
-            }
+            // Replace the saved transform with the previous transform or, if the transform is NEW
+            // (no previous), remove the saved transform (reset to no transform)...
+            RDFTransform.setRDFTransform(theProject, this.thePreviousTransform);
         }
     }
 
@@ -1,19 +1,21 @@
 package org.openrefine.rdf.model.operation;
 
-import java.util.Collection;
 import java.util.Map;
 
 import com.google.refine.model.Project;
 
 import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.TransformContext;
+import org.openrefine.rdf.model.TransformPlan;
 import org.openrefine.rdf.model.Util;
-import org.openrefine.rdf.model.vocab.Vocabulary;
 import com.google.refine.browsing.Engine;
 
 import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.shared.PrefixMapping;
 import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFLib;
 import org.apache.jena.util.iterator.ExtendedIterator;
 
 import org.slf4j.Logger;
@@ -23,70 +25,195 @@ public abstract class RDFVisitor {
     private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFVisitor");
 
     private final RDFTransform theTransform;
+    private final TransformPlan thePlan;
     private final StreamRDF theWriter;
-    protected final Model theModel;
+    private final PrefixMapping thePrefixes;
+    private final boolean bDirect;
+    private TransformContext theContext = null;
+    private VisitListener theListener = null;
+    private RDFExportProcess theProcess = null;
+    private int iResumeIndex = -1;
+    protected Model theModel;
     protected boolean bLimitWarning = true;
 
     public RDFVisitor(RDFTransform theTransform, StreamRDF theWriter) {
+        this(theTransform, theTransform.getPlan(), theWriter);
+    }
+
+    public RDFVisitor(RDFTransform theTransform, TransformPlan thePlan, StreamRDF theWriter) {
         this.theTransform = theTransform;
         this.theWriter = theWriter;
+        this.bDirect = ( theWriter != null && Util.isExportDirect() );
+
+        // Get the compiled plan and its namespaces for the repository...
+        this.thePlan = thePlan;
+        this.thePrefixes = this.thePlan.getPrefixes();
 
         // Initializing model...
-        this.theModel = ModelFactory.createDefaultModel();
-
-        //
-        // Populate the namespaces in the repository...
-        //
-
-        // Prepare Namespaces...
-        String strBaseIRI = this.theTransform.getBaseIRIAsString();
-        Collection<Vocabulary> theNamespaces = this.theTransform.getNamespaces();
-
-        // Check for the BaseIRI (default namespace) in the Prefixed Namespaces...
-        boolean bUseBaseIRI = true; // ...default: use the BaseIRI
-        for (Vocabulary vocab : theNamespaces) {
-            // If the BaseIRI is in the Prefixed Namespace...
-            if ( vocab.getNamespace().equals(strBaseIRI) ) {
-                bUseBaseIRI = false; // ...don't use the BaseIRI!
-                break;
-            }
-        }
+        this.theModel = this.createModel();
+    }
 
-        //this.theModel.begin();
-        this.theModel.clearNsPrefixMap();
-        this.theModel.enterCriticalSection(Model.WRITE);
+    /*
+     * Method createModel()
+     *
+     *      Create an empty model holding the namespace prefixes for the transform.
+     */
+    private Model createModel() {
+        Model theNewModel = ModelFactory.createDefaultModel();
+        theNewModel.enterCriticalSection(Model.WRITE);
+        theNewModel.setNsPrefixes(this.thePrefixes);
+        theNewModel.leaveCriticalSection();
+        theNewModel.lock();
+        return theNewModel;
+    }
+
+    public RDFTransform getRDFTransform() {
+        return this.theTransform;
+    }
+
+    public TransformPlan getPlan() {
+        return this.thePlan;
+    }
+
+    public Model getModel() {
+        return this.theModel;
+    }
+
+    /*
+     * Method isDirect()
+     *
+     *      Are statements written directly to the writer?  When true, the statements bypass the
+     *      model: there is no graph indexing and no per row flush.  Duplicate statements within
+     *      a row or record are not removed and the statements are written in creation order.
+     */
+    public boolean isDirect() {
+        return this.bDirect;
+    }
 
-        // Set Default Namespace for repository...
-        if ( bUseBaseIRI && ! strBaseIRI.isEmpty() ) {
-            if ( Util.isDebugMode() ) RDFVisitor.logger.info("DEBUG: Using BaseIRI " + strBaseIRI);
-            this.theModel.setNsPrefix("", strBaseIRI); // ...default namespace
+    /*
+     * Method getContext()
+     *
+     *      Get this visitor's evaluation context for the plan set to the current sink: the writer
+     *      when direct, otherwise the current model.  The context's column indices are checked
+     *      against the project's column model.
+     */
+    protected TransformContext getContext(Project theProject) {
+        if ( this.theContext == null || this.theContext.getProject() != theProject ) {
+            this.theContext = new TransformContext(this.thePlan, theProject, null);
+        }
+        else {
+            this.theContext.checkColumns();
+        }
+        if ( this.bDirect ) {
+            this.theContext.setSink(this.theWriter);
         }
         else {
-            if ( Util.isDebugMode() ) RDFVisitor.logger.info("DEBUG: Not using BaseIRI");
+            this.theContext.setSink( StreamRDFLib.graph( this.theModel.getGraph() ) );
         }
+        return this.theContext;
+    }
+
+    public void setVisitListener(VisitListener theListener) {
+        this.theListener = theListener;
+    }
 
-        // Set Prefix Namespaces for repository...
-        for (Vocabulary vocab : theNamespaces) {
-            this.theModel.setNsPrefix( vocab.getPrefix(), vocab.getNamespace() );
+    /*
+     * Method visitBoundary()
+     *
+     *      Notify the listener, if any, that the statements written so far end on a row or record.
+     */
+    protected void visitBoundary() {
+        if (this.theListener != null) {
+            this.theListener.boundary();
         }
+    }
 
-        this.theModel.leaveCriticalSection();
-        //this.theModel.commit();
-        this.theModel.lock();
+    public void setProcess(RDFExportProcess theProcess) {
+        this.theProcess = theProcess;
+        if (theProcess != null) {
+            theProcess.setProblems( this.thePlan.getProblems() );
+        }
     }
 
-    public RDFTransform getRDFTransform() {
-        return this.theTransform;
+    /*
+     * Method isCanceled()
+     *
+     *      Has the tracking process, if any, been canceled?  Checked on each visit to stop the export.
+     */
+    protected boolean isCanceled() {
+        return ( this.theProcess != null && this.theProcess.isCanceled() );
     }
 
-    public Model getModel() {
-        return this.theModel;
+    /*
+     * Method visitProgress()
+     *
+     *      Report the rows or records visited to the tracking process, if any.
+     */
+    protected void visitProgress(int iCount, int iLastIndex) {
+        if (this.theProcess != null) {
+            this.theProcess.visited(iCount, iLastIndex);
+        }
+    }
+
+    /*
+     * Method getMemoHits()
+     *
+     *      Get the expression memo hits of this visitor's evaluation (see Util.getExportMemo()).
+     */
+    public long getMemoHits() {
+        return ( this.theContext == null ? 0 : this.theContext.getMemoHits() );
+    }
+
+    public long getMemoMisses() {
+        return ( this.theContext == null ? 0 : this.theContext.getMemoMisses() );
+    }
+
+    /*
+     * Method reportMemo()
+     *
+     *      Report the expression memo hits and misses to tune the memo size.
+     */
+    private void reportMemo() {
+        if ( Util.getExportMemo() <= 0 ) {
+            return;
+        }
+        long lHits = this.getMemoHits();
+        long lMisses = this.getMemoMisses();
+        if (this.theProcess != null) {
+            this.theProcess.memoized(lHits, lMisses);
+        }
+        if ( Util.isVerbose(2) || Util.isDebugMode() ) {
+            RDFVisitor.logger.info("Expression memo: " + lHits + " hits, " + lMisses + " misses");
+        }
+    }
+
+    /*
+     * Method setResumeIndex()
+     *
+     *      Set the last row or record index already exported by an earlier run of a resumed export.
+     */
+    public void setResumeIndex(int iResumeIndex) {
+        this.iResumeIndex = iResumeIndex;
+    }
+
+    /*
+     * Method isExported()
+     *
+     *      Was the row or record exported by an earlier run of a resumed export?  Checked on each
+     *      visit to skip to the resume point.
+     */
+    protected boolean isExported(int iIndex) {
+        return ( iIndex <= this.iResumeIndex );
     }
 
     public boolean isNoWriter() {
         return (this.theWriter == null);
     }
 
+    protected StreamRDF getWriter() {
+        return this.theWriter;
+    }
+
     abstract public void buildModel(Project theProject, Engine theEngine);
 
     /**
@@ -104,7 +231,7 @@ public abstract class RDFVisitor {
 
         // Export namespace information previously populated in the model...
         try {
-            Map<String, String> nsMap = this.theModel.getNsPrefixMap();
+            Map<String, String> nsMap = this.thePrefixes.getNsPrefixMap();
             for ( Map.Entry<String, String> ns : nsMap.entrySet() ) {
                 String strPrefix = ns.getKey();
                 String strNamespace = ns.getValue();
@@ -127,6 +254,8 @@ public abstract class RDFVisitor {
     public void end(Project theProject) {
         if ( Util.isVerbose(3) ) RDFVisitor.logger.info("...Ending Visitation");
 
+        this.reportMemo();
+
         // If we do NOT have a writer, let the calling processor control all model activity...
         if ( this.theWriter == null ) {
             return;
@@ -144,7 +273,8 @@ public abstract class RDFVisitor {
     }
 
     protected void flushStatements() {
-        if ( this.theWriter == null ) {
+        // If we do NOT have a writer or the statements are already written, nothing to flush...
+        if ( this.theWriter == null || this.bDirect ) {
             return;
         }
         // TODO: Code for future context upgrade (quads)
@@ -167,4 +297,20 @@ public abstract class RDFVisitor {
         this.theModel.removeAll();
         this.theModel.leaveCriticalSection();
     }
+
+    /*
+     * Method renewModel()
+     *
+     *      Replace the model with an empty one.  The in-memory graph keeps its grown index capacity
+     *      after removeAll(), so the statement order of a flush depends on the flushes before it.
+     *      A parallel worker renews its model for each partition so a partition's statement order
+     *      depends only on its own rows--not on which worker transformed it or what it did before.
+     */
+    void renewModel() {
+        if ( this.theWriter == null || this.bDirect ) {
+            return;
+        }
+        this.theModel.close();
+        this.theModel = this.createModel();
+    }
 }
@@ -0,0 +1,12 @@
+package org.openrefine.rdf.model.operation;
+
+/*
+ * Interface VisitListener
+ *
+ *  Notified by an export visitor when all the statements for a row or record (or, for the parallel
+ *  visitor, a partition of rows or records) have been written to its writer.  A writer may use the
+ *  boundary to split its output without splitting the statements of a row or record.
+ */
+public interface VisitListener {
+    void boundary();
+}
@@ -0,0 +1,174 @@
+package org.openrefine.rdf.model.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Class IRICache
+ *
+ *  A bounded, thread-safe cache of IRI resolutions keyed by the base IRI and the IRI to resolve.  A
+ *  resolution holds the absolute IRI, or the error message when the IRI does not resolve, so a repeated
+ *  malformed IRI fails without being parsed again.
+ *
+ *  The cache is divided into stripes, each a synchronized, least recently used map holding its share
+ *  of the capacity, so concurrent export workers seldom contend for the same lock.
+ */
+public class IRICache {
+    static private final int iStripes = 16; // ...a power of 2
+
+    /*
+     * Class Resolution
+     *
+     *  The result of resolving an IRI: the absolute IRI, or the error message when it does not resolve.
+     *  Both are null when the IRI resolves to nothing (a relative IRI without a base IRI).
+     */
+    static public class Resolution {
+        private final String strAbsoluteIRI;
+        private final String strErrMsg;
+
+        public Resolution(String strAbsoluteIRI, String strErrMsg) {
+            this.strAbsoluteIRI = strAbsoluteIRI;
+            this.strErrMsg = strErrMsg;
+        }
+
+        public String getAbsoluteIRI() {
+            return this.strAbsoluteIRI;
+        }
+
+        public String getErrorMessage() {
+            return this.strErrMsg;
+        }
+    }
+
+    static private class Key {
+        private final String strBase;
+        private final String strIRI;
+        private final int iHash;
+
+        private Key(String strBase, String strIRI) {
+            this.strBase = strBase;
+            this.strIRI = strIRI;
+            this.iHash = 31 * strBase.hashCode() + strIRI.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return this.iHash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if ( ! (obj instanceof Key) ) {
+                return false;
+            }
+            Key theKey = (Key) obj;
+            return ( this.iHash == theKey.iHash &&
+                     this.strIRI.equals(theKey.strIRI) && this.strBase.equals(theKey.strBase) );
+        }
+    }
+
+    /*
+     * Class Stripe
+     *
+     *  A least recently used map holding a stripe's share of the capacity.  Access is synchronized on the
+     *  stripe.
+     */
+    static private class Stripe extends LinkedHashMap<Key, Resolution> {
+        static private final long serialVersionUID = 1L;
+
+        private final int iStripeSize;
+
+        private Stripe(int iStripeSize) {
+            super(64, 0.75f, true);
+            this.iStripeSize = iStripeSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Resolution> theEldest) {
+            return ( this.size() > this.iStripeSize );
+        }
+    }
+
+    private final int iCapacity;
+    private final Stripe[] aStripes;
+    private final LongAdder laHits = new LongAdder();
+    private final LongAdder laMisses = new LongAdder();
+
+    public IRICache(int iCapacity) {
+        this.iCapacity = iCapacity;
+        int iStripeSize = Math.max(1, iCapacity / IRICache.iStripes);
+        this.aStripes = new Stripe[IRICache.iStripes];
+        for (int iIndex = 0; iIndex < IRICache.iStripes; iIndex++) {
+            this.aStripes[iIndex] = new Stripe(iStripeSize);
+        }
+    }
+
+    public int getCapacity() {
+        return this.iCapacity;
+    }
+
+    /*
+     * Method get()
+     *
+     *      Get the cached resolution of the IRI against the base IRI (an empty string for none), or null
+     *      when not cached.
+     */
+    public Resolution get(String strBase, String strIRI) {
+        Key theKey = new Key(strBase, strIRI);
+        Stripe theStripe = this.getStripe(theKey);
+        Resolution theResolution;
+        synchronized (theStripe) {
+            theResolution = theStripe.get(theKey);
+        }
+        if (theResolution == null) {
+            this.laMisses.increment();
+        }
+        else {
+            this.laHits.increment();
+        }
+        return theResolution;
+    }
+
+    public void put(String strBase, String strIRI, Resolution theResolution) {
+        Key theKey = new Key(strBase, strIRI);
+        Stripe theStripe = this.getStripe(theKey);
+        synchronized (theStripe) {
+            theStripe.put(theKey, theResolution);
+        }
+    }
+
+    public long getHits() {
+        return this.laHits.sum();
+    }
+
+    public long getMisses() {
+        return this.laMisses.sum();
+    }
+
+    /*
+     * Method getHitRate()
+     *
+     *      Get the fraction of lookups found in the cache, or 0 when there are none.
+     */
+    public double getHitRate() {
+        long lHits = this.laHits.sum();
+        long lLookups = lHits + this.laMisses.sum();
+        return ( lLookups == 0 ? 0.0 : (double) lHits / lLookups );
+    }
+
+    public int size() {
+        int iSize = 0;
+        for ( Stripe theStripe : this.aStripes ) {
+            synchronized (theStripe) {
+                iSize += theStripe.size();
+            }
+        }
+        return iSize;
+    }
+
+    private Stripe getStripe(Key theKey) {
+        int iHash = theKey.iHash;
+        return this.aStripes[ ( iHash ^ (iHash >>> 16) ) & (IRICache.iStripes - 1) ];
+    }
+}
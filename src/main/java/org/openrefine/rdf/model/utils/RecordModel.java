@@ -1,17 +1,13 @@
 package org.openrefine.rdf.model.utils;
 
 import com.google.refine.model.Cell;
+import com.google.refine.model.Project;
 import com.google.refine.model.Record;
-import org.openrefine.rdf.model.Node;
-import org.openrefine.rdf.model.ResourceNode;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreType;
 
 @JsonIgnoreType
 public class RecordModel {
-    @JsonIgnore
-    private final Node theNode;
-
     // For Row-based data processing...
     @JsonIgnore
     private int iRowIndex = -1;
@@ -35,9 +31,8 @@ public class RecordModel {
     @JsonIgnore
     private int iSubRecordRowEnd = -1;
 
-    public RecordModel(Node theNode) {
-        // Get the back reference to the node holding this object...
-        this.theNode = theNode;
+    public RecordModel() {
+        // A RecordModel is created per node evaluation and passed along the node tree...
     }
 
     public boolean isSet() {
@@ -56,17 +51,17 @@ public class RecordModel {
     }
 
     @JsonIgnore
-    public void setMode(ResourceNode nodeProperty) {
-        this.setMode(nodeProperty, false);
+    public void setMode(RecordModel theParentRec) {
+        this.setMode(theParentRec, false);
     }
 
     @JsonIgnore
-    public void setMode(ResourceNode nodeProperty, boolean bPerRow) {
+    public void setMode(RecordModel theParentRec, boolean bPerRow) {
         // Set Row Mode...
-        this.iRowIndex = nodeProperty.theRec.iRowIndex;
+        this.iRowIndex = theParentRec.iRowIndex;
         // Set Record Mode only when Row Mode is off...
         if ( ! this.isRowMode() ) {
-            this.theRecord = nodeProperty.theRec.theRecord;
+            this.theRecord = theParentRec.theRecord;
             this.bRecordMode = (theRecord != null);
             this.bRecordPerRow = bPerRow;
             // NOTE: When bRecordPerRow is true, further processing will be in Row Mode as
@@ -133,24 +128,32 @@ public class RecordModel {
         this.iRowIndex = -1;
     }
 
-//    public int rowStart() {
-//        if ( this.isRecordMode() ) {
-//            return this.theRecord.fromRowIndex;
-//        }
-//        return this.iRowIndex;
-//    }
-//
-//    public int rowEnd() {
-//        if ( this.isRecordMode() ) {
-//            return this.theRecord.toRowIndex;
-//        }
-//        return this.iRowIndex;
-//    }
-
-    public void setSubRecord(String strColumnName) {
+    /*
+     * Methods rowStart() and rowEnd()
+     *
+     *      The row range (end exclusive) of the record, or of the row, for batch evaluation.
+     */
+    public int rowStart() {
+        if ( this.isRecordMode() ) {
+            return this.theRecord.fromRowIndex;
+        }
+        return this.iRowIndex;
+    }
+
+    public int rowEnd() {
+        if ( this.isRecordMode() ) {
+            return this.theRecord.toRowIndex;
+        }
+        return this.iRowIndex + 1;
+    }
+
+    public void setSubRecord(Project theProject, String strColumnName) {
+        this.setSubRecord( theProject, theProject.columnModel.getColumnByName(strColumnName).getCellIndex() );
+    }
+
+    public void setSubRecord(Project theProject, int iColumn) {
         if ( this.isSet() ) {
             bSubRecords = false;
-            int iColumn = this.theNode.getProject().columnModel.getColumnByName(strColumnName).getCellIndex();
 
             int iStart = this.theRecord.fromRowIndex;
             if (iSubRecordRowEnd >= 0) {
@@ -166,7 +169,7 @@ public class RecordModel {
 
             iSubRecordRowStart = iStart;
             for (int iRow = iStart; iRow < iEnd; iRow++) {
-                Cell cell = this.theNode.getProject().rows.get(iRow).getCell( iColumn );
+                Cell cell = theProject.rows.get(iRow).getCell( iColumn );
                 if ( ! ( cell == null || cell.value.toString().isEmpty() ) ) {
                     iSubRecordRowEnd = iRow + 1;
                     bSubRecords = true;
@@ -0,0 +1,210 @@
+package org.openrefine.rdf.model.utils;
+
+import org.openrefine.rdf.model.Util;
+
+/*
+ * Class SimpleIRIValidator
+ *
+ *  A fast IRI syntax check for the common case: an ASCII IRI built from a namespace and a clean local
+ *  part.  The full jena-iri checker (see Util.iriFactory) is costly per value, so the scanner accepts a
+ *  conservative subset of RFC 3987 that the checker always accepts and leaves anything unusual to the
+ *  checker:
+ *
+ *      Absolute:  "http://" or "https://", a lowercase DNS host with an alphabetic top label, then an
+ *                 optional path, query, and fragment of unreserved characters, sub-delimiters, ":",
+ *                 "@", "/", and "?".
+ *      Relative:  a path of unreserved characters and "/" that starts with neither "/" nor ":".
+ *
+ *  Anything else (ports, user info, IP addresses, percent encoding, dot segments, non-ASCII characters,
+ *  other schemes) falls back to the full checker.  The scanner never allocates.
+ */
+public class SimpleIRIValidator {
+    static private final int iMaxLabel = 63; // ...DNS label length limit
+
+    // The ASCII characters allowed in a path segment (pchar, without percent encoding)...
+    static private final boolean[] abPathChar = new boolean[128];
+    static {
+        for (char cChar = 'a'; cChar <= 'z'; cChar++) {
+            SimpleIRIValidator.abPathChar[cChar] = true;
+        }
+        for (char cChar = 'A'; cChar <= 'Z'; cChar++) {
+            SimpleIRIValidator.abPathChar[cChar] = true;
+        }
+        for (char cChar = '0'; cChar <= '9'; cChar++) {
+            SimpleIRIValidator.abPathChar[cChar] = true;
+        }
+        for ( char cChar : "-._~!$&'()*+,;=:@".toCharArray() ) {
+            SimpleIRIValidator.abPathChar[cChar] = true;
+        }
+    }
+
+    /*
+     * Method isValid()
+     *
+     *      Is the string a valid IRI (absolute or relative)?  The common subset is accepted by the
+     *      scanner.  Other strings are checked by the full checker.
+     */
+    static public boolean isValid(String strIRI) {
+        if (strIRI == null) {
+            return false;
+        }
+        if ( SimpleIRIValidator.isSimpleAbsolute(strIRI) || SimpleIRIValidator.isSimpleRelative(strIRI) ) {
+            return true;
+        }
+        try {
+            Util.iriFactory.construct(strIRI);
+        }
+        catch (Exception ex) {
+            return false;
+        }
+        return true;
+    }
+
+    /*
+     * Method isSimpleAbsolute()
+     *
+     *      Is the string an absolute http(s) IRI in the common subset?  A false result only means the
+     *      string needs the full checker.
+     */
+    static public boolean isSimpleAbsolute(String strIRI) {
+        int iLength = strIRI.length();
+        int iIndex;
+        if ( strIRI.startsWith("http://") ) {
+            iIndex = 7;
+        }
+        else if ( strIRI.startsWith("https://") ) {
+            iIndex = 8;
+        }
+        else {
+            return false;
+        }
+
+        // Host: lowercase DNS labels separated by "."...
+        int iLabel = 0;
+        boolean bDigitLabel = false;
+        char cLast = '.';
+        while (iIndex < iLength) {
+            char cChar = strIRI.charAt(iIndex);
+            if ( cChar == '/' || cChar == '?' || cChar == '#' ) {
+                break;
+            }
+            if (cChar == '.') {
+                if (cLast == '.' || cLast == '-') {
+                    return false;
+                }
+                iLabel = 0;
+            }
+            else if ( cChar >= 'a' && cChar <= 'z' ) {
+                if (iLabel == 0) {
+                    bDigitLabel = false;
+                }
+                iLabel++;
+            }
+            else if ( cChar >= '0' && cChar <= '9' ) {
+                if (iLabel == 0) {
+                    bDigitLabel = true;
+                }
+                iLabel++;
+            }
+            else if (cChar == '-' && cLast != '.') {
+                iLabel++;
+            }
+            else {
+                return false;
+            }
+            if (iLabel > SimpleIRIValidator.iMaxLabel) {
+                return false;
+            }
+            cLast = cChar;
+            iIndex++;
+        }
+        if (cLast == '.' || cLast == '-') {
+            return false; // ...no host, or an empty or hyphen ended last label
+        }
+        if (bDigitLabel) {
+            return false; // ...a possible IP address
+        }
+
+        // Path, query, and fragment...
+        return SimpleIRIValidator.isSimpleRest(strIRI, iIndex);
+    }
+
+    /*
+     * Method isSimpleRelative()
+     *
+     *      Is the string a relative path IRI in the common subset?  A false result only means the string
+     *      needs the full checker.
+     */
+    static public boolean isSimpleRelative(String strIRI) {
+        int iLength = strIRI.length();
+        if ( iLength == 0 || strIRI.charAt(0) == '/' ) {
+            return false;
+        }
+        int iSegment = 0;
+        for (int iIndex = 0; iIndex < iLength; iIndex++) {
+            char cChar = strIRI.charAt(iIndex);
+            if (cChar == '/') {
+                if ( SimpleIRIValidator.isDotSegment(strIRI, iIndex - iSegment, iIndex) ) {
+                    return false;
+                }
+                iSegment = 0;
+            }
+            else if ( ( cChar >= 'a' && cChar <= 'z' ) || ( cChar >= 'A' && cChar <= 'Z' ) ||
+                      ( cChar >= '0' && cChar <= '9' ) ||
+                      cChar == '-' || cChar == '.' || cChar == '_' || cChar == '~' ) {
+                iSegment++;
+            }
+            else {
+                return false;
+            }
+        }
+        return ! SimpleIRIValidator.isDotSegment(strIRI, iLength - iSegment, iLength);
+    }
+
+    /*
+     * Method isSimpleRest()
+     *
+     *      Scan an absolute IRI's path, query, and fragment from the index.
+     */
+    static private boolean isSimpleRest(String strIRI, int iIndex) {
+        int iLength = strIRI.length();
+        boolean bPath = true;
+        boolean bFragment = false;
+        int iSegmentStart = iIndex;
+        for (; iIndex < iLength; iIndex++) {
+            char cChar = strIRI.charAt(iIndex);
+            if (cChar == '/') {
+                if ( bPath && SimpleIRIValidator.isDotSegment(strIRI, iSegmentStart, iIndex) ) {
+                    return false;
+                }
+                iSegmentStart = iIndex + 1;
+            }
+            else if (cChar == '?') {
+                if ( bPath && SimpleIRIValidator.isDotSegment(strIRI, iSegmentStart, iIndex) ) {
+                    return false;
+                }
+                bPath = false;
+            }
+            else if (cChar == '#') {
+                if (bFragment) {
+                    return false;
+                }
+                if ( bPath && SimpleIRIValidator.isDotSegment(strIRI, iSegmentStart, iIndex) ) {
+                    return false;
+                }
+                bPath = false;
+                bFragment = true;
+            }
+            else if ( cChar >= 128 || ! SimpleIRIValidator.abPathChar[cChar] ) {
+                return false;
+            }
+        }
+        return ! ( bPath && SimpleIRIValidator.isDotSegment(strIRI, iSegmentStart, iLength) );
+    }
+
+    static private boolean isDotSegment(String strIRI, int iStart, int iEnd) {
+        int iSize = iEnd - iStart;
+        return ( ( iSize == 1 && strIRI.charAt(iStart) == '.' ) ||
+                 ( iSize == 2 && strIRI.charAt(iStart) == '.' && strIRI.charAt(iStart + 1) == '.' ) );
+    }
+}
@@ -449,6 +449,7 @@ ExpressionPreviewDialog_WidgetCopy.prototype.constructor = ExpressionPreviewDial
     #strColumnName;
     #aiRowIndices;
     #astrRowValues;
+    #lFilteredRows; // ...counted by the first preview, then reused
 
     #iLastTabHeight;
     #iLastTabWidth;
@@ -488,6 +489,7 @@ ExpressionPreviewDialog_WidgetCopy.prototype.constructor = ExpressionPreviewDial
         this._elmts = elements;
 
         this._timerID = null; // ...used by _scheduleUpdate()
+        this.#lFilteredRows = null;
 
         // NOT REQUIRED: GREL is currently the only language available for RDFTransform
         // --------------------------------------------------------------------------------
@@ -583,8 +585,13 @@ ExpressionPreviewDialog_WidgetCopy.prototype.constructor = ExpressionPreviewDial
             "isIRI"      : this.#bIsResource ? "1" : "0",
             "prefix"     : this.#strPrefix === null ? "" : this.#strPrefix,
             "columnName" : this.#bIsIndex ? "" : this.#strColumnName,
-            "baseIRI"    : this.#strBaseIRI
+            "baseIRI"    : this.#strBaseIRI,
+            "engine"     : JSON.stringify( ui.browsingEngine.getJSON() )
         };
+        // Reuse the filtered row count: the facets don't change while the dialog is open...
+        if (this.#lFilteredRows !== null) {
+            params.filteredRows = this.#lFilteredRows;
+        }
         //this._prepareUpdate(params); // ...empty function, not overridden
 
         $.get(
@@ -640,6 +647,19 @@ ExpressionPreviewDialog_WidgetCopy.prototype.constructor = ExpressionPreviewDial
         // Otherwise, all good...
         else {
             statusMessage = $.i18n('rdft-data/no-syntax-error');
+            // Add the expression's cost...
+            if (data.timing) {
+                this.#lFilteredRows = data.timing.filteredRows;
+            }
+            if (data.timing && data.timing.evaluations > 0) {
+                statusMessage += " " +
+                    $.i18n('rdft-data/timing',
+                        data.timing.meanUs.toFixed(1),
+                        data.timing.p99Us.toFixed(1),
+                        (data.timing.errorRate * 100).toFixed(1),
+                        (data.timing.projectedMs / 1000).toFixed(1),
+                        data.timing.filteredRows );
+            }
         }
         statusElem.text(statusMessage);
 
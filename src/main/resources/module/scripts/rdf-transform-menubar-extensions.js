@@ -73,7 +73,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/pretty/exportRDFXML",
             label : $.i18n("rdft-menu/rdf-xml-pretty"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "rdf")
+            click : RDFExporterMenuBar.#exporter(strExp, "rdf")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -81,7 +81,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/pretty/exportRDFTurtle",
             label : $.i18n("rdft-menu/rdf-turtle-pretty"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "ttl")
+            click : RDFExporterMenuBar.#exporter(strExp, "ttl")
          } ;
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -89,7 +89,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/pretty/exportRDFTurtleStar",
             label : $.i18n("rdft-menu/rdf-turtle-star-pretty"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "ttls")
+            click : RDFExporterMenuBar.#exporter(strExp, "ttls")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -97,7 +97,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/pretty/exportRDFNotation3",
             label : $.i18n("rdft-menu/rdf-n3-pretty"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "n3")
+            click : RDFExporterMenuBar.#exporter(strExp, "n3")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -105,7 +105,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/pretty/exportRDFNotation3Star",
             label : $.i18n("rdft-menu/rdf-n3-star-pretty"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "n3s")
+            click : RDFExporterMenuBar.#exporter(strExp, "n3s")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -113,7 +113,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/pretty/exportRDFTriG",
             label : $.i18n("rdft-menu/rdf-trig-pretty"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "trig")
+            click : RDFExporterMenuBar.#exporter(strExp, "trig")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -121,7 +121,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/pretty/exportRDFTriGStar",
             label : $.i18n("rdft-menu/rdf-trig-star-pretty"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "trigs")
+            click : RDFExporterMenuBar.#exporter(strExp, "trigs")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -129,7 +129,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/pretty/exportRDFJSONLD",
             label : $.i18n("rdft-menu/rdf-jsonld-pretty"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "jsonld")
+            click : RDFExporterMenuBar.#exporter(strExp, "jsonld")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -137,7 +137,7 @@ class RDFExporterMenuBar
         //objTypeSubSubMenuItem = {
         //    id : "rdf-transform/pretty/exportRDFNDJSONLD",
         //    label : $.i18n("rdft-menu/rdf-ndjsonld-pretty"),
-        //    click : () => RDFExporterMenuBar.#exportRDF(strExp, "ndjsonld")
+        //    click : RDFExporterMenuBar.#exporter(strExp, "ndjsonld")
         //};
         //objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -145,7 +145,36 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/pretty/exportRDFJSON",
             label : $.i18n("rdft-menu/rdf-json-pretty"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "rj")
+            click : RDFExporterMenuBar.#exporter(strExp, "rj")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        objExports.submenu.push(objTypeSubMenuItem);
+
+        //
+        // SORTED PRINTERS: (Disk Sorted) Grouped like Pretty, scales like Stream
+        //
+        objTypeSubMenuItem = {
+            id : "rdf-transform/sorted",
+            label : $.i18n('rdft-menu/export-sorted'),
+            submenu : []
+        };
+
+        strType = " (Sorted)";
+
+        strExp = "Turtle" + strType;
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/sorted/exportRDFTurtle",
+            label : $.i18n("rdft-menu/rdf-turtle-sorted"),
+            click : RDFExporterMenuBar.#exporter(strExp, "ttl")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        strExp = "TriG" + strType;
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/sorted/exportRDFTriG",
+            label : $.i18n("rdft-menu/rdf-trig-sorted"),
+            click : RDFExporterMenuBar.#exporter(strExp, "trig")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -169,7 +198,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/stream/exportRDFTurtle",
             label : $.i18n("rdft-menu/rdf-turtle-stream"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "ttl")
+            click : RDFExporterMenuBar.#exporter(strExp, "ttl")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -177,7 +206,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/stream/exportRDFTurtleStar",
             label : $.i18n("rdft-menu/rdf-turtle-star-stream"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "ttls")
+            click : RDFExporterMenuBar.#exporter(strExp, "ttls")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -185,7 +214,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/stream/exportRDFNotation3",
             label : $.i18n("rdft-menu/rdf-n3-stream"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "n3")
+            click : RDFExporterMenuBar.#exporter(strExp, "n3")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -193,7 +222,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/stream/exportRDFNotation3Star",
             label : $.i18n("rdft-menu/rdf-n3-star-stream"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "n3s")
+            click : RDFExporterMenuBar.#exporter(strExp, "n3s")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -201,7 +230,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/stream/exportRDFTriG",
             label : $.i18n("rdft-menu/rdf-trig-stream"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "trig")
+            click : RDFExporterMenuBar.#exporter(strExp, "trig")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -209,7 +238,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/stream/exportRDFTriGStar",
             label : $.i18n("rdft-menu/rdf-trig-star-stream"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "trigs")
+            click : RDFExporterMenuBar.#exporter(strExp, "trigs")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -222,7 +251,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/stream/exportRDFNTriples",
             label : $.i18n("rdft-menu/rdf-n-triples-stream"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "nt")
+            click : RDFExporterMenuBar.#exporter(strExp, "nt")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -230,7 +259,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/stream/exportRDFNTriplesStar",
             label : $.i18n("rdft-menu/rdf-n-triples-star-stream"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "nts")
+            click : RDFExporterMenuBar.#exporter(strExp, "nts")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -238,7 +267,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/stream/exportRDFNQuads",
             label : $.i18n("rdft-menu/rdf-nquads-stream"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "nq")
+            click : RDFExporterMenuBar.#exporter(strExp, "nq")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -246,7 +275,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/stream/exportRDFNQuadsStar",
             label : $.i18n("rdft-menu/rdf-nquads-star-stream"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "nqs")
+            click : RDFExporterMenuBar.#exporter(strExp, "nqs")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -254,7 +283,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/stream/exportRDFTriX",
             label : $.i18n("rdft-menu/rdf-trix-stream"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "xml")
+            click : RDFExporterMenuBar.#exporter(strExp, "xml")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -267,7 +296,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/stream/exportRDFNull",
             label : $.i18n("rdft-menu/rdf-null-stream"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "rn")
+            click : RDFExporterMenuBar.#exporter(strExp, "rn")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -281,7 +310,7 @@ class RDFExporterMenuBar
         //objTypeSubSubMenuItem = {
         //    id : "rdf-transform/stream/exportRDFProto",
         //    label : $.i18n("rdft-menu/rdf-proto-stream"),
-        //    click : () => RDFExporterMenuBar.#exportRDF(strExp, "rp")
+        //    click : RDFExporterMenuBar.#exporter(strExp, "rp")
         //};
         //objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -289,7 +318,7 @@ class RDFExporterMenuBar
         objTypeSubSubMenuItem = {
             id : "rdf-transform/stream/exportRDFThrift",
             label : $.i18n("rdft-menu/rdf-thrift-stream"),
-            click : () => RDFExporterMenuBar.#exportRDF(strExp, "rt")
+            click : RDFExporterMenuBar.#exporter(strExp, "rt")
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -297,7 +326,7 @@ class RDFExporterMenuBar
         //objTypeSubSubMenuItem = {
         //    id : "rdf-transform/stream/exportRDFBinaryRDF",
         //    label : $.i18n("rdft-menu/rdf-binary"),
-        //    click : () => RDFExporterMenuBar.#exportRDF(strExp, "brf")
+        //    click : RDFExporterMenuBar.#exporter(strExp, "brf")
         //};
         //objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -305,12 +334,152 @@ class RDFExporterMenuBar
         //objTypeSubSubMenuItem = {
         //    id : "rdf-transform/stream/exportRDFHDT",
         //    label : $.i18n("rdft-menu/rdf-hdt"),
-        //    click : () => RDFExporterMenuBar.#exportRDF(strExp, "hdt")
+        //    click : RDFExporterMenuBar.#exporter(strExp, "hdt")
         //};
         //objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
         objExports.submenu.push(objTypeSubMenuItem);
 
+        //
+        // SPLIT PRINTERS: (Stream) ZIP bundle of part files
+        //
+        objTypeSubMenuItem = {
+            id : "rdf-transform/split",
+            label : $.i18n('rdft-menu/export-split'),
+            submenu : []
+        };
+
+        strType = " (Split)";
+
+        strExp = "NTriples" + strType;
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/split/exportRDFNTriples",
+            label : $.i18n("rdft-menu/rdf-n-triples-split"),
+            click : RDFExporterMenuBar.#exporter(strExp, "nt.zip")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        strExp = "NQuads" + strType;
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/split/exportRDFNQuads",
+            label : $.i18n("rdft-menu/rdf-nquads-split"),
+            click : RDFExporterMenuBar.#exporter(strExp, "nq.zip")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        strExp = "Turtle" + strType;
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/split/exportRDFTurtle",
+            label : $.i18n("rdft-menu/rdf-turtle-split"),
+            click : RDFExporterMenuBar.#exporter(strExp, "ttl.zip")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        strExp = "TriG" + strType;
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/split/exportRDFTriG",
+            label : $.i18n("rdft-menu/rdf-trig-split"),
+            click : RDFExporterMenuBar.#exporter(strExp, "trig.zip")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        objExports.submenu.push(objTypeSubMenuItem);
+
+        //
+        // COMPRESSED PRINTERS: (Parallel Block Compression) per Codec
+        //
+        objTypeSubMenuItem = {
+            id : "rdf-transform/compressed",
+            label : $.i18n('rdft-menu/export-compressed'),
+            submenu : []
+        };
+
+        strType = ", GZip)";
+
+        strExp = "NTriples (Flat" + strType;
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/compressed/exportRDFNTriplesGzip",
+            label : $.i18n("rdft-menu/rdf-n-triples-gzip"),
+            click : RDFExporterMenuBar.#exporter(strExp, "nt.gz")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        strExp = "NQuads (Flat" + strType;
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/compressed/exportRDFNQuadsGzip",
+            label : $.i18n("rdft-menu/rdf-nquads-gzip"),
+            click : RDFExporterMenuBar.#exporter(strExp, "nq.gz")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        strExp = "Turtle (Blocks" + strType;
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/compressed/exportRDFTurtleStreamGzip",
+            label : $.i18n("rdft-menu/rdf-turtle-stream-gzip"),
+            click : RDFExporterMenuBar.#exporter(strExp, "ttl.gz")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        strExp = "Turtle (Sorted" + strType;
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/compressed/exportRDFTurtleSortedGzip",
+            label : $.i18n("rdft-menu/rdf-turtle-sorted-gzip"),
+            click : RDFExporterMenuBar.#exporter(strExp, "ttl.gz")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        strExp = "Turtle (Pretty" + strType;
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/compressed/exportRDFTurtlePrettyGzip",
+            label : $.i18n("rdft-menu/rdf-turtle-pretty-gzip"),
+            click : RDFExporterMenuBar.#exporter(strExp, "ttl.gz")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        strType = ", Fast GZip)";
+
+        strExp = "NTriples (Flat" + strType;
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/compressed/exportRDFNTriplesFastGzip",
+            label : $.i18n("rdft-menu/rdf-n-triples-fast"),
+            click : RDFExporterMenuBar.#exporter(strExp, "nt.gz")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        strExp = "NQuads (Flat" + strType;
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/compressed/exportRDFNQuadsFastGzip",
+            label : $.i18n("rdft-menu/rdf-nquads-fast"),
+            click : RDFExporterMenuBar.#exporter(strExp, "nq.gz")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        strExp = "Turtle (Blocks" + strType;
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/compressed/exportRDFTurtleStreamFastGzip",
+            label : $.i18n("rdft-menu/rdf-turtle-stream-fast"),
+            click : RDFExporterMenuBar.#exporter(strExp, "ttl.gz")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        strExp = "Turtle (Sorted" + strType;
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/compressed/exportRDFTurtleSortedFastGzip",
+            label : $.i18n("rdft-menu/rdf-turtle-sorted-fast"),
+            click : RDFExporterMenuBar.#exporter(strExp, "ttl.gz")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        strExp = "Turtle (Pretty" + strType;
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/compressed/exportRDFTurtlePrettyFastGzip",
+            label : $.i18n("rdft-menu/rdf-turtle-pretty-fast"),
+            click : RDFExporterMenuBar.#exporter(strExp, "ttl.gz")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        objExports.submenu.push(objTypeSubMenuItem);
+
         //
         // TODO: SPECIAL PRINTERS - Are these even doable???
         //
@@ -326,7 +495,7 @@ class RDFExporterMenuBar
         //objTypeSubSubMenuItem = {
         //    id : "rdf-transform/special/exportRDFa",
         //    label : $.i18n("rdft-menu/rdf-a-special"),
-        //    click : () => RDFExporterMenuBar.#exportRDF(strExp, "xhtml")
+        //    click : RDFExporterMenuBar.#exporter(strExp, "xhtml")
         //};
         //objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -334,7 +503,7 @@ class RDFExporterMenuBar
         //objTypeSubSubMenuItem = {
         //    id : "rdf-transform/special/exportRDFSHACLC",
         //    label : $.i18n("rdft-menu/rdf-shaclc-special"),
-        //    click : () => RDFExporterMenuBar.#exportRDF(strExp, "sc")
+        //    click : RDFExporterMenuBar.#exporter(strExp, "sc")
         //};
         //objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
@@ -343,6 +512,17 @@ class RDFExporterMenuBar
         return objExports;
     }
 
+    /*
+     * Method #exporter()
+     *
+     *      Create a menu item's click handler for the export format.  The format is bound when the item
+     *      is created: the menu builder reuses its format variable, so a handler reading the variable
+     *      when clicked would export the last format assigned.
+     */
+    static #exporter(format, ext) {
+        return () => RDFExporterMenuBar.#exportRDF(format, ext);
+    }
+
     static #exportRDF(format, ext) {
         if (! theProject.overlayModels.RDFTransform) {
             alert( $.i18n("rdft-menu/alert-no-transform") );
@@ -0,0 +1,210 @@
+package org.openrefine.rdf.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.openrefine.rdf.model.exporter.RDFStreamExporter;
+import org.openrefine.rdf.model.operation.RDFExportProcess;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.browsing.EngineConfig;
+import com.google.refine.model.Project;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.RDFParser;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/*
+ * Class ExportEquivalenceTest
+ *
+ *  Export a project with the sequential exporter and with the parallel and pipelined exporters and
+ *  compare the outputs (see assertSameExport()).  The project holds enough rows for many partitions and
+ *  is exported in rows and records modes, unfiltered and filtered by a facet, in both stream export
+ *  collection modes (direct and model).
+ */
+public class ExportEquivalenceTest {
+    static private final int iRows = 5000;
+
+    private Project theRowProject = null;
+    private Project theRecordProject = null;
+    private int iThreads;
+    private boolean bDirect;
+    private boolean bPipeline;
+
+    @BeforeClass
+    public void setUp()
+            throws Exception {
+        this.iThreads = Util.getExportThreads();
+        this.bDirect = Util.isExportDirect();
+        this.bPipeline = Util.isExportPipeline();
+
+        this.theRowProject = ExportFixture.createProject(ExportEquivalenceTest.iRows, false);
+        this.theRecordProject = ExportFixture.createProject(ExportEquivalenceTest.iRows, true);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        Util.setPreference("iExportThreads", this.iThreads);
+        Util.setPreference("bExportDirect", this.bDirect);
+        Util.setPreference("bExportPipeline", this.bPipeline);
+    }
+
+    @DataProvider(name = "exports")
+    public Object[][] getExports() {
+        return new Object[][] {
+            // Records, Facets, Direct, Format
+            { false, false, false, RDFFormat.NTRIPLES },
+            { false, true,  false, RDFFormat.NTRIPLES },
+            { true,  false, false, RDFFormat.NTRIPLES },
+            { true,  true,  false, RDFFormat.NTRIPLES },
+            { false, false, true,  RDFFormat.NTRIPLES },
+            { false, true,  true,  RDFFormat.NTRIPLES },
+            { true,  false, true,  RDFFormat.NTRIPLES },
+            { true,  true,  true,  RDFFormat.NTRIPLES },
+            { false, true,  false, RDFFormat.TURTLE_BLOCKS },
+            { true,  true,  false, RDFFormat.TURTLE_BLOCKS },
+        };
+    }
+
+    @Test(dataProvider = "exports")
+    public void testParallelExport(boolean bRecords, boolean bFacets, boolean bDirect, RDFFormat theFormat)
+            throws Exception {
+        Util.setPreference("bExportDirect", bDirect);
+        Util.setPreference("bExportPipeline", false);
+
+        String strSequential = this.export(bRecords, bFacets, theFormat, 1);
+        Assert.assertFalse( strSequential.isEmpty() );
+        String strParallel = this.export(bRecords, bFacets, theFormat, 2);
+        ExportEquivalenceTest.assertSameExport(strParallel, strSequential, bDirect, theFormat,
+            "Parallel export (2 threads) differs from the sequential export");
+        // The parallel output does not depend on the number of workers...
+        Assert.assertEquals( this.export(bRecords, bFacets, theFormat, 4), strParallel,
+            "Parallel export (4 threads) differs from the parallel export (2 threads)" );
+    }
+
+    @Test(dataProvider = "exports")
+    public void testPipelineExport(boolean bRecords, boolean bFacets, boolean bDirect, RDFFormat theFormat)
+            throws Exception {
+        Util.setPreference("bExportDirect", bDirect);
+        Util.setPreference("bExportPipeline", false);
+        String strSequential = this.export(bRecords, bFacets, theFormat, 1);
+
+        Util.setPreference("bExportPipeline", true);
+        Assert.assertEquals( this.export(bRecords, bFacets, theFormat, 1), strSequential,
+            "Pipelined export (1 thread) differs from the sequential export" );
+        ExportEquivalenceTest.assertSameExport(this.export(bRecords, bFacets, theFormat, 4), strSequential,
+            bDirect, theFormat, "Pipelined export (4 threads) differs from the sequential export");
+    }
+
+    @Test
+    public void testFacetFilters()
+            throws Exception {
+        Util.setPreference("bExportDirect", false);
+        Util.setPreference("bExportPipeline", false);
+
+        String strAll = this.export(false, false, RDFFormat.NTRIPLES, 1);
+        String strFiltered = this.export(false, true, RDFFormat.NTRIPLES, 1);
+        Assert.assertTrue( strFiltered.length() < strAll.length() );
+        Assert.assertFalse( strFiltered.contains("<http://example.com/tag/t2>") );
+        Assert.assertTrue( strFiltered.contains("<http://example.com/tag/t1>") );
+    }
+
+    /*
+     * Method testExportTracking()
+     *
+     *      While an export runs, it is listed in the project's active exports and is not held in the
+     *      project's process manager.  A cancel stops (fails) the export early.
+     */
+    @Test
+    public void testExportTracking()
+            throws Exception {
+        Util.setPreference("iExportThreads", 1);
+        Util.setPreference("bExportDirect", false);
+        Util.setPreference("bExportPipeline", false);
+
+        Project theProject = this.theRowProject;
+        String strAll = this.export(false, false, RDFFormat.NTRIPLES, 1);
+        final int[] aiTracked = { -1 };
+        final boolean[] abPending = { true };
+        ByteArrayOutputStream theBytes = new ByteArrayOutputStream();
+        FilterOutputStream theOutput =
+            new FilterOutputStream(theBytes) {
+                @Override
+                public void write(byte[] abData, int iOffset, int iLength)
+                        throws IOException {
+                    if ( aiTracked[0] < 0 ) {
+                        aiTracked[0] = RDFExportProcess.getTracked(theProject.id).size();
+                        abPending[0] = theProject.getProcessManager().hasPending();
+                        RDFExportProcess.cancelTracked(theProject.id, 0);
+                    }
+                    this.out.write(abData, iOffset, iLength);
+                }
+            };
+        Assert.assertThrows( RuntimeException.class,
+            () -> new RDFStreamExporter(RDFFormat.NTRIPLES, "Test")
+                        .export( theProject, new Properties(), new Engine(theProject), theOutput ) );
+
+        Assert.assertEquals( aiTracked[0], 1 );
+        Assert.assertFalse( abPending[0] );
+        Assert.assertTrue( RDFExportProcess.getTracked(theProject.id).isEmpty() );
+        Assert.assertTrue( theBytes.size() < strAll.length() );
+    }
+
+    /*
+     * Method assertSameExport()
+     *
+     *      Assert that the export matches the sequential export.  When written directly (ordered), the
+     *      outputs are identical.  Otherwise, the statement order within a row depends on the history of
+     *      the model it is flushed from, so the outputs must hold the same statements: the same lines
+     *      for N-Triples, or isomorphic graphs.
+     */
+    static private void assertSameExport(String strActual, String strExpected, boolean bOrdered,
+                                            RDFFormat theFormat, String strMessage) {
+        if (bOrdered) {
+            Assert.assertEquals(strActual, strExpected, strMessage);
+        }
+        else if ( theFormat.equals(RDFFormat.NTRIPLES) ) {
+            String[] astrActual = strActual.split("\n");
+            String[] astrExpected = strExpected.split("\n");
+            Arrays.sort(astrActual);
+            Arrays.sort(astrExpected);
+            Assert.assertEquals(astrActual, astrExpected, strMessage);
+        }
+        else {
+            Model theActual = ModelFactory.createDefaultModel();
+            RDFParser.fromString(strActual).lang( theFormat.getLang() ).parse(theActual);
+            Model theExpected = ModelFactory.createDefaultModel();
+            RDFParser.fromString(strExpected).lang( theFormat.getLang() ).parse(theExpected);
+            Assert.assertTrue( theActual.isIsomorphicWith(theExpected), strMessage );
+        }
+    }
+
+    private String export(boolean bRecords, boolean bFacets, RDFFormat theFormat, int iThreads)
+            throws Exception {
+        Util.setPreference("iExportThreads", iThreads);
+
+        Project theProject = ( bRecords ? this.theRecordProject : this.theRowProject );
+        Engine theEngine = new Engine(theProject);
+        if (bFacets) {
+            theEngine.initializeFromConfig( EngineConfig.reconstruct(bRecords ? ExportFixture.strFacetRecords : ExportFixture.strFacetRows) );
+        }
+        else if (bRecords) {
+            theEngine.setMode(Engine.Mode.RecordBased);
+        }
+
+        ByteArrayOutputStream theOutput = new ByteArrayOutputStream();
+        new RDFStreamExporter(theFormat, "Test").export(theProject, new Properties(), theEngine, theOutput);
+        return new String( theOutput.toByteArray(), StandardCharsets.UTF_8 );
+    }
+}
@@ -0,0 +1,80 @@
+package org.openrefine.rdf.model;
+
+import java.io.InputStream;
+import java.util.Random;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.vocab.Vocabulary;
+import org.openrefine.rdf.model.vocab.VocabularyList;
+
+import com.google.refine.model.Cell;
+import com.google.refine.model.Column;
+import com.google.refine.model.Project;
+import com.google.refine.model.Row;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Class ExportFixture
+ *
+ *  The project and preference setup shared by the export tests.
+ */
+public class ExportFixture {
+    static public final String strFacetRows =
+        "{ \"mode\" : \"row-based\", \"facets\" : [ " +
+            "{ \"type\" : \"list\", \"name\" : \"tags\", \"columnName\" : \"tags\", \"expression\" : \"value\", " +
+              "\"omitBlank\" : false, \"omitError\" : false, \"selectBlank\" : false, \"selectError\" : false, " +
+              "\"invert\" : false, \"selection\" : [ " +
+                "{ \"v\" : { \"v\" : \"t1\", \"l\" : \"t1\" } }, { \"v\" : { \"v\" : \"t3\", \"l\" : \"t3\" } } ] } ] }";
+    static public final String strFacetRecords = strFacetRows.replace("row-based", "record-based");
+
+    /*
+     * Method setPreference()
+     *
+     *      Set a preference for a test outside this package (see Util.setPreference()).
+     */
+    static public void setPreference(String strName, Object objValue) {
+        Util.setPreference(strName, objValue);
+    }
+
+    /*
+     * Method createProject()
+     *
+     *      Create a project of people with a transform.  For records, only every third row starts a
+     *      record (has an id), so each record holds three rows.
+     */
+    static public Project createProject(int iRows, boolean bRecords)
+            throws Exception {
+        Project theProject = new Project();
+        String[] astrColumns = { "id", "name", "age", "tags" };
+        for (int iIndex = 0; iIndex < astrColumns.length; iIndex++) {
+            theProject.columnModel.addColumn( iIndex, new Column(iIndex, astrColumns[iIndex]), false );
+        }
+        Random theRandom = new Random(42);
+        for (int iIndex = 0; iIndex < iRows; iIndex++) {
+            Row theRow = new Row( astrColumns.length );
+            boolean bChild = ( bRecords && iIndex % 3 != 0 );
+            theRow.setCell( 0, bChild ? null : new Cell("id" + iIndex, null) );
+            theRow.setCell( 1, new Cell("Name " + (iIndex % 97) + " x", null) );
+            theRow.setCell( 2, new Cell( Long.valueOf( theRandom.nextInt(90) ), null ) );
+            theRow.setCell( 3, new Cell("t" + (iIndex % 5), null) );
+            theProject.rows.add(theRow);
+        }
+        theProject.update();
+
+        RDFTransform theTransform = new RDFTransform();
+        theTransform.setBaseIRI( Util.buildIRI("http://example.com/base/") );
+        VocabularyList theNamespaces = new VocabularyList();
+        theNamespaces.add( new Vocabulary("foaf", "http://xmlns.com/foaf/0.1/") );
+        theNamespaces.add( new Vocabulary("xsd", "http://www.w3.org/2001/XMLSchema#") );
+        theNamespaces.add( new Vocabulary("rdf", "http://www.w3.org/1999/02/22-rdf-syntax-ns#") );
+        theTransform.setNamespaces(theNamespaces);
+        try ( InputStream theRoots = ExportFixture.class.getResourceAsStream("export-roots.json") ) {
+            JsonNode jnodeRoots = new ObjectMapper().readTree(theRoots);
+            theTransform.setRoots(jnodeRoots);
+        }
+        RDFTransform.setRDFTransform(theProject, theTransform);
+        return theProject;
+    }
+}
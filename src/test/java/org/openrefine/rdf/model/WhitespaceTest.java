@@ -0,0 +1,112 @@
+package org.openrefine.rdf.model;
+
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/*
+ * Class WhitespaceTest
+ *
+ *  Check the single pass whitespace scanner (see Util.removeAllWhitespace(), Util.replaceAllWhitespace(),
+ *  and Util.toSpaceStrippedString()) against the original regular expression forms over the WHITESPACE
+ *  class on edge cases and on a seeded random corpus including lone surrogates and supplementary code
+ *  points.
+ */
+public class WhitespaceTest {
+    static private final String strPlain = "abcXY09-._~:/?#@%";
+    static private final String strWhitespace =
+        " \t\n\r\u000b\f\u0085\u00a0\u1680\u2000\u2007\u200b\u2028\u2029\u202f\u3000\uc2a0\ufeff";
+    static private final String strControls = "\u0000\u0001\u001b\u001f\u007f\u0080\u009f\u00ad\u200e\ue000\ufff0";
+    static private final int[] aiSupplementary = {
+        0x10000, 0x1d11e, 0x1f600, 0x20000, 0xe0001, 0xe0080, 0xf0000, 0x10fffd, 0x10ffff
+    };
+    static private final int iStrings = 100000;
+
+    @DataProvider(name = "edges")
+    public Object[][] getEdges() {
+        String[] astrEdges = {
+            "", " ", "  ", "a", " a ", "a b", "a  b", "\t\n", "a\u00a0b", "a\u3000b", "a\uc2a0b", "a\u200bb",
+            "a\u0000b", "a\u007fb", "\ud83d\ude00", "a\ud83d\ude00b", "\ud83d", "\ude00", "a\ud83db", "a\ude00b",
+            "\ude00\ud83d", "\ud800\ud800", "\udb40\udc01", "\udb80\udc00", "\udbff\udfff", "e\u0301",
+            " \ud83d\ude00 \ud83d ", "x".repeat(1000) + " " + "y".repeat(1000)
+        };
+        Object[][] aaEdges = new Object[astrEdges.length][];
+        for (int iIndex = 0; iIndex < astrEdges.length; iIndex++) {
+            aaEdges[iIndex] = new Object[] { astrEdges[iIndex] };
+        }
+        return aaEdges;
+    }
+
+    @Test(dataProvider = "edges")
+    public void testEdges(String strValue) {
+        WhitespaceTest.check(strValue);
+    }
+
+    @Test
+    public void testRandom() {
+        Random theRandom = new Random(42);
+        for (int iCount = 0; iCount < WhitespaceTest.iStrings; iCount++) {
+            StringBuilder strbValue = new StringBuilder();
+            int iLength = theRandom.nextInt(16);
+            for (int iIndex = 0; iIndex < iLength; iIndex++) {
+                WhitespaceTest.appendRandom(theRandom, strbValue);
+            }
+            WhitespaceTest.check( strbValue.toString() );
+        }
+    }
+
+    @Test
+    public void testObjects() {
+        Assert.assertNull( Util.toSpaceStrippedString(null) );
+        Assert.assertEquals( Util.toSpaceStrippedString( Long.valueOf(42) ), "42" );
+        Assert.assertEquals( Util.toSpaceStrippedString( new StringBuilder(" a b ") ), "ab" );
+    }
+
+    static private void check(String strValue) {
+        Assert.assertEquals( Util.removeAllWhitespace(strValue),
+            strValue.replaceAll("[" + Util.WHITESPACE + "]+", ""),
+            "removeAllWhitespace() differs: [" + strValue + "]" );
+        Assert.assertEquals( Util.replaceAllWhitespace(strValue),
+            strValue.replaceAll("[" + Util.WHITESPACE + "]", " "),
+            "replaceAllWhitespace() differs: [" + strValue + "]" );
+        Assert.assertEquals( Util.toSpaceStrippedString(strValue),
+            strValue.replaceAll("[" + Util.WHITESPACE + "]+", "").strip(),
+            "toSpaceStrippedString() differs: [" + strValue + "]" );
+    }
+
+    static private void appendRandom(Random theRandom, StringBuilder strbValue) {
+        switch ( theRandom.nextInt(6) ) {
+            case 0:
+            case 1:
+                WhitespaceTest.appendChar(theRandom, strbValue, WhitespaceTest.strPlain);
+                break;
+            case 2:
+                WhitespaceTest.appendChar(theRandom, strbValue, WhitespaceTest.strWhitespace);
+                break;
+            case 3:
+                WhitespaceTest.appendChar(theRandom, strbValue, WhitespaceTest.strControls);
+                break;
+            case 4:
+                // A supplementary code point, or a lone surrogate of one...
+                int[] aiChars = WhitespaceTest.aiSupplementary;
+                int iChar = aiChars[ theRandom.nextInt(aiChars.length) ];
+                if ( theRandom.nextInt(4) == 0 ) {
+                    strbValue.append( Character.toChars(iChar)[ theRandom.nextInt(2) ] );
+                }
+                else {
+                    strbValue.appendCodePoint(iChar);
+                }
+                break;
+            default:
+                // Any other BMP character...
+                strbValue.append( (char) theRandom.nextInt(0x10000) );
+                break;
+        }
+    }
+
+    static private void appendChar(Random theRandom, StringBuilder strbValue, String strChars) {
+        strbValue.append( strChars.charAt( theRandom.nextInt( strChars.length() ) ) );
+    }
+}
@@ -0,0 +1,109 @@
+package org.openrefine.rdf.model.exporter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.StreamRDFBase;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/*
+ * Class DedupStreamRDFTest
+ *
+ *  Write a stream of statements with repeats through the dedup stream on and off heap.  Exact mode must
+ *  drop every duplicate, including across table growth.  Bounded mode, and exact mode after it falls back
+ *  to bounded at its largest size, must never drop a distinct statement.
+ */
+public class DedupStreamRDFTest {
+    static private final int iDistinct = 100000; // ...grows the exact table (65536 slots) twice
+    static private final Node nodePredicate = NodeFactory.createURI("http://example.com/p");
+
+    @DataProvider(name = "heaps")
+    public Object[][] getHeaps() {
+        return new Object[][] { { false }, { true } };
+    }
+
+    @Test(dataProvider = "heaps")
+    public void testExact(boolean bOffHeap) {
+        Collector theCollector = new Collector();
+        DedupStreamRDF theDedup = new DedupStreamRDF(theCollector, 0, bOffHeap);
+        List<Triple> listTriples = DedupStreamRDFTest.createTriples();
+        for ( Triple theTriple : listTriples ) {
+            theDedup.triple(theTriple);
+        }
+
+        Assert.assertFalse( theDedup.isBounded() );
+        Assert.assertEquals( theCollector.listTriples.size(), DedupStreamRDFTest.iDistinct );
+        Assert.assertEquals( new HashSet<Triple>(theCollector.listTriples).size(), DedupStreamRDFTest.iDistinct );
+        Assert.assertEquals( theDedup.getDropped(), listTriples.size() - DedupStreamRDFTest.iDistinct );
+    }
+
+    @Test(dataProvider = "heaps")
+    public void testBounded(boolean bOffHeap) {
+        Collector theCollector = new Collector();
+        this.testDistinct( new DedupStreamRDF(theCollector, 1000, bOffHeap), theCollector );
+    }
+
+    @Test(dataProvider = "heaps")
+    public void testBoundedFallback(boolean bOffHeap) {
+        Collector theCollector = new Collector();
+        DedupStreamRDF theDedup = new DedupStreamRDF(theCollector, 0, bOffHeap, 1 << 12);
+        this.testDistinct(theDedup, theCollector);
+        Assert.assertTrue( theDedup.isBounded() );
+    }
+
+    private void testDistinct(DedupStreamRDF theDedup, Collector theCollector) {
+        List<Triple> listTriples = DedupStreamRDFTest.createTriples();
+        for ( Triple theTriple : listTriples ) {
+            theDedup.triple(theTriple);
+        }
+
+        Set<Triple> setWritten = new HashSet<>(theCollector.listTriples);
+        Assert.assertEquals( setWritten, new HashSet<Triple>(listTriples) );
+        Assert.assertEquals( theCollector.listTriples.size() + theDedup.getDropped(), listTriples.size() );
+        Assert.assertTrue( theDedup.getDropped() > 0 ); // ...an immediate repeat is always dropped
+    }
+
+    /*
+     * Method createTriples()
+     *
+     *      Create the distinct statements, each followed by an immediate repeat at times, and then
+     *      repeat a random selection of them.
+     */
+    static private List<Triple> createTriples() {
+        Random theRandom = new Random(42);
+        List<Triple> listTriples = new ArrayList<>();
+        for (int iIndex = 0; iIndex < DedupStreamRDFTest.iDistinct; iIndex++) {
+            Triple theTriple =
+                Triple.create( NodeFactory.createURI("http://example.com/s" + (iIndex / 7)),
+                                DedupStreamRDFTest.nodePredicate,
+                                NodeFactory.createLiteral("o" + iIndex) );
+            listTriples.add(theTriple);
+            if ( theRandom.nextInt(4) == 0 ) {
+                listTriples.add(theTriple);
+            }
+        }
+        int iSize = listTriples.size();
+        for (int iIndex = 0; iIndex < DedupStreamRDFTest.iDistinct; iIndex++) {
+            listTriples.add( listTriples.get( theRandom.nextInt(iSize) ) );
+        }
+        return listTriples;
+    }
+
+    static private class Collector extends StreamRDFBase {
+        private final List<Triple> listTriples = new ArrayList<>();
+
+        @Override
+        public void triple(Triple theTriple) {
+            this.listTriples.add(theTriple);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package org.openrefine.rdf.model.exporter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.openrefine.rdf.ApplicationContext;
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.ExportFixture;
+import org.openrefine.rdf.model.operation.RDFExportProcess;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.browsing.EngineConfig;
+import com.google.refine.model.Project;
+import com.google.refine.util.ParsingUtilities;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.apache.jena.riot.RDFFormat;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/*
+ * Class RDFExportJobTest
+ *
+ *  Run background export jobs to a temporary working directory.  A resumed job must truncate the output
+ *  to its checkpoint (dropping a partly written statement), skip the rows or records up to the
+ *  checkpoint, and append the rest, so the output holds each of the stream export's statements once.
+ *  A started job runs on a job thread, is listed in the project's active exports, and is not held in
+ *  the project's process manager.
+ */
+public class RDFExportJobTest {
+    static private final int iRows = 3000;
+    static private final String strEngineRows = "{ \"mode\" : \"row-based\", \"facets\" : [] }";
+    static private final String strEngineRecords = "{ \"mode\" : \"record-based\", \"facets\" : [] }";
+
+    private Project theRowProject = null;
+    private Project theRecordProject = null;
+    private ApplicationContext theContext = null;
+    private File fileWorkingDir = null;
+
+    @BeforeClass
+    public void setUp()
+            throws Exception {
+        this.theRowProject = ExportFixture.createProject(RDFExportJobTest.iRows, false);
+        this.theRecordProject = ExportFixture.createProject(RDFExportJobTest.iRows, true);
+
+        this.theContext = RDFTransform.getGlobalContext();
+        this.fileWorkingDir = Files.createTempDirectory("rdft-job-").toFile();
+        final File fileWorkingDir = this.fileWorkingDir;
+        RDFTransform.setGlobalContext(
+            new ApplicationContext() {
+                @Override
+                public File getWorkingDir() {
+                    return fileWorkingDir;
+                }
+            }
+        );
+    }
+
+    @AfterClass
+    public void tearDown() {
+        RDFTransform.setGlobalContext(this.theContext);
+        for ( File theFile : this.fileWorkingDir.listFiles() ) {
+            theFile.delete();
+        }
+        this.fileWorkingDir.delete();
+    }
+
+    @DataProvider(name = "modes")
+    public Object[][] getModes() {
+        return new Object[][] { { false }, { true } };
+    }
+
+    @Test(dataProvider = "modes")
+    public void testResume(boolean bRecords)
+            throws Exception {
+        Project theProject = ( bRecords ? this.theRecordProject : this.theRowProject );
+        File fileOutput = RDFExportJob.getOutputFile(theProject, "nt");
+        File fileCheckpoint = RDFExportJob.getCheckpointFile(theProject, "nt");
+        Files.deleteIfExists( fileOutput.toPath() );
+        Files.deleteIfExists( fileCheckpoint.toPath() );
+
+        // A full export...
+        this.createJob(bRecords).run();
+        byte[] abFull = Files.readAllBytes( fileOutput.toPath() );
+        String[] astrFull = new String(abFull, StandardCharsets.UTF_8).split("\n");
+        JsonNode theCheckpoint = RDFExportJob.readCheckpoint(fileCheckpoint);
+        Assert.assertTrue( RDFExportJob.isComplete(theCheckpoint) );
+        Assert.assertEquals( theCheckpoint.path("offset").asLong(), abFull.length );
+        Assert.assertEquals( theCheckpoint.path("statements").asLong(), astrFull.length );
+        Assert.assertEquals( RDFExportJobTest.sortLines(astrFull), this.exportStream(bRecords) );
+
+        // Checkpoint after the middle row or record: the statements through its subject's last one...
+        int iIndex = ( bRecords ? theProject.recordModel.getRecordCount() : theProject.rows.size() ) / 2;
+        String strSubject = "<http://example.com/base/id" + ( bRecords ? iIndex * 3 : iIndex ) + "> ";
+        int iLines = 0;
+        for (int iLine = 0; iLine < astrFull.length; iLine++) {
+            if ( astrFull[iLine].startsWith(strSubject) ) {
+                iLines = iLine + 1;
+            }
+        }
+        Assert.assertTrue( iLines > 0 && iLines < astrFull.length, strSubject );
+        int iOffset = 0;
+        for (int iLine = 0; iLine < iLines; iLine++) {
+            iOffset += astrFull[iLine].getBytes(StandardCharsets.UTF_8).length + 1;
+        }
+        ObjectNode theResume = (ObjectNode) theCheckpoint;
+        theResume.put("index", iIndex);
+        theResume.put("offset", iOffset);
+        theResume.put("statements", iLines);
+        theResume.put("complete", false);
+        ParsingUtilities.mapper.writeValue(fileCheckpoint, theResume);
+
+        // ...and fail part way through the next statement...
+        Files.write( fileOutput.toPath(), Arrays.copyOf(abFull, iOffset + 20) );
+
+        RDFExportJob theJob = this.createJob(bRecords);
+        theJob.run();
+        byte[] abResumed = Files.readAllBytes( fileOutput.toPath() );
+        String[] astrResumed = new String(abResumed, StandardCharsets.UTF_8).split("\n");
+        Assert.assertEquals( Arrays.copyOf(abResumed, iOffset), Arrays.copyOf(abFull, iOffset) );
+        Assert.assertEquals( theJob.getProcess().getStatements(), astrFull.length - iLines );
+        Assert.assertEquals( RDFExportJobTest.sortLines(astrResumed), RDFExportJobTest.sortLines(astrFull) );
+        theCheckpoint = RDFExportJob.readCheckpoint(fileCheckpoint);
+        Assert.assertTrue( RDFExportJob.isComplete(theCheckpoint) );
+        Assert.assertEquals( theCheckpoint.path("offset").asLong(), abResumed.length );
+        Assert.assertEquals( theCheckpoint.path("statements").asLong(), astrResumed.length );
+    }
+
+    @Test
+    public void testStart()
+            throws Exception {
+        Project theProject = this.theRowProject;
+        Files.deleteIfExists( RDFExportJob.getOutputFile(theProject, "nq").toPath() );
+        Files.deleteIfExists( RDFExportJob.getCheckpointFile(theProject, "nq").toPath() );
+
+        RDFExportJob theJob =
+            new RDFExportJob( theProject, EngineConfig.reconstruct(RDFExportJobTest.strEngineRows), "nq" );
+        Assert.assertTrue( theJob.start() );
+        Assert.assertFalse( theProject.getProcessManager().hasPending() );
+        RDFExportProcess theProcess = theJob.getProcess();
+        long lWait = System.currentTimeMillis() + 60000;
+        while ( ! theProcess.getStatus().equals("done") && System.currentTimeMillis() < lWait ) {
+            Thread.sleep(10);
+        }
+
+        Assert.assertEquals( theProcess.getStatus(), "done" );
+        Assert.assertEquals( theProcess.getProgress(), 100 );
+        Assert.assertTrue( RDFExportProcess.getTracked(theProject.id).isEmpty() );
+        Assert.assertTrue(
+            RDFExportJob.isComplete( RDFExportJob.readCheckpoint( RDFExportJob.getCheckpointFile(theProject, "nq") ) ) );
+    }
+
+    private RDFExportJob createJob(boolean bRecords) {
+        return new RDFExportJob(
+            ( bRecords ? this.theRecordProject : this.theRowProject ),
+            EngineConfig.reconstruct( bRecords ? RDFExportJobTest.strEngineRecords : RDFExportJobTest.strEngineRows ),
+            "nt" );
+    }
+
+    private String[] exportStream(boolean bRecords)
+            throws Exception {
+        Project theProject = ( bRecords ? this.theRecordProject : this.theRowProject );
+        Engine theEngine = new Engine(theProject);
+        if (bRecords) {
+            theEngine.setMode(Engine.Mode.RecordBased);
+        }
+        ByteArrayOutputStream theOutput = new ByteArrayOutputStream();
+        new RDFStreamExporter(RDFFormat.NTRIPLES_UTF8, "Test").export(theProject, new Properties(), theEngine, theOutput);
+        return RDFExportJobTest.sortLines( new String( theOutput.toByteArray(), StandardCharsets.UTF_8 ).split("\n") );
+    }
+
+    static private String[] sortLines(String[] astrLines) {
+        String[] astrSorted = astrLines.clone();
+        Arrays.sort(astrSorted);
+        return astrSorted;
+    }
+}
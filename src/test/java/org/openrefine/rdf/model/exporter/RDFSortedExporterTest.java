@@ -0,0 +1,154 @@
+package org.openrefine.rdf.model.exporter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.openrefine.rdf.model.ExportFixture;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.exporters.StreamExporter;
+import com.google.refine.model.Project;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.out.NodeFmtLib;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.sparql.core.Quad;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/*
+ * Class RDFSortedExporterTest
+ *
+ *  Sort with a tiny memory limit so the statements spill to many more runs than are merged at once,
+ *  forcing merge passes.  The merged lines must be the sorted, distinct lines written, and the grouped
+ *  Turtle and TriG exports must parse to the stream export's graph with no repeated statements.
+ */
+public class RDFSortedExporterTest {
+    static private final int iRows = 3000;
+    static private final long lMemoryLimit = 8192;
+    static private final int iStatements = 20000;
+
+    private Project theRowProject = null;
+    private Project theRecordProject = null;
+
+    @BeforeClass
+    public void setUp()
+            throws Exception {
+        this.theRowProject = ExportFixture.createProject(RDFSortedExporterTest.iRows, false);
+        this.theRecordProject = ExportFixture.createProject(RDFSortedExporterTest.iRows, true);
+    }
+
+    @DataProvider(name = "exports")
+    public Object[][] getExports() {
+        return new Object[][] {
+            // Records, Format
+            { false, RDFFormat.TURTLE },
+            { true,  RDFFormat.TURTLE },
+            { false, RDFFormat.TRIG },
+            { true,  RDFFormat.TRIG },
+        };
+    }
+
+    /*
+     * Method testMerge()
+     *
+     *      Write statements with many repeats, both within and across runs, and merge them.
+     */
+    @Test
+    public void testMerge()
+            throws Exception {
+        Random theRandom = new Random(42);
+        Node[] anodePredicates = {
+            NodeFactory.createURI("http://example.com/p0"),
+            NodeFactory.createURI("http://example.com/p1"),
+            NodeFactory.createURI("http://example.com/p2")
+        };
+        TreeSet<String> setExpected = new TreeSet<>();
+        List<String> listMerged = new ArrayList<>();
+        try ( SortedRunStreamRDF theSorter = new SortedRunStreamRDF(RDFSortedExporterTest.lMemoryLimit / 2, 0) ) {
+            theSorter.start();
+            for (int iIndex = 0; iIndex < RDFSortedExporterTest.iStatements; iIndex++) {
+                Triple theTriple =
+                    Triple.create( NodeFactory.createURI( "http://example.com/s" + theRandom.nextInt(2000) ),
+                                    anodePredicates[ theRandom.nextInt(anodePredicates.length) ],
+                                    NodeFactory.createLiteral( "o" + theRandom.nextInt(5) ) );
+                theSorter.triple(theTriple);
+                setExpected.add(
+                    NodeFmtLib.strNT( theTriple.getSubject() ) + " " +
+                    NodeFmtLib.strNT( theTriple.getPredicate() ) + " " +
+                    NodeFmtLib.strNT( theTriple.getObject() ) );
+            }
+            theSorter.finish();
+            // ...more than a second merge pass...
+            Assert.assertTrue( theSorter.getSpills() > 2 * 64 );
+            theSorter.merge( (String strLine) -> listMerged.add(strLine) );
+        }
+
+        Assert.assertTrue( setExpected.size() < RDFSortedExporterTest.iStatements );
+        Assert.assertEquals( listMerged, new ArrayList<String>(setExpected) );
+    }
+
+    @Test(dataProvider = "exports")
+    public void testExport(boolean bRecords, RDFFormat theFormat)
+            throws Exception {
+        String strSorted =
+            this.export( new RDFSortedExporter(theFormat, "Test", RDFSortedExporterTest.lMemoryLimit), bRecords );
+        Model theSorted = ModelFactory.createDefaultModel();
+        RDFParser.fromString(strSorted).lang( theFormat.getLang() ).parse(theSorted);
+        Model theStream = ModelFactory.createDefaultModel();
+        RDFParser.fromString( this.export( new RDFStreamExporter(RDFFormat.NTRIPLES, "Test"), bRecords ) )
+            .lang( RDFFormat.NTRIPLES.getLang() ).parse(theStream);
+
+        Assert.assertFalse( theStream.isEmpty() );
+        Assert.assertTrue( theSorted.isIsomorphicWith(theStream), "Sorted export differs from the stream export" );
+
+        // Each statement is written once...
+        long[] alStatements = { 0 };
+        RDFParser.fromString(strSorted).lang( theFormat.getLang() ).parse(
+            new StreamRDFBase() {
+                @Override
+                public void triple(Triple theTriple) {
+                    alStatements[0]++;
+                }
+
+                @Override
+                public void quad(Quad theQuad) {
+                    alStatements[0]++;
+                }
+            }
+        );
+        Assert.assertEquals( alStatements[0], theSorted.size() );
+
+        // A subject's predicates are grouped, and a record's repeated predicates hold grouped objects...
+        Assert.assertTrue( strSorted.contains(" ;\n") );
+        if (bRecords) {
+            Assert.assertTrue( strSorted.contains(" ,\n") );
+        }
+    }
+
+    private String export(StreamExporter theExporter, boolean bRecords)
+            throws Exception {
+        Project theProject = ( bRecords ? this.theRecordProject : this.theRowProject );
+        Engine theEngine = new Engine(theProject);
+        if (bRecords) {
+            theEngine.setMode(Engine.Mode.RecordBased);
+        }
+        ByteArrayOutputStream theOutput = new ByteArrayOutputStream();
+        theExporter.export(theProject, new Properties(), theEngine, theOutput);
+        return new String( theOutput.toByteArray(), StandardCharsets.UTF_8 );
+    }
+}
@@ -0,0 +1,184 @@
+package org.openrefine.rdf.model.exporter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.openrefine.rdf.model.ExportFixture;
+import org.openrefine.rdf.model.Util;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.exporters.StreamExporter;
+import com.google.refine.model.Project;
+import com.google.refine.util.ParsingUtilities;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.sparql.core.Quad;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/*
+ * Class RDFSplitExporterTest
+ *
+ *  Export a project to split parts with a small statement limit.  Each part must parse on its own and
+ *  hold the statement count its manifest entry gives, only the last part may be under the limit, the
+ *  manifest total must be the stream export's count, and the parts together must hold the stream
+ *  export's graph.  A row's or record's statements are never divided: each subject (a person, one per
+ *  row or record) is in one part only.
+ */
+public class RDFSplitExporterTest {
+    static private final int iRows = 3000;
+    static private final int iSplitTriples = 1000;
+
+    private Project theRowProject = null;
+    private Project theRecordProject = null;
+    private int iSplitTriplesPref;
+    private int iSplitSizePref;
+
+    @BeforeClass
+    public void setUp()
+            throws Exception {
+        this.iSplitTriplesPref = Util.getExportSplitTriples();
+        this.iSplitSizePref = Util.getExportSplitSize();
+        ExportFixture.setPreference("iExportSplitTriples", RDFSplitExporterTest.iSplitTriples);
+        ExportFixture.setPreference("iExportSplitSize", 0);
+
+        this.theRowProject = ExportFixture.createProject(RDFSplitExporterTest.iRows, false);
+        this.theRecordProject = ExportFixture.createProject(RDFSplitExporterTest.iRows, true);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        ExportFixture.setPreference("iExportSplitTriples", this.iSplitTriplesPref);
+        ExportFixture.setPreference("iExportSplitSize", this.iSplitSizePref);
+    }
+
+    @DataProvider(name = "exports")
+    public Object[][] getExports() {
+        return new Object[][] {
+            // Records, Format, Extension
+            { false, RDFFormat.NTRIPLES_UTF8, "nt" },
+            { true,  RDFFormat.NTRIPLES_UTF8, "nt" },
+            { false, RDFFormat.TURTLE_BLOCKS, "ttl" },
+            { true,  RDFFormat.TURTLE_BLOCKS, "ttl" },
+        };
+    }
+
+    @Test(dataProvider = "exports")
+    public void testSplit(boolean bRecords, RDFFormat theFormat, String strExtension)
+            throws Exception {
+        Map<String, byte[]> mapEntries =
+            this.unzip( this.export( new RDFSplitExporter(theFormat, "Test", strExtension), bRecords ) );
+        JsonNode theManifest = ParsingUtilities.mapper.readTree( mapEntries.get("manifest.json") );
+        Model theStream = ModelFactory.createDefaultModel();
+        byte[] abStream = this.export( new RDFStreamExporter(RDFFormat.NTRIPLES_UTF8, "Test"), bRecords );
+        RDFParser.fromString( new String(abStream, StandardCharsets.UTF_8) )
+            .lang( RDFFormat.NTRIPLES_UTF8.getLang() ).parse(theStream);
+        long lStreamStatements = RDFSplitExporterTest.count(abStream, RDFFormat.NTRIPLES_UTF8);
+
+        JsonNode theParts = theManifest.path("parts");
+        Assert.assertTrue( theParts.size() > 1 );
+        Assert.assertEquals( mapEntries.size(), theParts.size() + 1 );
+        Model theUnion = ModelFactory.createDefaultModel();
+        Map<String, Integer> mapSubjectParts = new HashMap<>();
+        long lTotal = 0;
+        for (int iPart = 0; iPart < theParts.size(); iPart++) {
+            JsonNode thePart = theParts.get(iPart);
+            String strName = String.format("part-%05d.%s", iPart, strExtension);
+            Assert.assertEquals( thePart.path("name").asText(), strName );
+            byte[] abPart = mapEntries.get(strName);
+            Assert.assertNotNull(abPart, strName);
+            Assert.assertEquals( thePart.path("bytes").asLong(), abPart.length, strName );
+
+            // The part parses on its own...
+            Model thePartModel = ModelFactory.createDefaultModel();
+            RDFParser.fromString( new String(abPart, StandardCharsets.UTF_8) )
+                .lang( theFormat.getLang() ).parse(thePartModel);
+            long lStatements = RDFSplitExporterTest.count(abPart, theFormat);
+            Assert.assertEquals( thePart.path("statements").asLong(), lStatements, strName );
+            if ( iPart < theParts.size() - 1 ) {
+                Assert.assertTrue( lStatements >= RDFSplitExporterTest.iSplitTriples, strName );
+            }
+            lTotal += lStatements;
+
+            final int iThisPart = iPart;
+            thePartModel.listSubjects().forEachRemaining(
+                (theSubject) -> {
+                    Integer iOtherPart = mapSubjectParts.put( theSubject.getURI(), iThisPart );
+                    Assert.assertTrue( iOtherPart == null || iOtherPart == iThisPart,
+                        "Subject divided between parts: " + theSubject );
+                }
+            );
+            theUnion.add(thePartModel);
+        }
+
+        Assert.assertEquals( theManifest.path("statements").asLong(), lTotal );
+        Assert.assertEquals( lTotal, lStreamStatements );
+        Assert.assertTrue( theUnion.isIsomorphicWith(theStream), "Split export differs from the stream export" );
+    }
+
+    private byte[] export(StreamExporter theExporter, boolean bRecords)
+            throws Exception {
+        Project theProject = ( bRecords ? this.theRecordProject : this.theRowProject );
+        Engine theEngine = new Engine(theProject);
+        if (bRecords) {
+            theEngine.setMode(Engine.Mode.RecordBased);
+        }
+        ByteArrayOutputStream theOutput = new ByteArrayOutputStream();
+        theExporter.export(theProject, new Properties(), theEngine, theOutput);
+        return theOutput.toByteArray();
+    }
+
+    private Map<String, byte[]> unzip(byte[] abZip)
+            throws Exception {
+        Map<String, byte[]> mapEntries = new LinkedHashMap<>();
+        try ( ZipInputStream zipIn = new ZipInputStream( new ByteArrayInputStream(abZip) ) ) {
+            ZipEntry theEntry;
+            while ( ( theEntry = zipIn.getNextEntry() ) != null ) {
+                mapEntries.put( theEntry.getName(), zipIn.readAllBytes() );
+            }
+        }
+        return mapEntries;
+    }
+
+    /*
+     * Method count()
+     *
+     *      Count the statements parsed, including any repeats.
+     */
+    static private long count(byte[] abData, RDFFormat theFormat) {
+        long[] alStatements = { 0 };
+        RDFParser.fromString( new String(abData, StandardCharsets.UTF_8) )
+            .lang( theFormat.getLang() ).parse(
+                new StreamRDFBase() {
+                    @Override
+                    public void triple(Triple theTriple) {
+                        alStatements[0]++;
+                    }
+
+                    @Override
+                    public void quad(Quad theQuad) {
+                        alStatements[0]++;
+                    }
+                }
+            );
+        return alStatements[0];
+    }
+}
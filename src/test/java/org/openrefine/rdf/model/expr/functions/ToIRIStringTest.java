@@ -0,0 +1,189 @@
+package org.openrefine.rdf.model.expr.functions;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.openrefine.rdf.model.Util;
+
+import org.apache.jena.iri.IRIFactory;
+import org.apache.jena.irix.SetupJenaIRI;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/*
+ * Class ToIRIStringTest
+ *
+ *  Check that toIRIString() converts strings exactly as its original implementation did.  The original
+ *  (see toIRIStringOriginal()) is kept here as written: it runs every stage's regular expression uncompiled
+ *  and checks every stage with the full jena-iri checker.  The strings are generated from delimiters,
+ *  whitespace, control characters, supplementary characters, and scheme-like prefixes.
+ */
+public class ToIRIStringTest {
+    static private final IRIFactory theChecker = SetupJenaIRI.iriCheckerFactory();
+
+    static private final String[] astrPrefixes = {
+        "", "http://", "https://a.b/", "//", "://", "/", ":", "urn:x:", "a:b/", "__", "Name ", "mailto:",
+        "HTTP:", "x-y+z.1:", "1a:", "_:", "file:///"
+    };
+    static private final String strPlain = "abcXY09-._~";
+    static private final String strDelimiters = ":/?#[]@!$&'()*+,;=%<>\"{}|\\^`";
+    static private final String strWhitespace =
+        " \t\n\r\u000b\f\u00a0\u1680\u2000\u2007\u200b\u2028\u2029\u202f\u3000\uc2a0\ufeff";
+    static private final String strControls = "\u0000\u0001\u001b\u001f\u007f\u0080\u0085\u009f\u00ad\u200e\ue000\ufff0";
+    static private final int[] aiSupplementary = { 0x10000, 0x1d11e, 0x1f600, 0x20000, 0x2f800, 0xe0001, 0x10fffd };
+    static private final int iStrings = 100000;
+
+    @DataProvider(name = "edges")
+    public Object[][] getEdges() {
+        String[] astrEdges = {
+            "a", "_", "__", "___", " ", "\t", "\u0000", "/", "//", ":/", "://", ":/:/", "::", "?", "#", "[]", "@",
+            "%", "%20", "%zz", "a b", " a ", "a\u00a0b", "a\u3000b", "a\u200bb", "a\u0000b", "a\u007fb",
+            "\ud83d\ude00", "a\ud83d\ude00b", "\ud83d", "\ude00", "a\ud83db", "\ud800\ud800", "\u00e9", "e\u0301",
+            "http://example.com/a b", "http://example.com/?q=a b#f g", "http://[::1]/", "http://a.b/%",
+            "urn:isbn:0451450523", "mailto:a@b.c", "a:b:c", ":a", "a:", "-:a", "1:a", "//a//b//", "/a/b/",
+            "a/../b", "./a", "../a", "!$&'()*+,;=", "<a>", "\"a\"", "{a}", "a|b", "a\\b", "a^b", "a`b",
+            "Name 1 x", "x".repeat(1000) + " " + "y".repeat(1000)
+        };
+        Object[][] aaEdges = new Object[astrEdges.length][];
+        for (int iIndex = 0; iIndex < astrEdges.length; iIndex++) {
+            aaEdges[iIndex] = new Object[] { astrEdges[iIndex] };
+        }
+        return aaEdges;
+    }
+
+    @Test(dataProvider = "edges")
+    public void testEdges(String strConvert) {
+        Assert.assertEquals( ToIRIString.toIRIString(strConvert), ToIRIStringTest.toIRIStringOriginal(strConvert),
+            "Conversion differs: [" + strConvert + "]" );
+    }
+
+    @Test
+    public void testRandom() {
+        Random theRandom = new Random(42);
+        String[] astrPrefixes = ToIRIStringTest.astrPrefixes;
+        for (int iCount = 0; iCount < ToIRIStringTest.iStrings; iCount++) {
+            StringBuilder strbConvert = new StringBuilder( astrPrefixes[ theRandom.nextInt(astrPrefixes.length) ] );
+            int iLength = 1 + theRandom.nextInt(12);
+            for (int iIndex = 0; iIndex < iLength; iIndex++) {
+                ToIRIStringTest.appendRandom(theRandom, strbConvert);
+            }
+            String strConvert = strbConvert.toString();
+            Assert.assertEquals( ToIRIString.toIRIString(strConvert), ToIRIStringTest.toIRIStringOriginal(strConvert),
+                "Conversion differs: [" + strConvert + "]" );
+        }
+    }
+
+    static private void appendRandom(Random theRandom, StringBuilder strbConvert) {
+        switch ( theRandom.nextInt(7) ) {
+            case 0:
+            case 1:
+                ToIRIStringTest.appendChar(theRandom, strbConvert, ToIRIStringTest.strPlain);
+                break;
+            case 2:
+                ToIRIStringTest.appendChar(theRandom, strbConvert, ToIRIStringTest.strDelimiters);
+                break;
+            case 3:
+                ToIRIStringTest.appendChar(theRandom, strbConvert, ToIRIStringTest.strWhitespace);
+                break;
+            case 4:
+                ToIRIStringTest.appendChar(theRandom, strbConvert, ToIRIStringTest.strControls);
+                break;
+            case 5:
+                // A supplementary character, or rarely a lone surrogate...
+                int[] aiChars = ToIRIStringTest.aiSupplementary;
+                int iChar = aiChars[ theRandom.nextInt(aiChars.length) ];
+                if ( theRandom.nextInt(10) == 0 ) {
+                    strbConvert.append( Character.toChars(iChar)[ theRandom.nextInt(2) ] );
+                }
+                else {
+                    strbConvert.appendCodePoint(iChar);
+                }
+                break;
+            default:
+                // Any other BMP character...
+                strbConvert.append( (char) theRandom.nextInt(0x10000) );
+                break;
+        }
+    }
+
+    static private void appendChar(Random theRandom, StringBuilder strbConvert, String strChars) {
+        strbConvert.append( strChars.charAt( theRandom.nextInt( strChars.length() ) ) );
+    }
+
+    /*
+     * Method toIRIStringOriginal()
+     *
+     *      The original toIRIString(), kept as the reference for the optimized conversion.
+     */
+    static private String toIRIStringOriginal(String strConvert) {
+        String strUnderscore = "_";
+        int iTry = 0;
+        do {
+            // Test if it's an acceptable IRI now (absolute or relative)...
+            boolean bAccepted;
+            try {
+                ToIRIStringTest.theChecker.construct(strConvert);
+                bAccepted = true;
+            }
+            catch (Exception ex) {
+                bAccepted = false;
+            }
+            if ( ! bAccepted ) {
+                if (iTry > 7) {
+                    strConvert = null; // ...cannot convert to IRI
+                    break;
+                }
+                // ...continue by narrowing the conversion string...
+            }
+            else {
+                break;
+            }
+
+            switch (iTry) {
+                case 0:
+                    // Replace whitespace and unallowed characters with underscores...
+                    strConvert =
+                        strConvert.replaceAll(
+                            "[" + Util.WHITESPACE + Pattern.quote("<>\"{}|\\^`") + "]+", strUnderscore);
+                    break;
+                case 1:
+                    // Replace any unsupported characters with underscores...
+                    strConvert =
+                        strConvert.replaceAll(
+                            "[^-\\p{N}\\p{L}_\\.~:/\\?#\\[\\]@\\%!\\$&'\\(\\)\\*\\+,;=]+", strUnderscore);
+                    break;
+                case 2:
+                    // Replace (multiple) leading ":/+" or "/+" with underscores...
+                    strConvert = strConvert.replaceFirst("^(:?/+)+", strUnderscore);
+                    break;
+                case 3:
+                    // Replace sub-delim characters with underscores...
+                    strConvert = strConvert.replaceAll("[!\\$&'\\(\\)\\*\\+,;=]+", strUnderscore);
+                    break;
+                case 4:
+                    // Replace gen-delim (but not ":" and "/") characters with underscores...
+                    strConvert = strConvert.replaceAll("[\\?#\\[\\]@]+", strUnderscore);
+                    break;
+                case 5:
+                    // Replace "/" characters with underscores...
+                    strConvert = strConvert.replaceAll("/+", strUnderscore);
+                    break;
+                case 6:
+                    // Replace ":" characters with underscores...
+                    strConvert = strConvert.replaceAll(":+", strUnderscore);
+                    break;
+                default: //...should not occur but here for completeness...
+                    // Replace all but Unreserved characters with underscores...
+                    strConvert = strConvert.replaceAll("[^-\\p{N}\\p{L}_\\.~]+", strUnderscore);
+                    break;
+            }
+            // Condense underscores...
+            strConvert = strConvert.replaceAll("__+", strUnderscore);
+            ++iTry;
+        } while (true);
+
+        return strConvert;
+    }
+}
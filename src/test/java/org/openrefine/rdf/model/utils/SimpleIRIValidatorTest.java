@@ -0,0 +1,113 @@
+package org.openrefine.rdf.model.utils;
+
+import java.util.Random;
+
+import org.apache.jena.iri.IRI;
+import org.apache.jena.iri.IRIFactory;
+import org.apache.jena.irix.SetupJenaIRI;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/*
+ * Class SimpleIRIValidatorTest
+ *
+ *  Check the fast IRI scanner against the full jena-iri checker on edge cases and on a seeded random
+ *  corpus.  A string the scanner accepts as absolute (relative) must be accepted, unchanged, by the checker
+ *  as absolute (relative), and isValid() must agree with the checker on every string.
+ */
+public class SimpleIRIValidatorTest {
+    static private final IRIFactory theChecker = SetupJenaIRI.iriCheckerFactory();
+
+    static private final String[] astrPrefixes = {
+        "http://", "https://", "", "http://example.com/", "https://a.b-c.org/x/", "HTTP://", "http:/",
+        "ftp://", "urn:", "//", "/", "http://127.0.0.1/", "http://localhost", "http://www.example.com"
+    };
+    static private final String strAlphabet =
+        "abcXYZ019-._~!$&'()*+,;=:@/?#%[] \"<>é `^{}|\\AZ";
+    static private final int iStrings = 200000;
+
+    @DataProvider(name = "edges")
+    public Object[][] getEdges() {
+        String strLabel63 = "a".repeat(63);
+        String strLabel64 = "a".repeat(64);
+        String[] astrEdges = {
+            // Hosts...
+            "http://" + strLabel63 + ".com/", "http://" + strLabel64 + ".com/", "http://999.999.999.999/",
+            "http://1.2.3/", "http://0/", "http://xn--abc.com/", "http://a--b.com/x", "http://-a.com/",
+            "http://a-.com/", "http://a..b/", "http://a.b./x", "http://a", "http://localhost/", "http://A.b/",
+            "http://a_b.com/", "http://a.b:80/", "http://u@a.b/", "http://", "https://",
+            // Paths, queries, and fragments...
+            "http://a.b/./x", "http://a.b/x/..", "http://a.b/x/...", "http://a.b/x?y/../z", "http://a.b/x#a#b",
+            "http://a.b/x#f?g:@/", "http://a.b?q", "http://a.b#f", "http://a.b/x//y", "http://a.b/'()*",
+            "http://a.b/:x", "http://a.b/x:y@z", "http://a.b/x;y=z", "http://a.b/x!$&", "http://a.b/x?a=1&b=2",
+            "http://a.b/%20", "http://a.b/x y", "http://a.b/é", "http://a.b/x\ty", "http://a.b/x\u0000",
+            "https://example.com/" + "x".repeat(5000),
+            // Relative paths...
+            "", "./x", "../x", "x/./y", "x/..", ".", "..", "...", "a/b/c", "x..y", "~a", "_x", "-x", "a.b.c",
+            "1abc", "a//b", "a/", "/a", ":a", "a:b", "a%20b", "a b", "é", "😀"
+        };
+        Object[][] aaEdges = new Object[astrEdges.length][];
+        for (int iIndex = 0; iIndex < astrEdges.length; iIndex++) {
+            aaEdges[iIndex] = new Object[] { astrEdges[iIndex] };
+        }
+        return aaEdges;
+    }
+
+    @Test(dataProvider = "edges")
+    public void testEdges(String strIRI) {
+        SimpleIRIValidatorTest.check(strIRI);
+    }
+
+    @Test
+    public void testRandom() {
+        Random theRandom = new Random(42);
+        String[] astrPrefixes = SimpleIRIValidatorTest.astrPrefixes;
+        String strAlphabet = SimpleIRIValidatorTest.strAlphabet;
+        int iSimple = 0;
+        for (int iCount = 0; iCount < SimpleIRIValidatorTest.iStrings; iCount++) {
+            StringBuilder strbIRI = new StringBuilder( astrPrefixes[ theRandom.nextInt(astrPrefixes.length) ] );
+            int iLength = theRandom.nextInt(14);
+            for (int iIndex = 0; iIndex < iLength; iIndex++) {
+                // Favor the plain characters (the first 10) so the scanner accepts a share of the strings...
+                int iChars = ( theRandom.nextBoolean() ? 10 : strAlphabet.length() );
+                strbIRI.append( strAlphabet.charAt( theRandom.nextInt(iChars) ) );
+            }
+            if ( SimpleIRIValidatorTest.check( strbIRI.toString() ) ) {
+                iSimple++;
+            }
+        }
+        // The corpus must exercise both the scanner and the fallback...
+        Assert.assertTrue( iSimple > SimpleIRIValidatorTest.iStrings / 20 );
+        Assert.assertTrue( iSimple < SimpleIRIValidatorTest.iStrings / 2 );
+    }
+
+    /*
+     * Method check()
+     *
+     *      Assert that the scanner and the checker agree on the string.  Return whether the scanner
+     *      accepted it.
+     */
+    static private boolean check(String strIRI) {
+        boolean bAbsolute = SimpleIRIValidator.isSimpleAbsolute(strIRI);
+        boolean bRelative = SimpleIRIValidator.isSimpleRelative(strIRI);
+        IRI theIRI = null;
+        try {
+            theIRI = SimpleIRIValidatorTest.theChecker.construct(strIRI);
+        }
+        catch (Exception ex) {
+            // Not accepted...
+        }
+
+        Assert.assertFalse( bAbsolute && bRelative, "Both absolute and relative: [" + strIRI + "]" );
+        if (bAbsolute || bRelative) {
+            Assert.assertNotNull( theIRI, "Scanner accepted, checker rejected: [" + strIRI + "]" );
+            Assert.assertEquals( theIRI.toString(), strIRI );
+            Assert.assertEquals( theIRI.isAbsolute(), bAbsolute, "Absoluteness differs: [" + strIRI + "]" );
+        }
+        Assert.assertEquals( SimpleIRIValidator.isValid(strIRI), theIRI != null,
+            "isValid() differs from the checker: [" + strIRI + "]" );
+        return ( bAbsolute || bRelative );
+    }
+}